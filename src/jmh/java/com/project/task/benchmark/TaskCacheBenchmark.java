@@ -0,0 +1,99 @@
+package com.project.task.benchmark;
+
+import com.project.task.TaskAppApplication;
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.service.TaskService;
+import com.project.task.tenant.TenantContext;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read latency through {@code TaskService} with the task caches on (Caffeine) and off, against an in-process
+ * Postgres. Sample time mode reports the percentiles, p99 included, per cache type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TaskCacheBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    @Param("10000")
+    public int tasks;
+
+    private EmbeddedPostgres postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private List<UUID> taskIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(TaskAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.cache.type=" + cacheType)
+                .run();
+        taskService = context.getBean(TaskService.class);
+
+        TaskPriority[] priorities = TaskPriority.values();
+        taskIds = new ArrayList<>(tasks);
+        TenantContext.runAs(TenantContext.DEFAULT, () -> {
+            for (int offset = 0; offset < tasks; offset += SEED_BATCH_SIZE) {
+                List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH_SIZE);
+                for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, tasks); i++) {
+                    requests.add(new CreateTaskRequest("Task " + i, "Description of task " + i,
+                            priorities[i % priorities.length]));
+                }
+                taskService.createTasks(requests).stream().map(Task::getId).forEach(taskIds::add);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void getTask(Blackhole blackhole) {
+        UUID taskId = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        TenantContext.runAs(TenantContext.DEFAULT, () -> blackhole.consume(taskService.getTask(taskId)));
+    }
+
+    @Benchmark
+    public void getFirstPage(Blackhole blackhole) {
+        TenantContext.runAs(TenantContext.DEFAULT,
+                () -> blackhole.consume(taskService.getTasks(TaskFilter.none(), null, PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.task.benchmark;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.CreateTaskRequestDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.UpdateTaskRequestDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.domain.mapper.impl.TaskMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private final TaskMapperImpl taskMapper = new TaskMapperImpl();
+
+    private Task task;
+
+    private CreateTaskRequestDto createTaskRequestDto;
+
+    private UpdateTaskRequestDto updateTaskRequestDto;
+
+    @Setup
+    public void setUp() {
+        task = Task.create("Redesign Website", "Update the company website with a new design", TaskPriority.HIGH);
+        createTaskRequestDto = new CreateTaskRequestDto(
+                "Redesign Website", "Update the company website with a new design", TaskPriority.HIGH);
+        updateTaskRequestDto = new UpdateTaskRequestDto(
+                "Redesign Website", "Update the company website with a new design", TaskStatus.COMPLETE,
+                TaskPriority.LOW);
+    }
+
+    @Benchmark
+    public TaskDto toDto() {
+        return taskMapper.toDto(task);
+    }
+
+    @Benchmark
+    public CreateTaskRequest fromCreateDto() {
+        return taskMapper.fromDto(createTaskRequestDto);
+    }
+
+    @Benchmark
+    public UpdateTaskRequest fromUpdateDto() {
+        return taskMapper.fromDto(updateTaskRequestDto);
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.task.benchmark;
+
+import com.project.task.domain.UuidV7;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    private static final TypeReference<List<TaskDto>> TASK_DTO_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private List<TaskDto> taskDtos;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        TaskPriority[] priorities = TaskPriority.values();
+        TaskStatus[] statuses = TaskStatus.values();
+        taskDtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            taskDtos.add(new TaskDto(
+                    UuidV7.next(),
+                    "Task " + i,
+                    "Description of task " + i,
+                    priorities[i % priorities.length],
+                    statuses[i % statuses.length],
+                    (long) i));
+        }
+        json = objectMapper.writeValueAsBytes(taskDtos);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return objectMapper.writeValueAsBytes(taskDtos);
+    }
+
+    @Benchmark
+    public List<TaskDto> deserialize() {
+        return objectMapper.readValue(json, TASK_DTO_LIST);
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.task.benchmark;
+
+import com.project.task.domain.dto.CreateTaskRequestDto;
+import com.project.task.domain.dto.UpdateTaskRequestDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private CreateTaskRequestDto validCreateRequest;
+
+    private CreateTaskRequestDto invalidCreateRequest;
+
+    private UpdateTaskRequestDto validUpdateRequest;
+
+    private UpdateTaskRequestDto invalidUpdateRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validCreateRequest = new CreateTaskRequestDto(
+                "Redesign Website", "Update the company website with a new design", TaskPriority.HIGH);
+        invalidCreateRequest = new CreateTaskRequestDto("t".repeat(256), "d".repeat(1001), null);
+        validUpdateRequest = new UpdateTaskRequestDto(
+                "Redesign Website", "Update the company website with a new design", TaskStatus.COMPLETE,
+                TaskPriority.LOW);
+        invalidUpdateRequest = new UpdateTaskRequestDto("", "d".repeat(1001), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTaskRequestDto>> validCreateRequest() {
+        return validator.validate(validCreateRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTaskRequestDto>> invalidCreateRequest() {
+        return validator.validate(invalidCreateRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateTaskRequestDto>> validUpdateRequest() {
+        return validator.validate(validUpdateRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateTaskRequestDto>> invalidUpdateRequest() {
+        return validator.validate(invalidUpdateRequest);
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.task.benchmark;
+
+import com.project.task.domain.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating a task id: {@link UuidV7} against the random version 4 ids it replaced, on one thread and on
+ * four threads sharing the timestamp-and-counter CAS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidV7Benchmark {
+
+    @Benchmark
+    public UUID uuidV7() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID uuidV7Contended() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+}
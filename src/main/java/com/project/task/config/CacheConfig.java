@@ -0,0 +1,103 @@
+package com.project.task.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.task.tenant.TenantScopedCache;
+import com.project.task.tenant.TenantScopedCacheManager;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.boot.cache.metrics.CacheMeterBinderProvider;
+import org.springframework.boot.cache.metrics.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Caches task reads in front of {@code TaskService}. The provider is whatever {@code spring.cache.type} selects;
+ * Caffeine (in-process) is used by default, with per-cache size and TTL limits from {@link TaskCacheProperties}.
+ * <p>
+ * Caching advice runs outside the transaction advice, so evictions happen after the writing transaction has
+ * committed. A read that loaded the row before that commit could still put the old state back after the eviction;
+ * {@link TenantScopedCache} drops such puts.
+ * <p>
+ * Whatever the provider, its caches are handed out as {@link TenantScopedCache}s, so tenants never see each other's
+ * entries and a write only evicts the writing tenant's pages.
+ * <p>
+ * Results read from a replica are not cached ({@link #UNLESS_READ_FROM_REPLICA}): a replica still replaying a write
+ * would put the state from before it back in the cache right after the write evicted it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(TaskCacheProperties.class)
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+
+    public static final String TASK_PAGES = "taskPages";
+
+    public static final String UNLESS_READ_FROM_REPLICA =
+            "T(com.project.task.config.ReplicaRoutingDataSource).consumeReplicaRead()";
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> taskCacheManagerCustomizer(TaskCacheProperties properties) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(TASKS,
+                    caffeine(properties.taskMaximumSize(), properties.taskExpireAfterWrite()));
+            cacheManager.registerCustomCache(TASK_PAGES,
+                    caffeine(properties.pageMaximumSize(), properties.pageExpireAfterWrite()));
+        };
+    }
+
+    @Bean
+    static TenantScopedCachePostProcessor tenantScopedCachePostProcessor() {
+        return new TenantScopedCachePostProcessor();
+    }
+
+    @Bean
+    CacheMeterBinderProvider<TenantScopedCache> tenantScopedCacheMeterBinderProvider() {
+        return new TenantScopedCacheMeterBinderProvider();
+    }
+
+    private static Cache<Object, Object> caffeine(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    static final class TenantScopedCachePostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof CacheManager cacheManager && !(bean instanceof TenantScopedCacheManager)) {
+                return new TenantScopedCacheManager(cacheManager);
+            }
+            return bean;
+        }
+    }
+
+    /**
+     * Keeps the {@code cache.*} metrics of wrapped Caffeine caches.
+     */
+    static final class TenantScopedCacheMeterBinderProvider implements CacheMeterBinderProvider<TenantScopedCache> {
+
+        private final CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+
+        @Override
+        public MeterBinder getMeterBinder(TenantScopedCache cache, Iterable<Tag> tags) {
+            return cache.getDelegate() instanceof CaffeineCache delegate
+                    ? caffeine.getMeterBinder(delegate, tags)
+                    : null;
+        }
+    }
+}
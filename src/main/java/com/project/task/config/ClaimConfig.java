@@ -0,0 +1,9 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ClaimProperties.class)
+public class ClaimConfig {
+}
@@ -0,0 +1,18 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of task claims. The sweep interval is read by the {@code @Scheduled} method directly.
+ */
+@ConfigurationProperties(prefix = "task.claims")
+public record ClaimProperties(
+        @DefaultValue("5m")
+        Duration leaseDuration,
+        @DefaultValue("500")
+        int sweepBatchSize
+) {
+}
@@ -0,0 +1,122 @@
+package com.project.task.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts a fair semaphore in front of a connection pool. A permit is taken before a connection is borrowed and given
+ * back when that connection is closed, so at most {@code maxConcurrency} callers use the database at once and
+ * everyone else waits in FIFO order for at most {@code acquireTimeout}.
+ * <p>
+ * Waiting on a {@link Semaphore} parks virtual threads without pinning their carrier, which keeps thousands of
+ * concurrent requests cheap while the pool itself only ever sees as many borrowers as it has connections.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final Duration acquireTimeout;
+
+    private final Timer waitTimer;
+
+    private final Counter rejectedCounter;
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout,
+                                         MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+        this.waitTimer = Timer.builder("task.db.gate.wait")
+                .description("Time spent waiting for a database connection permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("task.db.gate.rejected")
+                .description("Connection requests that timed out waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("task.db.gate.active", permits, semaphore -> maxConcurrency - semaphore.availablePermits())
+                .description("Callers currently holding a database connection permit")
+                .register(meterRegistry);
+        Gauge.builder("task.db.gate.queued", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database connection permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit",
+                    exception);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new SQLTransientConnectionException(
+                    "Timed out after %d ms waiting for a database connection permit".formatted(acquireTimeout.toMillis()));
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException exception) {
+                            throw exception.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+}
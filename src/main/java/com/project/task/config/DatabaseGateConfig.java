@@ -0,0 +1,47 @@
+package com.project.task.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource}, the {@value #PRIMARY_DATA_SOURCE} bean Spring Boot configures, in a
+ * {@link ConcurrencyLimitingDataSource} when {@code task.datasource.gate.enabled} is set. Other data sources are left
+ * alone.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("task.datasource.gate.enabled")
+@EnableConfigurationProperties(DatabaseGateProperties.class)
+public class DatabaseGateConfig {
+
+    /**
+     * Name of the primary data source bean, the one Spring Boot's auto-configuration defines.
+     */
+    static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor databaseGatePostProcessor(ObjectProvider<DatabaseGateProperties> properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (PRIMARY_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    DatabaseGateProperties gate = properties.getObject();
+                    return new ConcurrencyLimitingDataSource(
+                            dataSource,
+                            gate.maxConcurrency(),
+                            gate.acquireTimeout(),
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits on how many callers may hold a database connection at once. Keep {@code maxConcurrency} at or below the
+ * connection pool size so callers queue on the gate, with a bounded wait, rather than inside the pool.
+ */
+@ConfigurationProperties(prefix = "task.datasource.gate")
+public record DatabaseGateProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("10")
+        int maxConcurrency,
+        @DefaultValue("2s")
+        Duration acquireTimeout
+) {
+}
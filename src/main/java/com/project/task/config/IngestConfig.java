@@ -0,0 +1,74 @@
+package com.project.task.config;
+
+import com.project.task.ingest.TaskIngestJournal;
+import com.project.task.ingest.TaskIngestQueue;
+import com.project.task.ingest.TaskIngestWriter;
+import com.project.task.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Switches task creation to the asynchronous ingestion queue when {@code task.ingest.enabled} is set.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("task.ingest.enabled")
+@EnableConfigurationProperties(IngestProperties.class)
+public class IngestConfig {
+
+    @Bean
+    @Conditional(JournalDurability.class)
+    TaskIngestJournal taskIngestJournal(IngestProperties properties) throws IOException {
+        return TaskIngestJournal.open(properties.journalDirectory(), properties.journalSegmentSize().toBytes(),
+                properties.durability() == IngestProperties.Durability.JOURNAL_FSYNC);
+    }
+
+    @Bean
+    TaskIngestQueue taskIngestQueue(IngestProperties properties, ObjectProvider<TaskIngestJournal> journal,
+                                    MeterRegistry meterRegistry) {
+        return new TaskIngestQueue(properties.capacity(), journal.getIfAvailable(),
+                properties.durability() == IngestProperties.Durability.JOURNAL_FSYNC, meterRegistry);
+    }
+
+    @Bean
+    TaskIngestWriter taskIngestWriter(IngestProperties properties, TaskIngestQueue queue,
+                                      ObjectProvider<TaskIngestJournal> journal, TaskService taskService,
+                                      MeterRegistry meterRegistry) {
+        return new TaskIngestWriter(queue, journal.getIfAvailable(), taskService, properties.batchSize(),
+                properties.maxDelay(), meterRegistry);
+    }
+
+    // Down once queued tasks stop being written or released from the journal.
+    @Bean
+    HealthIndicator taskIngestHealthIndicator(TaskIngestWriter writer, TaskIngestQueue queue) {
+        return () -> {
+            Throwable failure = writer.failure();
+            Health.Builder health = failure == null ? Health.up() : Health.down(failure);
+            return health.withDetail("queued", queue.size()).build();
+        };
+    }
+
+    /**
+     * Matches unless {@code task.ingest.durability} is {@code MEMORY}, its default.
+     */
+    static class JournalDurability extends NoneNestedConditions {
+
+        JournalDurability() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "task.ingest.durability", havingValue = "memory", matchIfMissing = true)
+        static class Memory {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of asynchronous task creation, where {@code POST /api/v1/tasks} answers {@code 202} as soon as the task
+ * is queued and a background writer inserts queued tasks in batches.
+ */
+@ConfigurationProperties(prefix = "task.ingest")
+public record IngestProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("10000")
+        int capacity,
+        @DefaultValue("500")
+        int batchSize,
+        @DefaultValue("5ms")
+        Duration maxDelay,
+        @DefaultValue("MEMORY")
+        Durability durability,
+        @DefaultValue("data/ingest-journal")
+        Path journalDirectory,
+        @DefaultValue("64MB")
+        DataSize journalSegmentSize
+) {
+
+    public enum Durability {
+        /**
+         * Queued tasks live in memory only and are lost if the process dies.
+         */
+        MEMORY,
+        /**
+         * Queued tasks are also appended to a journal and replayed on startup; they survive a process crash, but
+         * not a machine crash.
+         */
+        JOURNAL,
+        /**
+         * Like {@code JOURNAL}, and the journal is forced to disk before {@code 202} is returned. Concurrent
+         * requests share one fsync.
+         */
+        JOURNAL_FSYNC
+    }
+}
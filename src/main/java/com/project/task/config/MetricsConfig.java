@@ -0,0 +1,19 @@
+package com.project.task.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed @Timed} on Spring beans. Endpoint timings come from Spring MVC's
+ * own {@code http.server.requests} observation; Hibernate statistics and Hikari pool gauges are bound by Actuator.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.task.config;
+
+import com.project.task.outbox.ApplicationEventTaskChangeSink;
+import com.project.task.outbox.TaskChangeSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Schedules the outbox relay and falls back to the in-process sink when no other {@link TaskChangeSink} is defined.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    TaskChangeSink taskChangeSink(ApplicationEventPublisher eventPublisher) {
+        return new ApplicationEventTaskChangeSink(eventPublisher);
+    }
+}
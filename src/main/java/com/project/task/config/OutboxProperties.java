@@ -0,0 +1,21 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the task change outbox. The relay and purge intervals are read by the {@code @Scheduled} methods
+ * directly.
+ */
+@ConfigurationProperties(prefix = "task.outbox")
+public record OutboxProperties(
+        @DefaultValue("500")
+        int batchSize,
+        @DefaultValue("7d")
+        Duration retention,
+        @DefaultValue("2s")
+        Duration pollInterval
+) {
+}
@@ -0,0 +1,27 @@
+package com.project.task.config;
+
+import com.project.task.partition.TaskPartitionMigrator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Moves a populated {@code tasks} table into its partitioned replacement (V10 migration) in the background, unless
+ * {@code task.partitioning.migrate} is turned off.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty(name = "task.partitioning.migrate", matchIfMissing = true)
+@EnableConfigurationProperties(PartitioningProperties.class)
+public class PartitioningConfig {
+
+    @Bean
+    TaskPartitionMigrator taskPartitionMigrator(JdbcTemplate jdbcTemplate,
+                                                PlatformTransactionManager transactionManager,
+                                                PartitioningProperties properties) {
+        return new TaskPartitionMigrator(jdbcTemplate, transactionManager, properties.batchSize(),
+                properties.pause(), properties.swapLockTimeout());
+    }
+}
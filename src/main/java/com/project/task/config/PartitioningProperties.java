@@ -0,0 +1,23 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the online move of {@code tasks} into its partitioned replacement. {@code pause} is slept between
+ * batches, to leave the database some room for regular traffic.
+ */
+@ConfigurationProperties(prefix = "task.partitioning")
+public record PartitioningProperties(
+        @DefaultValue("true")
+        boolean migrate,
+        @DefaultValue("5000")
+        int batchSize,
+        @DefaultValue("10ms")
+        Duration pause,
+        @DefaultValue("5s")
+        Duration swapLockTimeout
+) {
+}
@@ -0,0 +1,71 @@
+package com.project.task.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to read replicas when {@code task.datasource.replicas.enabled} is set; everything
+ * else stays on the application's {@link DataSource}, the primary.
+ * <p>
+ * The primary, the {@value DatabaseGateConfig#PRIMARY_DATA_SOURCE} bean, is wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which only borrows a physical connection on the first statement, once the
+ * transaction has declared itself read-only, and then borrows it from the replicas. Other data sources are left alone.
+ * Wrapping happens before the database gate, if enabled, so the gate limits replica and primary connections alike.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("task.datasource.replicas.enabled")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    // The primary is looked up on first use: the data source itself is wrapped with the replicas.
+    @Bean(destroyMethod = "close")
+    ReadReplicas readReplicas(ReadReplicaProperties properties, BeanFactory beanFactory, MeterRegistry meterRegistry) {
+        return new ReadReplicas(properties,
+                () -> beanFactory.getBean(DatabaseGateConfig.PRIMARY_DATA_SOURCE, DataSource.class), meterRegistry);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWrites());
+    }
+
+    @Bean
+    static ReadReplicaPostProcessor readReplicaPostProcessor(ObjectProvider<ReadReplicas> replicas) {
+        return new ReadReplicaPostProcessor(replicas);
+    }
+
+    static final class ReadReplicaPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadReplicas> replicas;
+
+        private ReadReplicaPostProcessor(ObjectProvider<ReadReplicas> replicas) {
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DatabaseGateConfig.PRIMARY_DATA_SOURCE.equals(beanName) && bean instanceof DataSource primary
+                    && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+                proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas.getObject()));
+                return proxy;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
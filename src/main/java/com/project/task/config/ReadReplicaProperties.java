@@ -0,0 +1,29 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas that serve read-only transactions. Keep {@code maxLag} below {@code task.sync.lag}: a delta sync
+ * served by a replica further behind than that could miss changes for good. The lag check interval is read by the
+ * {@code @Scheduled} method directly.
+ */
+@ConfigurationProperties(prefix = "task.datasource.replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue
+        List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10")
+        int maximumPoolSize,
+        @DefaultValue("1s")
+        Duration maxLag,
+        @DefaultValue("5s")
+        Duration readYourWrites
+) {
+}
@@ -0,0 +1,174 @@
+package com.project.task.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The connection pools of the read replicas, and which of them are fit to serve reads. Every lag check asks each
+ * replica how far its replay trails the primary; replicas that are further behind than {@code maxLag}, or don't
+ * answer, stop receiving reads until they catch up.
+ * <p>
+ * A replica counts as caught up once it has replayed the primary's WAL up to where it was when the check started.
+ * Its own view of what it received isn't enough: a replica that lost its connection to the primary has replayed
+ * everything it received, however far behind that leaves it.
+ */
+public class ReadReplicas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    // A replica that has replayed the primary's WAL up to the given position is caught up, however old its last
+    // replayed transaction. Otherwise it is as far behind as its last replayed transaction is old, and unknown if it
+    // hasn't replayed any. Instances that aren't replicas at all count as caught up.
+    private static final String LAG_SQL = """
+            select case
+                when not pg_is_in_recovery() or pg_last_wal_replay_lsn() >= ?::pg_lsn then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, -1)
+            end::bigint
+            """;
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 1;
+
+    private final List<Replica> replicas;
+
+    private final Supplier<DataSource> primary;
+
+    private final long maxLagMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<Replica> available = List.of();
+
+    public ReadReplicas(ReadReplicaProperties properties, Supplier<DataSource> primary, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMillis = properties.maxLag().toMillis();
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : properties.urls()) {
+            String name = "replica-" + replicas.size();
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(properties.username());
+            dataSource.setPassword(properties.password());
+            dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+            dataSource.setReadOnly(true);
+            // A replica that is down at startup must not keep the application from starting.
+            dataSource.setInitializationFailTimeout(-1);
+            Replica replica = new Replica(name, dataSource);
+            Gauge.builder("task.db.replica.lag", replica, Replica::lag)
+                    .description("Replay lag of a read replica in milliseconds; -1 while it can't be reached")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        this.replicas = List.copyOf(replicas);
+    }
+
+    /**
+     * Returns the data sources by name, as routing targets.
+     */
+    Map<Object, Object> dataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Picks the next replica fit to serve reads, round robin, or returns {@code null} when there is none.
+     */
+    String choose() {
+        List<Replica> candidates = available;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())).name;
+    }
+
+    @Scheduled(fixedDelayString = "${task.datasource.replicas.lag-check-interval:1s}")
+    public void checkLag() {
+        String primaryLsn = primaryLsn();
+        List<Replica> caughtUp = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            replica.lagMillis = measureLag(replica, primaryLsn);
+            if (replica.lagMillis >= 0 && replica.lagMillis <= maxLagMillis) {
+                caughtUp.add(replica);
+            }
+        }
+        available = List.copyOf(caughtUp);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Returns the primary's current WAL position, or {@code null} when it can't be read; replicas are then judged
+     * by the age of their last replayed transaction alone.
+     */
+    private String primaryLsn() {
+        try (Connection connection = primary.get().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery("select pg_current_wal_lsn()::text")) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        } catch (SQLException exception) {
+            log.warn("Could not read the primary's WAL position to check replica lag", exception);
+            return null;
+        }
+    }
+
+    private static long measureLag(Replica replica, String primaryLsn) {
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            statement.setString(1, primaryLsn);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException exception) {
+            if (replica.lagMillis >= 0) {
+                log.warn("Read replica {} is unreachable; reads go elsewhere until it is back", replica.name,
+                        exception);
+            }
+            return -1;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final HikariDataSource dataSource;
+
+        private volatile long lagMillis;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private double lag() {
+            return lagMillis;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.task.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Gives clients read-your-writes consistency across replicas. A request that may write sets a cookie; while the
+ * cookie lasts, the client's reads go to the primary, giving the replicas that long to replay the write.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "task-read-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration readYourWrites;
+
+    public ReadYourWritesFilter(Duration readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean writes = !SAFE_METHODS.contains(request.getMethod());
+        if (writes) {
+            // Set up front: once the handler has written the body, headers can no longer be added.
+            response.addCookie(pinCookie(now + readYourWrites.toMillis()));
+        }
+
+        if (!writes && !pinnedUntilAfter(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private Cookie pinCookie(long until) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, readYourWrites.toSeconds()));
+        return cookie;
+    }
+
+    private static boolean pinnedUntilAfter(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException exception) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
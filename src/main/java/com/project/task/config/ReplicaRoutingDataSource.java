@@ -0,0 +1,90 @@
+package com.project.task.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections to a read replica fit to serve reads, or to the primary when there is none or the current
+ * thread must read its own writes. Only ever asked for connections of read-only transactions: it sits behind
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy#setReadOnlyDataSource}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final ReadReplicas replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas) {
+        this.replicas = replicas;
+        setTargetDataSources(replicas.dataSources());
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Sends the current thread's reads to the primary until {@link #unpin()}, so they see writes the replicas may
+     * not have replayed yet.
+     */
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    /**
+     * Runs {@code action} pinned to the primary or not, as the request a worker thread acts for is, then restores
+     * the current thread's own pin.
+     */
+    public static void runAs(boolean pinnedToPrimary, Runnable action) {
+        boolean previous = isPinnedToPrimary();
+        if (pinnedToPrimary) {
+            pinToPrimary();
+        } else {
+            unpin();
+        }
+        try {
+            action.run();
+        } finally {
+            if (previous) {
+                pinToPrimary();
+            } else {
+                unpin();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the current thread has read from a replica since the last call, and forgets it. What a
+     * replica returns may predate writes that have already committed and evicted their cache entries, so it must not
+     * be cached: the old state would be served to everyone, read-your-writes clients included, until it expires.
+     */
+    public static boolean consumeReplicaRead() {
+        boolean replicaRead = REPLICA_READ.get() != null;
+        REPLICA_READ.remove();
+        return replicaRead;
+    }
+
+    /**
+     * Returns the replica to read from; {@code null} falls back to the primary.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARY_PINNED.get() != null) {
+            return null;
+        }
+        String replica = replicas.choose();
+        if (replica != null) {
+            REPLICA_READ.set(Boolean.TRUE);
+        }
+        return replica;
+    }
+}
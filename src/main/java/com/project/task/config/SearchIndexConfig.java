@@ -0,0 +1,30 @@
+package com.project.task.config;
+
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.search.TaskSearchIndex;
+import com.project.task.search.TaskSearchIndexer;
+import com.project.task.service.TaskService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the in-memory search index when {@code task.search.index.enabled} is set.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("task.search.index.enabled")
+@EnableConfigurationProperties(SearchIndexProperties.class)
+public class SearchIndexConfig {
+
+    @Bean
+    TaskSearchIndex taskSearchIndex() {
+        return new TaskSearchIndex();
+    }
+
+    @Bean
+    TaskSearchIndexer taskSearchIndexer(TaskSearchIndex taskSearchIndex, TaskService taskService,
+                                        TaskMapper taskMapper, SearchIndexProperties properties) {
+        return new TaskSearchIndexer(taskSearchIndex, taskService, taskMapper, properties.rebuildBatchSize());
+    }
+}
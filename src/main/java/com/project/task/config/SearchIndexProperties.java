@@ -0,0 +1,16 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the in-memory search index, used when Postgres full-text search isn't available.
+ */
+@ConfigurationProperties(prefix = "task.search.index")
+public record SearchIndexProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("10000")
+        int rebuildBatchSize
+) {
+}
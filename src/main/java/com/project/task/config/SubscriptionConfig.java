@@ -0,0 +1,18 @@
+package com.project.task.config;
+
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.subscription.TaskSubscriptionHub;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SubscriptionProperties.class)
+public class SubscriptionConfig {
+
+    @Bean
+    TaskSubscriptionHub taskSubscriptionHub(TaskMapper taskMapper, SubscriptionProperties properties) {
+        return new TaskSubscriptionHub(taskMapper, properties.maxPending(), properties.heartbeatInterval(),
+                properties.timeout());
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the live task subscriptions at {@code /api/v1/tasks/subscribe}.
+ */
+@ConfigurationProperties(prefix = "task.subscriptions")
+public record SubscriptionProperties(
+        @DefaultValue("10000")
+        int maxPending,
+        @DefaultValue("15s")
+        Duration heartbeatInterval,
+        @DefaultValue("30m")
+        Duration timeout
+) {
+}
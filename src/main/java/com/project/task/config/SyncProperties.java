@@ -0,0 +1,18 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of delta sync. The purge interval is read by the {@code @Scheduled} method directly.
+ */
+@ConfigurationProperties(prefix = "task.sync")
+public record SyncProperties(
+        @DefaultValue("5s")
+        Duration lag,
+        @DefaultValue("30d")
+        Duration tombstoneRetention
+) {
+}
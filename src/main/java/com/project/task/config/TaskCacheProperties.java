@@ -0,0 +1,22 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the in-process task caches. Only applies when Caffeine is the cache provider.
+ */
+@ConfigurationProperties(prefix = "task.cache")
+public record TaskCacheProperties(
+        @DefaultValue("10000")
+        long taskMaximumSize,
+        @DefaultValue("10m")
+        Duration taskExpireAfterWrite,
+        @DefaultValue("1000")
+        long pageMaximumSize,
+        @DefaultValue("30s")
+        Duration pageExpireAfterWrite
+) {
+}
@@ -0,0 +1,36 @@
+package com.project.task.config;
+
+import com.project.task.tenant.TenantFilter;
+import com.project.task.tenant.TenantIdentifierResolver;
+import com.project.task.tenant.TenantRateLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Every task belongs to a tenant. Requests are bound to the tenant named in the {@code task.tenants.header} header
+ * and only ever see that tenant's tasks: Hibernate restricts entity queries through {@link TenantIdentifierResolver},
+ * native queries add the tenant themselves, and caches are kept apart per tenant (see {@link CacheConfig}).
+ * <p>
+ * The header is trusted as is; put the application behind a gateway that authenticates callers and sets it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantConfig {
+
+    @Bean
+    TenantFilter tenantFilter(TenantProperties properties,
+                              @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        TenantRateLimiter rateLimiter = properties.rateLimit().enabled()
+                ? new TenantRateLimiter(properties.rateLimit())
+                : null;
+        return new TenantFilter(properties.header(), rateLimiter, exceptionResolver);
+    }
+
+    @Bean
+    TenantIdentifierResolver tenantIdentifierResolver() {
+        return new TenantIdentifierResolver();
+    }
+}
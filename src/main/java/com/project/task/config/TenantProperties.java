@@ -0,0 +1,40 @@
+package com.project.task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * How API requests are assigned to tenants, and how many each tenant may send. {@code rateLimit.tenants} overrides
+ * the default limit for individual tenants, e.g. a large team that needs more.
+ */
+@ConfigurationProperties(prefix = "task.tenants")
+public record TenantProperties(
+        @DefaultValue("X-Tenant-Id")
+        String header,
+        @DefaultValue
+        RateLimit rateLimit
+) {
+    public record RateLimit(
+            @DefaultValue("false")
+            boolean enabled,
+            @DefaultValue("100")
+            double requestsPerSecond,
+            @DefaultValue("200")
+            int burst,
+            @DefaultValue
+            Map<String, Limit> tenants
+    ) {
+        public Limit limitFor(String tenantId) {
+            Limit limit = tenants.get(tenantId);
+            return limit != null ? limit : new Limit(requestsPerSecond, burst);
+        }
+    }
+
+    public record Limit(
+            double requestsPerSecond,
+            int burst
+    ) {
+    }
+}
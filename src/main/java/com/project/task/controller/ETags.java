@@ -0,0 +1,73 @@
+package com.project.task.controller;
+
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.dto.TaskDto;
+
+/**
+ * Builds and parses the entity tags exposed by the task endpoints. A task's strong ETag is its version; a page's
+ * weak ETag is a digest of the ids and versions it contains and of its next cursor, so a page that gains a next page
+ * doesn't match either.
+ */
+final class ETags {
+
+    /**
+     * Stands in for an If-Match value that can never equal a task version, e.g. a weak or malformed tag.
+     */
+    static final long UNMATCHABLE_VERSION = -1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofPage(TaskPage page) {
+        long hash = FNV_OFFSET_BASIS;
+        for (TaskDto task : page.tasks()) {
+            hash = mix(hash, task.id().getMostSignificantBits());
+            hash = mix(hash, task.id().getLeastSignificantBits());
+            hash = mix(hash, task.version() == null ? -1 : task.version());
+        }
+        // Marks the end of the rows, then the cursor: the same rows with and without a next page differ.
+        hash = mix(hash, page.hasNext() ? 1 : 0);
+        if (page.hasNext()) {
+            hash = mix(hash, page.nextCursor().getMostSignificantBits());
+            hash = mix(hash, page.nextCursor().getLeastSignificantBits());
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or {@code null} when the update is unconditional
+     * (no header, or {@code *}). Anything other than a single strong version tag yields {@link #UNMATCHABLE_VERSION},
+     * since If-Match uses strong comparison and such a precondition can only evaluate to false.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException exception) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
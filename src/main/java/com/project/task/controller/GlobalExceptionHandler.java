@@ -1,13 +1,31 @@
 package com.project.task.controller;
 
 import com.project.task.domain.dto.ErrorDto;
+import com.project.task.exception.ChangeSequenceExpiredException;
+import com.project.task.exception.IngestQueueFullException;
+import com.project.task.exception.IngestUnavailableException;
+import com.project.task.exception.InvalidPageTokenException;
+import com.project.task.exception.InvalidSyncWatermarkException;
+import com.project.task.exception.InvalidTenantException;
+import com.project.task.exception.SearchIndexNotReadyException;
+import com.project.task.exception.SyncWatermarkExpiredException;
+import com.project.task.exception.TaskLeaseLostException;
+import com.project.task.exception.TaskNotClaimedException;
 import com.project.task.exception.TaskNotFoundException;
+import com.project.task.exception.TenantRateLimitExceededException;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.UUID;
@@ -28,11 +46,89 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(new ErrorDto(errorMessage));
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorDto> handleMethodValidationException(HandlerMethodValidationException exception) {
+        String errorMessage = exception
+                .getAllErrors()
+                .stream()
+                .findFirst()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .orElse("Validation failed");
+
+        return ResponseEntity.badRequest().body(new ErrorDto(errorMessage));
+    }
+
+    @ExceptionHandler({InvalidPageTokenException.class, InvalidSyncWatermarkException.class,
+            InvalidTenantException.class})
+    public ResponseEntity<ErrorDto> handleInvalidPageTokenException(Exception exception) {
+        return ResponseEntity.badRequest().body(new ErrorDto(exception.getMessage()));
+    }
+
+    @ExceptionHandler({SyncWatermarkExpiredException.class, ChangeSequenceExpiredException.class})
+    public ResponseEntity<ErrorDto> handleSyncWatermarkExpiredException(Exception exception) {
+        // Change stream clients only accept text/event-stream; a preset content type still gets them the error body.
+        return ResponseEntity.status(HttpStatus.GONE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorDto(exception.getMessage()));
+    }
+
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<ErrorDto> handleTaskNotFoundException(Exception exception) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorDto(exception.getMessage()));
     }
 
+    @ExceptionHandler({TaskLeaseLostException.class, TaskNotClaimedException.class})
+    public ResponseEntity<ErrorDto> handleTaskLeaseLostException(Exception exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorDto(exception.getMessage()));
+    }
+
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorDto> handleOptimisticLockException(Exception exception) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(new ErrorDto("Task was modified by someone else. Fetch it again and retry."));
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorDto> handleCannotCreateTransactionException(CannotCreateTransactionException exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorDto("The database is busy. Retry shortly."));
+    }
+
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<ErrorDto> handleIngestQueueFullException(Exception exception) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorDto(exception.getMessage()));
+    }
+
+    @ExceptionHandler(IngestUnavailableException.class)
+    public ResponseEntity<ErrorDto> handleIngestUnavailableException(Exception exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorDto(exception.getMessage()));
+    }
+
+    @ExceptionHandler(TenantRateLimitExceededException.class)
+    public ResponseEntity<ErrorDto> handleTenantRateLimitExceededException(
+            TenantRateLimitExceededException exception) {
+        // Retry-After counts whole seconds; round up so the retry doesn't arrive before the bucket has refilled.
+        long retryAfterSeconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorDto(exception.getMessage()));
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<ErrorDto> handleSearchIndexNotReadyException(Exception exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorDto(exception.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorDto> handleTypeMismatchException(MethodArgumentTypeMismatchException exception) {
         if (exception.getRequiredType() == UUID.class) {
@@ -0,0 +1,41 @@
+package com.project.task.controller;
+
+import com.project.task.exception.InvalidPageTokenException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes keyset cursors as opaque, URL-safe page tokens so clients don't depend on what a cursor contains.
+ */
+final class PageTokens {
+
+    private static final int CURSOR_BYTES = 16;
+
+    private PageTokens() {
+    }
+
+    static String encode(UUID cursor) {
+        ByteBuffer buffer = ByteBuffer.allocate(CURSOR_BYTES)
+                .putLong(cursor.getMostSignificantBits())
+                .putLong(cursor.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static UUID decode(String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(pageToken);
+            if (bytes.length != CURSOR_BYTES) {
+                throw new InvalidPageTokenException(pageToken);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidPageTokenException(pageToken);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.task.controller;
+
+import com.project.task.domain.SyncWatermark;
+import com.project.task.exception.InvalidSyncWatermarkException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes sync watermarks as opaque, URL-safe tokens, like {@link PageTokens}. Timestamps are kept to the
+ * microsecond, the precision Postgres stores.
+ */
+final class SyncWatermarks {
+
+    private static final int WATERMARK_BYTES = 24;
+
+    private SyncWatermarks() {
+    }
+
+    static String encode(SyncWatermark watermark) {
+        ByteBuffer buffer = ByteBuffer.allocate(WATERMARK_BYTES)
+                .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, watermark.updatedAt()))
+                .putLong(watermark.id().getMostSignificantBits())
+                .putLong(watermark.id().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static SyncWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(watermark);
+            if (bytes.length != WATERMARK_BYTES) {
+                throw new InvalidSyncWatermarkException(watermark);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant updatedAt = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+            return new SyncWatermark(updatedAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | ArithmeticException exception) {
+            throw new InvalidSyncWatermarkException(watermark);
+        }
+    }
+}
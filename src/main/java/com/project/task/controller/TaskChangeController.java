@@ -0,0 +1,105 @@
+package com.project.task.controller;
+
+import com.project.task.config.OutboxProperties;
+import com.project.task.domain.dto.TaskChangeDto;
+import com.project.task.exception.ChangeSequenceExpiredException;
+import com.project.task.outbox.TaskChangeFeed;
+import com.project.task.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+@Tag(
+        name = "Task Management",
+        description = "APIs for managing tasks"
+)
+@RestController
+@RequestMapping(path = "/api/v1/tasks/changes")
+public class TaskChangeController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private static final int SEND_BATCH_SIZE = 500;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final Duration pollInterval;
+
+    public TaskChangeController(TaskChangeFeed taskChangeFeed, OutboxProperties outboxProperties) {
+        this.taskChangeFeed = taskChangeFeed;
+        this.pollInterval = outboxProperties.pollInterval();
+    }
+
+    @Operation(summary = "Stream task changes as server-sent events",
+            description = "Each event is named after the change type and carries its sequence number as id. "
+                    + "Resume with since (or the Last-Event-ID header) set to the last id received; without "
+                    + "either, only changes from now on are sent. Answers 410 Gone when changes after the resume "
+                    + "point have already been purged.")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) @Min(0) Long since,
+                                    @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        long start = since != null ? since
+                : lastEventId != null ? lastEventId
+                : taskChangeFeed.latestSequence();
+        if (since != null || lastEventId != null) {
+            taskChangeFeed.requireRetained(start);
+        }
+        String tenantId = TenantContext.require();
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Thread sender = Thread.ofVirtual().name("task-changes-", 0).unstarted(() -> send(emitter, tenantId, start));
+        emitter.onCompletion(sender::interrupt);
+        emitter.onTimeout(sender::interrupt);
+        emitter.onError(error -> sender.interrupt());
+        sender.start();
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String tenantId, long since) {
+        long sequence = since;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long signalled = taskChangeFeed.signalledSequence();
+                List<TaskChangeDto> changes = taskChangeFeed.changesAfter(tenantId, sequence, SEND_BATCH_SIZE);
+                for (TaskChangeDto change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.sequence()))
+                            .name(change.type().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    sequence = change.sequence();
+                }
+                // The read saw every change signalled before it; waiting past those keeps other tenants' changes
+                // from waking this stream over and over.
+                if (changes.size() < SEND_BATCH_SIZE
+                        && !taskChangeFeed.awaitChangesAfter(Math.max(sequence, signalled), pollInterval)) {
+                    // Nothing signalled locally; a comment keeps proxies from closing an idle stream, and the
+                    // next read still picks up changes relayed by other instances.
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        } catch (ChangeSequenceExpiredException exception) {
+            // Fell behind the purge; the client reconnects with its last id and is answered 410 Gone.
+            emitter.complete();
+        } catch (IOException | IllegalStateException exception) {
+            // The client went away or the emitter already completed.
+        } catch (InterruptedException exception) {
+            // Interrupted by the emitter's completion or timeout callback.
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException exception) {
+            emitter.completeWithError(exception);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.task.controller;
+
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.dto.ClaimTasksRequestDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskLeaseDto;
+import com.project.task.domain.dto.TaskLeaseRequestDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.service.TaskClaimService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@Tag(
+        name = "Task Management",
+        description = "APIs for managing tasks"
+)
+@RestController
+@RequestMapping(path = "/api/v1/tasks")
+public class TaskClaimController {
+
+    private final TaskClaimService taskClaimService;
+
+    private final TaskMapper taskMapper;
+
+    public TaskClaimController(TaskClaimService taskClaimService, TaskMapper taskMapper) {
+        this.taskClaimService = taskClaimService;
+        this.taskMapper = taskMapper;
+    }
+
+    @Operation(summary = "Claim the next open tasks",
+            description = "Moves up to size open tasks, highest priority first, to IN_PROGRESS and leases them to "
+                    + "the worker. Workers claiming at the same time never get the same task. An empty list means "
+                    + "no task is open. Renew the lease before it expires, or the task goes back to OPEN.")
+    @PostMapping("/claim")
+    public ResponseEntity<List<TaskLeaseDto>> claimTasks(@Valid @RequestBody ClaimTasksRequestDto request) {
+        List<TaskLeaseDto> leases = taskClaimService.claimTasks(request.worker(), request.size()).stream()
+                .map(this::toDto)
+                .toList();
+        return ResponseEntity.ok(leases);
+    }
+
+    @Operation(summary = "Renew the lease on a claimed task",
+            description = "409 means the worker lost the task, e.g. because the lease expired in between.")
+    @PutMapping("/{taskId}/lease")
+    public ResponseEntity<TaskLeaseDto> renewLease(@PathVariable UUID taskId,
+                                                   @Valid @RequestBody TaskLeaseRequestDto request) {
+        return ResponseEntity.ok(toDto(taskClaimService.renewLease(taskId, request.worker())));
+    }
+
+    @Operation(summary = "Complete a claimed task",
+            description = "409 means the worker lost the task, e.g. because the lease expired in between.")
+    @PostMapping("/{taskId}/complete")
+    public ResponseEntity<TaskDto> completeTask(@PathVariable UUID taskId,
+                                                @Valid @RequestBody TaskLeaseRequestDto request) {
+        Task task = taskClaimService.completeTask(taskId, request.worker());
+        return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(taskMapper.toDto(task));
+    }
+
+    @Operation(summary = "Give a claimed task back",
+            description = "Reopens the task right away instead of waiting for its lease to expire. 409 means the "
+                    + "worker lost the task already.")
+    @PostMapping("/{taskId}/release")
+    public ResponseEntity<TaskDto> releaseTask(@PathVariable UUID taskId,
+                                               @Valid @RequestBody TaskLeaseRequestDto request) {
+        Task task = taskClaimService.releaseTask(taskId, request.worker());
+        return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(taskMapper.toDto(task));
+    }
+
+    private TaskLeaseDto toDto(TaskLease lease) {
+        return new TaskLeaseDto(taskMapper.toDto(lease.task()), lease.owner(), lease.expiresAt());
+    }
+}
@@ -1,21 +1,58 @@
 package com.project.task.controller;
 
+import com.project.task.config.ReplicaRoutingDataSource;
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.TaskSearchPage;
+import com.project.task.domain.TaskSyncPage;
 import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.BatchItemResultDto;
+import com.project.task.domain.dto.BatchItemStatus;
+import com.project.task.domain.dto.BatchUpdateTaskRequestDto;
 import com.project.task.domain.dto.CreateTaskRequestDto;
 import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskSyncDto;
 import com.project.task.domain.dto.UpdateTaskRequestDto;
 import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
 import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.ingest.TaskIngestQueue;
 import com.project.task.service.TaskService;
+import com.project.task.service.TaskSyncService;
+import com.project.task.subscription.TaskSubscriptionHub;
+import com.project.task.tenant.TenantContext;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Tag(
@@ -26,39 +63,177 @@ import java.util.UUID;
 @RequestMapping(path = "/api/v1/tasks")
 public class TaskController {
 
+    static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SYNC_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    // Ranked results are paged by offset; past this depth, users should refine the query instead.
+    private static final int MAX_SEARCH_PAGE = 100;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String ERROR_MESSAGE_BATCH_SIZE =
+            "Batch must contain between 1 and " + MAX_BATCH_SIZE + " items.";
+
+    private static final String ERROR_MESSAGE_BATCH_ITEM_NOT_NULL =
+            "Batch items must not be null.";
+
     private final TaskService taskService;
 
     private final TaskMapper taskMapper;
 
-    public TaskController(TaskService taskService, TaskMapper taskMapper) {
+    private final TaskSyncService taskSyncService;
+
+    private final TaskSubscriptionHub taskSubscriptionHub;
+
+    @Nullable
+    private final TaskIngestQueue taskIngestQueue;
+
+    private final ObjectWriter taskDtoWriter;
+
+    public TaskController(TaskService taskService, TaskMapper taskMapper, TaskSyncService taskSyncService,
+                          TaskSubscriptionHub taskSubscriptionHub, ObjectProvider<TaskIngestQueue> taskIngestQueue,
+                          ObjectMapper objectMapper) {
         this.taskService = taskService;
         this.taskMapper = taskMapper;
+        this.taskSyncService = taskSyncService;
+        this.taskSubscriptionHub = taskSubscriptionHub;
+        this.taskIngestQueue = taskIngestQueue.getIfAvailable();
+        this.taskDtoWriter = objectMapper.writerFor(TaskDto.class);
     }
 
-    @Operation(summary = "Create a new task")
+    @Operation(summary = "Create a new task",
+            description = "With asynchronous ingestion enabled, answers 202 once the task is queued, with its id, "
+                    + "and 429 while the queue is full.")
     @PostMapping
     public ResponseEntity<TaskDto> createTask(@Valid @RequestBody CreateTaskRequestDto createTaskRequestDto) {
         CreateTaskRequest request = taskMapper.fromDto(createTaskRequestDto);
-        TaskDto taskDto = taskMapper.toDto(taskService.createTask(request));
-        return new ResponseEntity<>(taskDto, HttpStatus.CREATED);
+        if (taskIngestQueue != null) {
+            Task task = taskIngestQueue.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/tasks/" + task.getId()))
+                    .body(taskMapper.toDto(task));
+        }
+        Task task = taskService.createTask(request);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), task).body(taskMapper.toDto(task));
     }
 
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get a task",
+            description = "Send the ETag back in If-None-Match to get a 304 when the task hasn't changed.")
+    @GetMapping("/{taskId}")
+    public ResponseEntity<TaskDto> getTask(@PathVariable UUID taskId, WebRequest webRequest) {
+        Task task = taskService.getTask(taskId);
+        if (webRequest.checkNotModified(ETags.of(task.getVersion()))) {
+            return null;
+        }
+        return withETag(ResponseEntity.ok(), task).body(taskMapper.toDto(task));
+    }
+
+    @Operation(summary = "Get tasks, one page at a time",
+            description = "Pass the X-Next-Page-Token response header back as pageToken to fetch the next page.")
     @GetMapping
-    public ResponseEntity<List<TaskDto>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        List<TaskDto> taskDtos = tasks.stream().map(taskMapper::toDto).toList();
-        return ResponseEntity.ok(taskDtos);
+    public ResponseEntity<List<TaskDto>> getTasks(@RequestParam(required = false) TaskStatus status,
+                                                  @RequestParam(required = false) TaskPriority priority,
+                                                  @RequestParam(required = false) String pageToken,
+                                                  @RequestParam(defaultValue = "100")
+                                                  @Min(1) @Max(MAX_PAGE_SIZE) int size,
+                                                  WebRequest webRequest) {
+        TaskPage page = taskService.getTasks(new TaskFilter(status, priority), PageTokens.decode(pageToken), size);
+        // Polling clients that already hold this page get a 304 before anything is serialized.
+        if (webRequest.checkNotModified(ETags.ofPage(page))) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, PageTokens.encode(page.nextCursor()));
+        }
+        return response.body(page.tasks());
+    }
+
+    @Operation(summary = "Get tasks changed since the last sync",
+            description = "Without since, returns all tasks. Otherwise returns tasks created, updated or deleted "
+                    + "after the since watermark. Pass the returned watermark as since next time; while hasMore "
+                    + "is true, sync again right away. 410 means the watermark is too old: start over without it.")
+    @GetMapping("/sync")
+    public ResponseEntity<TaskSyncDto> syncTasks(@RequestParam(required = false) String since,
+                                                 @RequestParam(defaultValue = "500")
+                                                 @Min(1) @Max(MAX_SYNC_PAGE_SIZE) int size) {
+        TaskSyncPage page = taskSyncService.syncTasks(SyncWatermarks.decode(since), size);
+        return ResponseEntity.ok(new TaskSyncDto(page.changed(), page.deleted(),
+                SyncWatermarks.encode(page.watermark()), page.hasNext()));
+    }
+
+    @Operation(summary = "Subscribe to live task changes",
+            description = "Server-sent events with the same filters as the task list. An UPSERT event carries a task "
+                    + "to add or replace, a REMOVE event the id of a task that was deleted or left the filter. "
+                    + "Several changes to one task in quick succession arrive as one event; RESYNC means the client "
+                    + "fell too far behind and should reload the list.")
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) TaskStatus status,
+                                @RequestParam(required = false) TaskPriority priority) {
+        return taskSubscriptionHub.subscribe(TenantContext.require(), new TaskFilter(status, priority));
     }
 
-    @Operation(summary = "Update an existing task")
+    @Operation(summary = "Search tasks by keyword",
+            description = "Ranks title matches above description matches. Without prefix, q accepts web search "
+                    + "syntax (\"quoted phrase\", or, -word); with prefix=true, every word matches as a prefix. "
+                    + "The X-Next-Page response header holds the next page number, if any.")
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDto>> searchTasks(@RequestParam
+                                                     @NotBlank @Size(max = MAX_SEARCH_QUERY_LENGTH) String q,
+                                                     @RequestParam(defaultValue = "false") boolean prefix,
+                                                     @RequestParam(defaultValue = "0")
+                                                     @Min(0) @Max(MAX_SEARCH_PAGE) int page,
+                                                     @RequestParam(defaultValue = "20")
+                                                     @Min(1) @Max(MAX_SEARCH_PAGE_SIZE) int size) {
+        TaskSearchPage result = taskService.searchTasks(q, prefix, page, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.hasNext()) {
+            response.header(NEXT_PAGE_HEADER, String.valueOf(page + 1));
+        }
+        return response.body(result.tasks());
+    }
+
+    @Operation(summary = "Export all tasks as newline-delimited JSON",
+            description = "Streams rows straight from a database cursor, one JSON document per line.")
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        // The body is written on another thread, which must read as this request's tenant, and from the primary if
+        // this request does.
+        String tenantId = TenantContext.require();
+        boolean pinnedToPrimary = ReplicaRoutingDataSource.isPinnedToPrimary();
+        StreamingResponseBody body = outputStream -> {
+            ReplicaRoutingDataSource.runAs(pinnedToPrimary, () -> TenantContext.runAs(tenantId,
+                    () -> taskService.exportTasks(task -> writeLine(outputStream, taskMapper.toDto(task)))));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Update an existing task",
+            description = "Send the task's ETag in If-Match to update it only if nobody changed it in between.")
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskDto> updateTask(@PathVariable UUID taskId,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch,
                                               @Valid @RequestBody UpdateTaskRequestDto updateTaskRequestDto) {
         UpdateTaskRequest request = taskMapper.fromDto(updateTaskRequestDto);
-        Task task = taskService.updateTask(taskId, request);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Task task = expectedVersion == null
+                ? taskService.updateTask(taskId, request)
+                : taskService.updateTask(taskId, request, expectedVersion);
         TaskDto taskDto = taskMapper.toDto(task);
-        return ResponseEntity.ok(taskDto);
+        return withETag(ResponseEntity.ok(), task).body(taskDto);
     }
 
     @Operation(summary = "Delete a task")
@@ -68,4 +243,77 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Create tasks in bulk",
+            description = "All tasks are validated first, then inserted in a single transaction.")
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDto>> createTasks(
+            @RequestBody
+            @NotEmpty(message = ERROR_MESSAGE_BATCH_SIZE)
+            @Size(max = MAX_BATCH_SIZE, message = ERROR_MESSAGE_BATCH_SIZE)
+            List<@NotNull(message = ERROR_MESSAGE_BATCH_ITEM_NOT_NULL) @Valid CreateTaskRequestDto> createTaskRequestDtos) {
+        List<CreateTaskRequest> requests = createTaskRequestDtos.stream().map(taskMapper::fromDto).toList();
+        List<BatchItemResultDto> results = taskService.createTasks(requests).stream()
+                .map(task -> new BatchItemResultDto(task.getId(), BatchItemStatus.CREATED, taskMapper.toDto(task)))
+                .toList();
+        return new ResponseEntity<>(results, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Update tasks in bulk",
+            description = "Returns one result per item, in request order. Unknown ids are reported as NOT_FOUND.")
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDto>> updateTasks(
+            @RequestBody
+            @NotEmpty(message = ERROR_MESSAGE_BATCH_SIZE)
+            @Size(max = MAX_BATCH_SIZE, message = ERROR_MESSAGE_BATCH_SIZE)
+            List<@NotNull(message = ERROR_MESSAGE_BATCH_ITEM_NOT_NULL) @Valid BatchUpdateTaskRequestDto> updateTaskRequestDtos) {
+        Map<UUID, UpdateTaskRequest> requests = new LinkedHashMap<>();
+        for (BatchUpdateTaskRequestDto dto : updateTaskRequestDtos) {
+            requests.put(dto.id(), taskMapper.fromDto(dto.task()));
+        }
+
+        Map<UUID, Task> updatedTasks = taskService.updateTasks(requests);
+        List<BatchItemResultDto> results = updateTaskRequestDtos.stream()
+                .map(dto -> {
+                    Task task = updatedTasks.get(dto.id());
+                    return task == null
+                            ? new BatchItemResultDto(dto.id(), BatchItemStatus.NOT_FOUND, null)
+                            : new BatchItemResultDto(dto.id(), BatchItemStatus.UPDATED, taskMapper.toDto(task));
+                })
+                .toList();
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Delete tasks in bulk",
+            description = "Returns one result per id, in request order. Unknown ids are reported as NOT_FOUND.")
+    @PostMapping("/batch/delete")
+    public ResponseEntity<List<BatchItemResultDto>> deleteTasks(
+            @RequestBody
+            @NotEmpty(message = ERROR_MESSAGE_BATCH_SIZE)
+            @Size(max = MAX_BATCH_SIZE, message = ERROR_MESSAGE_BATCH_SIZE)
+            List<@NotNull(message = ERROR_MESSAGE_BATCH_ITEM_NOT_NULL) UUID> taskIds) {
+        Set<UUID> deletedIds = taskService.deleteTasks(taskIds);
+        List<BatchItemResultDto> results = taskIds.stream()
+                .map(taskId -> new BatchItemResultDto(
+                        taskId,
+                        deletedIds.contains(taskId) ? BatchItemStatus.DELETED : BatchItemStatus.NOT_FOUND,
+                        null))
+                .toList();
+        return ResponseEntity.ok(results);
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder response, Task task) {
+        if (task.getVersion() != null) {
+            response.eTag(ETags.of(task.getVersion()));
+        }
+        return response;
+    }
+
+    private void writeLine(OutputStream outputStream, TaskDto taskDto) {
+        try {
+            outputStream.write(taskDtoWriter.writeValueAsBytes(taskDto));
+            outputStream.write('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
 }
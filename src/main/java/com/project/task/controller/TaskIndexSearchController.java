@@ -0,0 +1,58 @@
+package com.project.task.controller;
+
+import com.project.task.domain.dto.TaskIndexSearchResultDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.search.TaskIndexQuery;
+import com.project.task.search.TaskSearchIndex;
+import com.project.task.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "Task Management",
+        description = "APIs for managing tasks"
+)
+@RestController
+@RequestMapping(path = "/api/v1/tasks/index-search")
+@ConditionalOnBooleanProperty("task.search.index.enabled")
+public class TaskIndexSearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE = 10_000;
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final TaskSearchIndex taskSearchIndex;
+
+    public TaskIndexSearchController(TaskSearchIndex taskSearchIndex) {
+        this.taskSearchIndex = taskSearchIndex;
+    }
+
+    @Operation(summary = "Search tasks in the in-memory index",
+            description = "All words must match; OR separates alternatives, e.g. \"invoice customer OR billing\". "
+                    + "Results are most recently changed first, with match counts per status and priority.")
+    @GetMapping
+    public ResponseEntity<TaskIndexSearchResultDto> search(@RequestParam
+                                                           @NotBlank @Size(max = MAX_QUERY_LENGTH) String q,
+                                                           @RequestParam(required = false) TaskStatus status,
+                                                           @RequestParam(required = false) TaskPriority priority,
+                                                           @RequestParam(defaultValue = "0")
+                                                           @Min(0) @Max(MAX_PAGE) int page,
+                                                           @RequestParam(defaultValue = "20")
+                                                           @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        TaskIndexQuery query = new TaskIndexQuery(TenantContext.require(), q, status, priority, page * size, size);
+        return ResponseEntity.ok(taskSearchIndex.search(query));
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.task.controller;
+
+import com.project.task.domain.dto.TaskStatsDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.stats.TaskStatsCounter;
+import com.project.task.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Tag(
+        name = "Task Management",
+        description = "APIs for managing tasks"
+)
+@RestController
+@RequestMapping(path = "/api/v1/tasks/stats")
+public class TaskStatsController {
+
+    private final TaskStatsCounter taskStatsCounter;
+
+    public TaskStatsController(TaskStatsCounter taskStatsCounter) {
+        this.taskStatsCounter = taskStatsCounter;
+    }
+
+    @Operation(summary = "Count tasks by status and priority",
+            description = "Served from counters kept up to date on every change, so the cost doesn't grow with "
+                    + "the number of tasks. Changes made on other instances show up within a second or so.")
+    @GetMapping
+    public ResponseEntity<TaskStatsDto> getStats() {
+        String tenantId = TenantContext.require();
+        Map<TaskStatus, Map<TaskPriority, Long>> counts = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : TaskPriority.values()) {
+                long count = taskStatsCounter.count(tenantId, status, priority);
+                byPriority.put(priority, count);
+                total += count;
+            }
+            counts.put(status, byPriority);
+        }
+        return ResponseEntity.ok(new TaskStatsDto(total, counts));
+    }
+}
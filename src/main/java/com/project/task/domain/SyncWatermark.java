@@ -0,0 +1,14 @@
+package com.project.task.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position in the stream of task changes, ordered by {@code updated_at} and then id: a sync returns the changes
+ * after it.
+ */
+public record SyncWatermark(
+        Instant updatedAt,
+        UUID id
+) {
+}
@@ -0,0 +1,17 @@
+package com.project.task.domain;
+
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+
+/**
+ * The status and priority of a task, the dimensions tasks are counted by.
+ */
+public record TaskCategory(
+        TaskStatus status,
+        TaskPriority priority
+) {
+    public static TaskCategory of(Task task) {
+        return new TaskCategory(task.getStatus(), task.getPriority());
+    }
+}
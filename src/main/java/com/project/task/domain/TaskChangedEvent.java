@@ -0,0 +1,44 @@
+package com.project.task.domain;
+
+import com.project.task.domain.entity.Task;
+import jakarta.annotation.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Published by the task services for every task they create, update or delete, inside the transaction that makes
+ * the change. Listeners that must only see committed changes use {@code @TransactionalEventListener}.
+ * <p>
+ * Updates and deletes also carry the category the task had before the change, so counters can be moved without
+ * reading the task again. Every event names the task's tenant, deletions included, for listeners that keep state
+ * per tenant, and the task's version after the change, so listeners can tell a late delivery from a newer change.
+ */
+public record TaskChangedEvent(
+        Type type,
+        UUID taskId,
+        String tenantId,
+        @Nullable
+        Task task,
+        @Nullable
+        TaskCategory previous,
+        @Nullable
+        Long version
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task.getTenantId(), task, null, task.getVersion());
+    }
+
+    public static TaskChangedEvent updated(Task task, TaskCategory previous) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task.getTenantId(), task, previous, task.getVersion());
+    }
+
+    public static TaskChangedEvent deleted(UUID taskId, String tenantId, TaskCategory previous, long version) {
+        return new TaskChangedEvent(Type.DELETED, taskId, tenantId, null, previous, version);
+    }
+}
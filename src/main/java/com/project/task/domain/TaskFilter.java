@@ -0,0 +1,21 @@
+package com.project.task.domain;
+
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import jakarta.annotation.Nullable;
+
+public record TaskFilter(
+        @Nullable
+        TaskStatus status,
+        @Nullable
+        TaskPriority priority
+) {
+    public static TaskFilter none() {
+        return new TaskFilter(null, null);
+    }
+
+    public boolean matches(TaskDto task) {
+        return (status == null || status == task.status()) && (priority == null || priority == task.priority());
+    }
+}
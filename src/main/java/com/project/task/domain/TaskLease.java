@@ -0,0 +1,16 @@
+package com.project.task.domain;
+
+import com.project.task.domain.entity.Task;
+
+import java.time.Instant;
+
+/**
+ * A task claimed by a worker. The claim holds until the worker completes or releases the task, or until
+ * {@code expiresAt} passes without a renewal, after which the task goes back to {@code OPEN}.
+ */
+public record TaskLease(
+        Task task,
+        String owner,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.project.task.domain;
+
+import com.project.task.domain.dto.TaskDto;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskPage(
+        List<TaskDto> tasks,
+        @Nullable
+        UUID nextCursor
+) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.task.domain;
+
+import com.project.task.domain.dto.TaskDto;
+
+import java.util.List;
+
+public record TaskSearchPage(
+        List<TaskDto> tasks,
+        boolean hasNext
+) {
+}
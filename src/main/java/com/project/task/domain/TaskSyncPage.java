@@ -0,0 +1,14 @@
+package com.project.task.domain;
+
+import com.project.task.domain.dto.TaskDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskSyncPage(
+        List<TaskDto> changed,
+        List<UUID> deleted,
+        SyncWatermark watermark,
+        boolean hasNext
+) {
+}
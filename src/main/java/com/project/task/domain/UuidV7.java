@@ -0,0 +1,42 @@
+package com.project.task.domain;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit millisecond timestamp, a 12-bit counter that keeps ids
+ * monotonic within the same millisecond, and 62 random bits. Ids created later sort after earlier ones, so inserts
+ * land on the right-most page of the primary key index instead of splitting pages all over it.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final long VERSION = 0x7000L;
+
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Timestamp in the upper bits and counter in the lower COUNTER_BITS, so one CAS advances both.
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        // A counter overflow or a clock going backwards borrows from the next millisecond rather than going back.
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificantBits = (timestamp << 16) | VERSION | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & RANDOM_MASK) | VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.task.domain.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.util.UUID;
+
+public record BatchItemResultDto(
+        UUID id,
+        BatchItemStatus status,
+        @Nullable
+        TaskDto task
+) {
+}
@@ -0,0 +1,8 @@
+package com.project.task.domain.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND
+}
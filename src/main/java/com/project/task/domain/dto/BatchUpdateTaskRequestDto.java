@@ -0,0 +1,20 @@
+package com.project.task.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record BatchUpdateTaskRequestDto(
+        @NotNull(message = ERROR_MESSAGE_ID_NOT_NULL)
+        UUID id,
+        @NotNull(message = ERROR_MESSAGE_TASK_NOT_NULL)
+        @Valid
+        UpdateTaskRequestDto task
+) {
+    private static final String ERROR_MESSAGE_ID_NOT_NULL =
+            "Id must not be null.";
+
+    private static final String ERROR_MESSAGE_TASK_NOT_NULL =
+            "Task must not be null.";
+}
@@ -0,0 +1,23 @@
+package com.project.task.domain.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record ClaimTasksRequestDto(
+        @NotBlank(message = ERROR_MESSAGE_WORKER)
+        @Size(max = 255, message = ERROR_MESSAGE_WORKER)
+        String worker,
+        @Min(value = 1, message = ERROR_MESSAGE_SIZE)
+        @Max(value = MAX_SIZE, message = ERROR_MESSAGE_SIZE)
+        int size
+) {
+    public static final int MAX_SIZE = 100;
+
+    private static final String ERROR_MESSAGE_WORKER =
+            "Worker must be between 1 and 255 characters.";
+
+    private static final String ERROR_MESSAGE_SIZE =
+            "Size must be between 1 and " + MAX_SIZE + ".";
+}
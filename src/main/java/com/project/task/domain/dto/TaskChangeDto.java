@@ -0,0 +1,22 @@
+package com.project.task.domain.dto;
+
+import com.project.task.domain.TaskChangedEvent;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A published task change. {@code sequence} increases with every change; {@code task} is the state after the
+ * change, absent for deletions.
+ */
+public record TaskChangeDto(
+        long sequence,
+        UUID taskId,
+        String tenantId,
+        TaskChangedEvent.Type type,
+        @Nullable
+        TaskDto task,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,30 @@
+package com.project.task.domain.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A change to a live task view: {@code UPSERT} puts the task into the view or replaces it, {@code REMOVE} drops it,
+ * either because it was deleted or because it no longer matches the view's filter.
+ */
+public record TaskDeltaDto(
+        Type type,
+        UUID id,
+        @Nullable
+        TaskDto task
+) {
+
+    public enum Type {
+        UPSERT,
+        REMOVE
+    }
+
+    public static TaskDeltaDto upsert(TaskDto task) {
+        return new TaskDeltaDto(Type.UPSERT, task.id(), task);
+    }
+
+    public static TaskDeltaDto remove(UUID id) {
+        return new TaskDeltaDto(Type.REMOVE, id, null);
+    }
+}
@@ -2,6 +2,7 @@ package com.project.task.domain.dto;
 
 import com.project.task.domain.entity.TaskPriority;
 import com.project.task.domain.entity.TaskStatus;
+import jakarta.annotation.Nullable;
 
 import java.util.UUID;
 
@@ -10,6 +11,8 @@ public record TaskDto(
         String title,
         String description,
         TaskPriority priority,
-        TaskStatus status
+        TaskStatus status,
+        @Nullable
+        Long version
 ) {
 }
@@ -0,0 +1,19 @@
+package com.project.task.domain.dto;
+
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of in-memory search results. {@code total} counts every match after the status and priority filters;
+ * the facet counts cover every text match, before those filters.
+ */
+public record TaskIndexSearchResultDto(
+        List<TaskDto> tasks,
+        int total,
+        Map<TaskStatus, Integer> statusCounts,
+        Map<TaskPriority, Integer> priorityCounts
+) {
+}
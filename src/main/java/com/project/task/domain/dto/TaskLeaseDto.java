@@ -0,0 +1,10 @@
+package com.project.task.domain.dto;
+
+import java.time.Instant;
+
+public record TaskLeaseDto(
+        TaskDto task,
+        String worker,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.project.task.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record TaskLeaseRequestDto(
+        @NotBlank(message = ERROR_MESSAGE_WORKER)
+        @Size(max = 255, message = ERROR_MESSAGE_WORKER)
+        String worker
+) {
+    private static final String ERROR_MESSAGE_WORKER =
+            "Worker must be between 1 and 255 characters.";
+}
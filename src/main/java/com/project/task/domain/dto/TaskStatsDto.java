@@ -0,0 +1,12 @@
+package com.project.task.domain.dto;
+
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+
+import java.util.Map;
+
+public record TaskStatsDto(
+        long total,
+        Map<TaskStatus, Map<TaskPriority, Long>> counts
+) {
+}
@@ -0,0 +1,12 @@
+package com.project.task.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskSyncDto(
+        List<TaskDto> changed,
+        List<UUID> deleted,
+        String watermark,
+        boolean hasMore
+) {
+}
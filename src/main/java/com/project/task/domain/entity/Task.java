@@ -1,19 +1,36 @@
 package com.project.task.domain.entity;
 
+import com.project.task.domain.UuidV7;
+import com.project.task.tenant.TenantContext;
 import jakarta.persistence.*;
-
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "tasks")
-public class Task {
+// Deleted tasks stay behind as tombstones for delta sync; native queries must filter them out themselves.
+@SQLRestriction("deleted_at is null")
+public class Task implements Persistable<UUID> {
 
     @Id
-    @GeneratedValue
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    // Hibernate restricts every query to the session's tenant; native queries must add the predicate themselves.
+    @TenantId
+    @Column(name = "tenant_id", length = 64, updatable = false, nullable = false)
+    private String tenantId;
+
     @Column(name = "title", nullable = false)
     private String title;
 
@@ -28,20 +45,68 @@ public class Task {
     @Column(name= "priority", nullable = false)
     private TaskPriority priority;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Stamped by the database's clock, like the native statements' now(), so that sync compares times of one clock.
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    // Claims set the lease through native statements; the entity only ends it when an update moves the task on.
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Transient
+    private boolean isNew = true;
+
     protected Task() {
     }
 
-    private Task(String title, String description, TaskPriority priority) {
+    private Task(String tenantId, String title, String description, TaskPriority priority) {
+        this.id = UuidV7.next();
+        this.tenantId = tenantId;
         this.title = title;
         this.description = description;
         this.status = TaskStatus.OPEN;
         this.priority = priority;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
 
+    /**
+     * The id is assigned up front, so Spring Data can't infer newness from a null id. Without this, every
+     * {@code save} of a new task would issue a SELECT through {@code merge} before the INSERT.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -58,6 +123,27 @@ public class Task {
         return priority;
     }
 
+    /**
+     * Returns the optimistic-locking version, or {@code null} while it is unknown (e.g. before the first flush).
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns when the task was created, or {@code null} while it is unknown (e.g. before the first flush).
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns when the task was last changed, or {@code null} while it is unknown (e.g. before the first flush).
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Task task)) return false;
@@ -73,10 +159,12 @@ public class Task {
     public String toString() {
         return "Task{" +
                 "id=" + id +
+                ", tenantId='" + tenantId + '\'' +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
                 ", status=" + status +
                 ", priority=" + priority +
+                ", version=" + version +
                 '}';
     }
 
@@ -85,10 +173,34 @@ public class Task {
         this.description = description;
         this.status = status;
         this.priority = priority;
+        if (status != TaskStatus.IN_PROGRESS) {
+            this.leaseOwner = null;
+            this.leaseExpiresAt = null;
+        }
+    }
+
+    /**
+     * Rebuilds a task that is known to exist with the given state, e.g. right after a bulk UPDATE statement.
+     * The returned instance is not managed by the persistence context; {@code version} may be {@code null}
+     * when the statement did not reveal it.
+     */
+    public static Task restore(UUID id, String tenantId, String title, String description, TaskStatus status,
+                               TaskPriority priority, Long version) {
+        Task task = new Task();
+        task.id = id;
+        task.tenantId = tenantId;
+        task.updateTask(title, description, status, priority);
+        task.version = version;
+        task.markNotNew();
+        return task;
     }
 
+    /**
+     * Creates a task for the current thread's tenant, see {@link TenantContext}.
+     */
     public static Task create(String title, String description, TaskPriority priority) {
         return new Task(
+                TenantContext.currentOrDefault(),
                 title,
                 description,
                 priority
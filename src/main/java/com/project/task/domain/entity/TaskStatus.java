@@ -2,5 +2,6 @@ package com.project.task.domain.entity;
 
 public enum TaskStatus {
     OPEN,
+    IN_PROGRESS,
     COMPLETE
 }
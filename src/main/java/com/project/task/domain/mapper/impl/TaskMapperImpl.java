@@ -7,9 +7,11 @@ import com.project.task.domain.dto.TaskDto;
 import com.project.task.domain.dto.UpdateTaskRequestDto;
 import com.project.task.domain.entity.Task;
 import com.project.task.domain.mapper.TaskMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 
 @Component
+@Timed(value = "task.mapper", histogram = true)
 public class TaskMapperImpl implements TaskMapper {
 
     @Override
@@ -33,7 +35,8 @@ public class TaskMapperImpl implements TaskMapper {
                 task.getTitle(),
                 task.getDescription(),
                 task.getPriority(),
-                task.getStatus()
+                task.getStatus(),
+                task.getVersion()
         );
     }
 }
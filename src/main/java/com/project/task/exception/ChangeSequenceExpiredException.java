@@ -0,0 +1,11 @@
+package com.project.task.exception;
+
+/**
+ * The sequence to resume from is older than the changes still kept, so changes since then can no longer be sent.
+ */
+public class ChangeSequenceExpiredException extends RuntimeException {
+
+    public ChangeSequenceExpiredException() {
+        super("Change sequence has expired. Download all tasks again and stream changes from now on.");
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.task.exception;
+
+public class IngestQueueFullException extends RuntimeException {
+
+    public IngestQueueFullException() {
+        super("Too many tasks are waiting to be written. Retry shortly.");
+    }
+}
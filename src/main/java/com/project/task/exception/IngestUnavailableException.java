@@ -0,0 +1,16 @@
+package com.project.task.exception;
+
+/**
+ * Tasks can't be queued: the journal can't be appended to, or the writer has stopped and queued tasks would never
+ * be written.
+ */
+public class IngestUnavailableException extends RuntimeException {
+
+    public IngestUnavailableException() {
+        super("Tasks can't be written right now.");
+    }
+
+    public IngestUnavailableException(Throwable cause) {
+        super("Tasks can't be written right now.", cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.task.exception;
+
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String pageToken) {
+        super(String.format("Invalid page token '%s'", pageToken));
+    }
+}
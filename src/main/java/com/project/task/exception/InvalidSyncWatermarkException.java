@@ -0,0 +1,8 @@
+package com.project.task.exception;
+
+public class InvalidSyncWatermarkException extends RuntimeException {
+
+    public InvalidSyncWatermarkException(String watermark) {
+        super(String.format("Invalid sync watermark '%s'", watermark));
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.task.exception;
+
+public class InvalidTenantException extends RuntimeException {
+
+    public InvalidTenantException(String tenantId) {
+        super(String.format("Invalid tenant id '%s'. Use up to 64 letters, digits, '.', '_' or '-'.", tenantId));
+    }
+}
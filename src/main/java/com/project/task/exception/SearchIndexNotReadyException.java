@@ -0,0 +1,8 @@
+package com.project.task.exception;
+
+public class SearchIndexNotReadyException extends RuntimeException {
+
+    public SearchIndexNotReadyException() {
+        super("The search index is still being built. Retry shortly.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.task.exception;
+
+/**
+ * The watermark is older than the tombstones still kept, so deletions since then can no longer be reported.
+ */
+public class SyncWatermarkExpiredException extends RuntimeException {
+
+    public SyncWatermarkExpiredException() {
+        super("Sync watermark has expired. Download all tasks again and sync from the new watermark.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.task.exception;
+
+import java.util.UUID;
+
+/**
+ * The worker no longer holds the task: its lease expired and was swept, or the task was changed by other means.
+ */
+public class TaskLeaseLostException extends RuntimeException {
+
+    public TaskLeaseLostException(UUID taskId, String worker) {
+        super(String.format("Task with id '%s' is not claimed by worker '%s'", taskId, worker));
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.task.exception;
+
+import java.util.UUID;
+
+/**
+ * A task was to be moved to {@code IN_PROGRESS} by an update. Only a claim does that, since it also leases the task to
+ * a worker.
+ */
+public class TaskNotClaimedException extends RuntimeException {
+
+    public TaskNotClaimedException(UUID taskId) {
+        super(String.format("Task with id '%s' can only be moved to IN_PROGRESS by claiming it", taskId));
+    }
+}
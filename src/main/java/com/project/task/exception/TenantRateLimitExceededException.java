@@ -0,0 +1,23 @@
+package com.project.task.exception;
+
+import java.time.Duration;
+
+/**
+ * The tenant has sent more requests than its rate limit allows.
+ */
+public class TenantRateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TenantRateLimitExceededException(String tenantId, Duration retryAfter) {
+        super(String.format("Too many requests for tenant '%s'. Retry shortly.", tenantId));
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long until the tenant may send a request again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,305 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.tenant.TenantContext;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of queued tasks, so they can be written after a crash. Records are numbered in append order;
+ * once the writer has committed everything up to a record, the segments holding only earlier records are dropped.
+ * <p>
+ * Each record is its length, a CRC-32 of its payload, and the payload. Recovery stops reading a segment at the
+ * first incomplete or corrupt record, which is what a crash in the middle of an append leaves behind.
+ */
+public class TaskIngestJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "ingest-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int HEADER_BYTES = 8;
+
+    // Far above the largest valid task; a longer length can only come from a torn or corrupt header.
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    private final boolean forceOnRoll;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final List<Path> recoveredSegments;
+
+    private final List<Task> recovered;
+
+    private Segment current;
+
+    private long lastPosition;
+
+    private volatile long syncedPosition;
+
+    private TaskIngestJournal(Path directory, long segmentSize, boolean forceOnRoll, List<Path> recoveredSegments,
+                              List<Task> recovered, long nextSegment) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnRoll = forceOnRoll;
+        this.recoveredSegments = recoveredSegments;
+        this.recovered = recovered;
+        this.current = Segment.create(directory, nextSegment);
+    }
+
+    /**
+     * Opens the journal in {@code directory}, reading back whatever a previous run left unwritten.
+     *
+     * @param forceOnRoll whether a full segment is forced to disk before the next one is started; set it when
+     *                    callers {@link #sync} appends
+     */
+    public static TaskIngestJournal open(Path directory, long segmentSize, boolean forceOnRoll) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(directory)) {
+            existing = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        List<Task> recovered = new ArrayList<>();
+        for (Path segment : existing) {
+            readSegment(segment, recovered);
+        }
+        long nextSegment = existing.isEmpty() ? 0 : segmentIndex(existing.getLast()) + 1;
+        return new TaskIngestJournal(directory, segmentSize, forceOnRoll, existing, recovered, nextSegment);
+    }
+
+    /**
+     * Returns the tasks read back from a previous run, oldest first.
+     */
+    public List<Task> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Drops the segments of a previous run, once the tasks read from them are written.
+     */
+    public void discardRecovered() throws IOException {
+        for (Path segment : recoveredSegments) {
+            Files.deleteIfExists(segment);
+        }
+        recoveredSegments.clear();
+        recovered.clear();
+    }
+
+    /**
+     * Appends a task to the journal, without forcing it to disk.
+     *
+     * @return the position of the record, for {@link #sync} and {@link #commit}
+     */
+    public long append(Task task) throws IOException {
+        ByteBuffer record = encode(task);
+        lock.lock();
+        try {
+            if (current.size > 0 && current.size + record.remaining() > segmentSize) {
+                roll();
+            }
+            current.size += current.channel.write(record, current.size);
+            current.lastPosition = ++lastPosition;
+            return lastPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the journal to disk up to at least {@code position}. Callers that arrive while another caller is
+     * forcing wait for it and usually find their record already covered, so concurrent appends share one fsync.
+     */
+    public void sync(long position) throws IOException {
+        syncLock.lock();
+        try {
+            if (syncedPosition >= position) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            lock.lock();
+            try {
+                channel = current.channel;
+                target = lastPosition;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException exception) {
+                // Rolled over in the meantime, and forced on the way.
+            }
+            syncedPosition = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Releases the records up to and including {@code position}, which have been written to the database.
+     */
+    public void commit(long position) throws IOException {
+        lock.lock();
+        try {
+            // A segment that fails to be deleted stays listed, and the next commit tries again.
+            while (!segments.isEmpty() && segments.peekFirst().lastPosition <= position) {
+                Files.deleteIfExists(segments.peekFirst().path);
+                segments.removeFirst();
+            }
+            if (current.size > 0 && current.lastPosition <= position) {
+                current.channel.truncate(0);
+                current.size = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            current.channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        if (forceOnRoll) {
+            current.channel.force(false);
+        }
+        current.channel.close();
+        segments.addLast(current);
+        current = Segment.create(directory, current.index + 1);
+    }
+
+    private static ByteBuffer encode(Task task) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeLong(task.getId().getMostSignificantBits());
+        payload.writeLong(task.getId().getLeastSignificantBits());
+        payload.writeUTF(task.getTitle());
+        payload.writeBoolean(task.getDescription() != null);
+        if (task.getDescription() != null) {
+            payload.writeUTF(task.getDescription());
+        }
+        payload.writeUTF(task.getPriority().name());
+        payload.writeUTF(task.getTenantId());
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bytes.size())
+                .putInt(bytes.size())
+                .putInt((int) crc.getValue())
+                .put(bytes.toByteArray());
+        return record.flip();
+    }
+
+    private static void readSegment(Path segment, List<Task> tasks) throws IOException {
+        try (InputStream file = Files.newInputStream(segment);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = input.readInt();
+                    checksum = input.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        return;
+                    }
+                    payload = input.readNBytes(length);
+                    if (payload.length < length) {
+                        return;
+                    }
+                } catch (EOFException exception) {
+                    return;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return;
+                }
+                tasks.add(decode(payload));
+            }
+        }
+    }
+
+    private static Task decode(byte[] payload) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        UUID id = new UUID(input.readLong(), input.readLong());
+        String title = input.readUTF();
+        String description = input.readBoolean() ? input.readUTF() : null;
+        TaskPriority priority = TaskPriority.valueOf(input.readUTF());
+        // Records journaled before tenants existed end here.
+        String tenantId = input.available() > 0 ? input.readUTF() : TenantContext.DEFAULT;
+        return Task.restore(id, tenantId, title, description, TaskStatus.OPEN, priority, null);
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final long index;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private long size;
+
+        private long lastPosition;
+
+        private Segment(long index, Path path, FileChannel channel) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static Segment create(Path directory, long index) throws IOException {
+            Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(index) + SEGMENT_SUFFIX);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return new Segment(index, path, channel);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.entity.Task;
+import com.project.task.exception.IngestQueueFullException;
+import com.project.task.exception.IngestUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of tasks accepted but not yet written. Ids are assigned on submission, so callers can refer to a
+ * task before it reaches the database. A full queue rejects new tasks instead of growing, which pushes back on
+ * clients when the writer can't keep up.
+ */
+public class TaskIngestQueue {
+
+    record Entry(Task task, long position) {
+    }
+
+    private final BlockingQueue<Entry> queue;
+
+    @Nullable
+    private final TaskIngestJournal journal;
+
+    private final boolean sync;
+
+    // Keeps journal order and queue order the same, so committing a batch releases exactly its records.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter rejectedCounter;
+
+    private volatile boolean accepting = true;
+
+    private volatile boolean failed;
+
+    public TaskIngestQueue(int capacity, @Nullable TaskIngestJournal journal, boolean sync,
+                           MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.journal = journal;
+        this.sync = sync;
+        this.rejectedCounter = Counter.builder("task.ingest.rejected")
+                .description("Tasks refused because the ingestion queue was full")
+                .register(meterRegistry);
+        Gauge.builder("task.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks accepted but not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a new task for writing.
+     *
+     * @return the task, with its id
+     * @throws IngestQueueFullException when the queue is full or shutting down
+     * @throws IngestUnavailableException when the task can't be journaled, or the writer has stopped
+     */
+    public Task submit(CreateTaskRequest request) {
+        if (failed) {
+            throw new IngestUnavailableException();
+        }
+        Task task = Task.create(request.title(), request.description(), request.priority());
+        long position;
+        lock.lock();
+        try {
+            if (!accepting || queue.remainingCapacity() == 0) {
+                rejectedCounter.increment();
+                throw new IngestQueueFullException();
+            }
+            position = journal == null ? 0 : journal.append(task);
+            queue.add(new Entry(task, position));
+        } catch (IOException exception) {
+            throw new IngestUnavailableException(exception);
+        } finally {
+            lock.unlock();
+        }
+
+        if (sync && journal != null) {
+            try {
+                journal.sync(position);
+            } catch (IOException exception) {
+                throw new IngestUnavailableException(exception);
+            }
+        }
+        return task;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Waits up to {@code timeout} for a first task, then keeps collecting for up to {@code maxDelay} more, or until
+     * {@code maxSize} tasks are collected. Lingering trades a few milliseconds of latency for larger batches.
+     */
+    List<Entry> take(int maxSize, Duration timeout, Duration maxDelay) throws InterruptedException {
+        Entry first = queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<Entry> batch = new ArrayList<>(maxSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (batch.size() < maxSize) {
+            if (queue.drainTo(batch, maxSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Stops accepting tasks; those already queued are still handed to the writer.
+     */
+    void close() {
+        accepting = false;
+    }
+
+    /**
+     * Refuses tasks for good: the writer has stopped, so they would never be written.
+     */
+    void fail() {
+        failed = true;
+    }
+}
@@ -0,0 +1,245 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.entity.Task;
+import com.project.task.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drains the {@link TaskIngestQueue} on a single thread and writes each batch in one statement and one commit, so
+ * the cost of a commit is shared by every task in the batch.
+ * <p>
+ * A batch that fails for a reason that may go away, such as a lost connection, is retried until it succeeds;
+ * meanwhile the queue fills up and new tasks are refused. Any other failure is blamed on the tasks themselves: the
+ * batch is split until the failing tasks are isolated, and those are dropped, logged and counted, so one bad task
+ * can't hold up the rest. Their journal records are released with the batch's.
+ * <p>
+ * Journal failures don't stop the writer: the tasks are in the database already, and releasing their records is
+ * retried with the next batch. Until it succeeds, {@link #failure()} reports the error. Should the writer stop for
+ * any other reason, the queue refuses new tasks instead of piling up ones that would never be written.
+ * <p>
+ * Stops after the web server on shutdown and writes what is still queued before the connection pool closes.
+ */
+public class TaskIngestWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestWriter.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TaskIngestQueue queue;
+
+    @Nullable
+    private final TaskIngestJournal journal;
+
+    private final TaskService taskService;
+
+    private final int batchSize;
+
+    private final Duration maxDelay;
+
+    private final Timer flushTimer;
+
+    private final Counter failureCounter;
+
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+
+    @Nullable
+    private volatile Throwable failure;
+
+    @Nullable
+    private volatile IOException journalFailure;
+
+    private Thread thread;
+
+    public TaskIngestWriter(TaskIngestQueue queue, @Nullable TaskIngestJournal journal, TaskService taskService,
+                            int batchSize, Duration maxDelay, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.journal = journal;
+        this.taskService = taskService;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.flushTimer = Timer.builder("task.ingest.flush")
+                .description("Time to write one batch of queued tasks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("task.ingest.failures")
+                .description("Batches of queued tasks that failed to write")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("task.ingest.dropped")
+                .description("Queued tasks dropped because writing them failed for good")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("task-ingest-writer").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        queue.close();
+        running = false;
+        try {
+            thread.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Gave up waiting for {} queued tasks to be written", queue.size());
+            thread.interrupt();
+        }
+        closeJournal();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns why queued tasks are not being written or released from the journal, or {@code null} when they are.
+     */
+    @Nullable
+    public Throwable failure() {
+        Throwable stopped = failure;
+        return stopped != null ? stopped : journalFailure;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's phases: started before it, stopped after it.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        try {
+            recover();
+            while (running || queue.size() > 0) {
+                List<TaskIngestQueue.Entry> batch = queue.take(batchSize, POLL_TIMEOUT, maxDelay);
+                if (!batch.isEmpty()) {
+                    write(batch.stream().map(TaskIngestQueue.Entry::task).toList());
+                    commit(batch.getLast().position());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error exception) {
+            failure = exception;
+            queue.fail();
+            log.error("Task ingestion writer stopped; queued tasks are no longer written", exception);
+        }
+    }
+
+    private void recover() throws InterruptedException {
+        if (journal == null || journal.recovered().isEmpty()) {
+            return;
+        }
+        List<Task> recovered = journal.recovered();
+        log.info("Writing {} tasks recovered from the ingestion journal", recovered.size());
+        for (int from = 0; from < recovered.size(); from += batchSize) {
+            write(recovered.subList(from, Math.min(from + batchSize, recovered.size())));
+        }
+        try {
+            journal.discardRecovered();
+        } catch (IOException exception) {
+            // Harmless: the next start reads them again and skips them as written.
+            log.warn("Failed to drop the recovered ingestion journal segments", exception);
+        }
+    }
+
+    /**
+     * Releases the journal records of a written batch. A failed attempt leaves them in place; releasing the next
+     * batch's records releases these too.
+     */
+    private void commit(long position) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.commit(position);
+            journalFailure = null;
+        } catch (IOException exception) {
+            if (journalFailure == null) {
+                log.error("Failed to release written tasks from the ingestion journal; retrying with the next batch",
+                        exception);
+            }
+            journalFailure = exception;
+        }
+    }
+
+    /**
+     * Writes the tasks, retrying transient failures, and drops the ones that can't be written at all.
+     */
+    private void write(List<Task> tasks) throws InterruptedException {
+        Duration backoff = Duration.ofMillis(100);
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                taskService.ingestTasks(tasks);
+                flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                return;
+            } catch (RuntimeException exception) {
+                failureCounter.increment();
+                if (!isTransient(exception)) {
+                    isolate(tasks, exception);
+                    return;
+                }
+                log.warn("Failed to write {} queued tasks, retrying in {}", tasks.size(), backoff, exception);
+                Thread.sleep(backoff);
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(MAX_BACKOFF) < 0 ? doubled : MAX_BACKOFF;
+            }
+        }
+    }
+
+    /**
+     * Writes each half of a batch that failed for good on its own, down to single tasks, which are dropped. The
+     * batch was rolled back as a whole, so nothing is written twice.
+     */
+    private void isolate(List<Task> tasks, RuntimeException exception) throws InterruptedException {
+        if (tasks.size() == 1) {
+            droppedCounter.increment();
+            log.error("Dropped queued task {} that can't be written", tasks.getFirst().getId(), exception);
+            return;
+        }
+        int half = tasks.size() / 2;
+        write(tasks.subList(0, half));
+        write(tasks.subList(half, tasks.size()));
+    }
+
+    private static boolean isTransient(RuntimeException exception) {
+        return exception instanceof TransientDataAccessException
+                || exception instanceof RecoverableDataAccessException
+                || exception instanceof CannotCreateTransactionException;
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException exception) {
+            log.warn("Failed to close the task ingestion journal", exception);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.task.outbox;
+
+import com.project.task.domain.dto.TaskChangeDto;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * In-process stand-in for a broker: republishes every change as an application event, for
+ * {@code @EventListener} methods on {@link TaskChangeDto}. Used when no other {@link TaskChangeSink} is defined.
+ */
+public class ApplicationEventTaskChangeSink implements TaskChangeSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventTaskChangeSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<TaskChangeDto> changes) {
+        changes.forEach(eventPublisher::publishEvent);
+    }
+}
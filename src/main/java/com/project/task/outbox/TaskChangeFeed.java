@@ -0,0 +1,106 @@
+package com.project.task.outbox;
+
+import com.project.task.domain.dto.TaskChangeDto;
+import com.project.task.exception.ChangeSequenceExpiredException;
+import com.project.task.repository.TaskOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read side of the outbox for change consumers: published changes by sequence, plus a way to wait for new ones.
+ * Waiters are woken as soon as this instance's relay publishes; changes relayed by another instance are only seen
+ * when the wait times out, so callers should wait for a bounded time and read again.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private final TaskOutboxRepository outboxRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition published = lock.newCondition();
+
+    private long latestSequence;
+
+    public TaskChangeFeed(TaskOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Returns one tenant's published changes after {@code sequence}.
+     *
+     * @throws ChangeSequenceExpiredException when changes after {@code sequence} may have been purged
+     */
+    @Transactional(readOnly = true)
+    public List<TaskChangeDto> changesAfter(String tenantId, long sequence, int limit) {
+        List<TaskChangeDto> changes = outboxRepository.findPublishedAfter(tenantId, sequence, limit);
+        // Checked after the read: a purge the read may have seen has moved the mark by then.
+        requireRetained(sequence);
+        return changes;
+    }
+
+    /**
+     * Checks that every change after {@code sequence} is still stored.
+     *
+     * @throws ChangeSequenceExpiredException when some may have been purged
+     */
+    @Transactional(readOnly = true)
+    public void requireRetained(long sequence) {
+        if (sequence < outboxRepository.purgedThrough()) {
+            throw new ChangeSequenceExpiredException();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long latestSequence() {
+        return outboxRepository.latestSequence();
+    }
+
+    /**
+     * Returns the latest sequence this instance's relay has published. Changes up to it are visible to reads that
+     * start afterwards.
+     */
+    public long signalledSequence() {
+        lock.lock();
+        try {
+            return latestSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a change after {@code sequence} has been published by this instance, or the timeout elapses.
+     *
+     * @return {@code true} if a newer change was signalled
+     */
+    public boolean awaitChangesAfter(long sequence, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (latestSequence <= sequence && remaining > 0) {
+                remaining = published.awaitNanos(remaining);
+            }
+            return latestSequence > sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void signal(long sequence) {
+        lock.lock();
+        try {
+            if (sequence > latestSequence) {
+                latestSequence = sequence;
+                published.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.task.outbox;
+
+import com.project.task.domain.dto.TaskChangeDto;
+
+import java.util.List;
+
+/**
+ * Destination of relayed task changes, e.g. a message broker. Called inside the relay transaction: when it throws,
+ * the batch stays unpublished and is retried, so implementations must tolerate duplicates.
+ */
+public interface TaskChangeSink {
+
+    void publish(List<TaskChangeDto> changes);
+}
@@ -0,0 +1,69 @@
+package com.project.task.outbox;
+
+import com.project.task.config.OutboxProperties;
+import com.project.task.domain.dto.TaskChangeDto;
+import com.project.task.repository.TaskOutboxRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves committed outbox rows to the {@link TaskChangeSink} in batches, one transaction per batch. Delivery is
+ * at-least-once: a batch is only marked published if the sink accepted it.
+ */
+@Component
+public class TaskOutboxRelay {
+
+    private final TaskOutboxRepository outboxRepository;
+
+    private final TaskChangeSink sink;
+
+    private final TaskChangeFeed feed;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    public TaskOutboxRelay(TaskOutboxRepository outboxRepository, TaskChangeSink sink, TaskChangeFeed feed,
+                           PlatformTransactionManager transactionManager, OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.feed = feed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Relays batches until the outbox is drained, or another instance is relaying.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.relay-interval:500ms}")
+    public void relay() {
+        List<TaskChangeDto> batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            if (!batch.isEmpty()) {
+                feed.signal(batch.getLast().sequence());
+            }
+        } while (batch.size() == properties.batchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${task.outbox.purge-interval:1h}")
+    public void purge() {
+        outboxRepository.deletePublishedBefore(Instant.now().minus(properties.retention()));
+    }
+
+    private List<TaskChangeDto> relayBatch() {
+        if (!outboxRepository.tryLockRelay()) {
+            return List.of();
+        }
+        List<TaskChangeDto> changes = outboxRepository.claimBatch(properties.batchSize());
+        if (!changes.isEmpty()) {
+            sink.publish(changes);
+        }
+        return changes;
+    }
+}
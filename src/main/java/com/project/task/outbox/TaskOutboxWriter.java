@@ -0,0 +1,31 @@
+package com.project.task.outbox;
+
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.repository.TaskOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records every task change in the outbox, in the transaction that makes the change: either both commit or
+ * neither does.
+ */
+@Component
+public class TaskOutboxWriter {
+
+    private final TaskOutboxRepository outboxRepository;
+
+    private final TaskMapper taskMapper;
+
+    public TaskOutboxWriter(TaskOutboxRepository outboxRepository, TaskMapper taskMapper) {
+        this.outboxRepository = outboxRepository;
+        this.taskMapper = taskMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        outboxRepository.append(event.type(), event.taskId(), event.tenantId(),
+                event.task() == null ? null : taskMapper.toDto(event.task()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.task.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Moves the rows of {@code tasks} into {@code tasks_partitioned} while the application keeps serving, then swaps the
+ * two tables. The V10 migration holds the SQL side: a trigger that repeats every write on the partitioned table, a
+ * function copying one batch, and one doing the swap.
+ * <p>
+ * Each batch is its own short transaction, in id order. An interrupted move runs again from the start on the next
+ * start, skipping rows already copied. Several instances may run it at once: copies are idempotent and only the
+ * first swap does anything.
+ */
+public class TaskPartitionMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPartitionMigrator.class);
+
+    private static final int LOG_INTERVAL = 100;
+
+    private static final int MAX_SWAP_ATTEMPTS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration pause;
+
+    private final Duration swapLockTimeout;
+
+    public TaskPartitionMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 int batchSize, Duration pause, Duration swapLockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.swapLockTimeout = swapLockTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (isDone()) {
+            return;
+        }
+        Thread.ofPlatform().name("task-partition-migrator").daemon().start(() -> {
+            try {
+                migrate();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException exception) {
+                log.error("Moving tasks to the partitioned table failed; it resumes on the next start", exception);
+            }
+        });
+    }
+
+    /**
+     * Returns whether {@code tasks} is already the partitioned table.
+     */
+    boolean isDone() {
+        return jdbcTemplate.queryForObject("select to_regclass('tasks_partitioned') is null", Boolean.class);
+    }
+
+    void migrate() throws InterruptedException {
+        long start = System.nanoTime();
+        log.info("Moving tasks to the partitioned table, {} rows per batch", batchSize);
+
+        UUID after = null;
+        long batches = 0;
+        while (true) {
+            UUID from = after;
+            after = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "select tasks_partitioning_copy(?::uuid, ?)", UUID.class, from, batchSize));
+            if (after == null) {
+                break;
+            }
+            if (++batches % LOG_INTERVAL == 0) {
+                log.info("Copied {} batches of tasks, up to id {}", batches, after);
+            }
+            Thread.sleep(pause);
+        }
+
+        swap();
+        log.info("Moved tasks to the partitioned table in {} ms; drop tasks_unpartitioned once it is no longer needed",
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * The swap needs an exclusive lock on {@code tasks}. Rather than queueing every query behind a long transaction
+     * for it, each attempt gives up after the lock timeout and tries again later.
+     */
+    private void swap() throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("set local lock_timeout = " + swapLockTimeout.toMillis());
+                    jdbcTemplate.execute("select tasks_partitioning_swap()");
+                });
+                return;
+            } catch (DataAccessException exception) {
+                if (attempt == MAX_SWAP_ATTEMPTS) {
+                    throw exception;
+                }
+                log.warn("Swapping in the partitioned tasks table timed out waiting for a lock, attempt {} of {}",
+                        attempt, MAX_SWAP_ATTEMPTS);
+                Thread.sleep(swapLockTimeout);
+            }
+        }
+    }
+}
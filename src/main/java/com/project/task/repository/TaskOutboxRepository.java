@@ -0,0 +1,137 @@
+package com.project.task.repository;
+
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.dto.TaskChangeDto;
+import com.project.task.domain.dto.TaskDto;
+import jakarta.annotation.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and writes the {@code task_outbox} table. Plain JDBC, since the relay's claim query has no JPQL equivalent;
+ * statements join the surrounding JPA transaction.
+ */
+@Repository
+public class TaskOutboxRepository {
+
+    private static final String CLAIM_SQL = """
+            with batch as (
+                select id from task_outbox
+                where published_at is null
+                order by id
+                limit ?
+                for update skip locked
+            ), numbered as (
+                select id, nextval('task_outbox_seq') as seq
+                from (select id from batch order by id) ordered
+            )
+            update task_outbox o
+            set seq = n.seq, published_at = now()
+            from numbered n
+            where o.id = n.id
+            returning o.seq, o.task_id, o.tenant_id, o.type, o.payload, o.created_at
+            """;
+
+    private static final String PURGE_SQL = """
+            with deleted as (
+                delete from task_outbox
+                where published_at < ?
+                returning seq
+            )
+            update task_outbox_purge
+            set purged_through = greatest(purged_through, coalesce((select max(seq) from deleted), 0))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final RowMapper<TaskChangeDto> changeMapper;
+
+    public TaskOutboxRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.changeMapper = (resultSet, rowNum) -> {
+            String payload = resultSet.getString("payload");
+            return new TaskChangeDto(
+                    resultSet.getLong("seq"),
+                    resultSet.getObject("task_id", UUID.class),
+                    resultSet.getString("tenant_id"),
+                    TaskChangedEvent.Type.valueOf(resultSet.getString("type")),
+                    payload == null ? null : objectMapper.readValue(payload, TaskDto.class),
+                    resultSet.getTimestamp("created_at").toInstant());
+        };
+    }
+
+    public void append(TaskChangedEvent.Type type, UUID taskId, String tenantId, @Nullable TaskDto task) {
+        jdbcTemplate.update("insert into task_outbox (task_id, tenant_id, type, payload) values (?, ?, ?, ?)",
+                taskId, tenantId, type.name(), task == null ? null : objectMapper.writeValueAsString(task));
+    }
+
+    /**
+     * Takes the transaction-scoped relay lock, so that only one relay assigns sequence numbers at a time.
+     *
+     * @return {@code false} when another relay holds it
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(hashtext('task_outbox_relay'))", Boolean.class));
+    }
+
+    /**
+     * Marks up to {@code limit} unpublished changes, oldest first, as published and numbers them. Must run in the
+     * transaction that publishes them, so a failed publish leaves them unpublished.
+     */
+    public List<TaskChangeDto> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, changeMapper, limit).stream()
+                .sorted(Comparator.comparingLong(TaskChangeDto::sequence))
+                .toList();
+    }
+
+    /**
+     * Returns one tenant's published changes after {@code sequence}. Sequence numbers are shared by all tenants, so
+     * a tenant's changes are numbered with gaps.
+     */
+    public List<TaskChangeDto> findPublishedAfter(String tenantId, long sequence, int limit) {
+        return jdbcTemplate.query("""
+                select seq, task_id, tenant_id, type, payload, created_at
+                from task_outbox
+                where tenant_id = ? and seq > ?
+                order by seq
+                limit ?
+                """, changeMapper, tenantId, sequence, limit);
+    }
+
+    /**
+     * Returns the latest sequence number published, or the highest purged one once all of those are gone.
+     */
+    public long latestSequence() {
+        return jdbcTemplate.queryForObject("""
+                select greatest(coalesce(max(seq), 0), (select purged_through from task_outbox_purge))
+                from task_outbox
+                """, Long.class);
+    }
+
+    /**
+     * Returns the highest sequence number purged so far. Changes after it are all still stored.
+     */
+    public long purgedThrough() {
+        return jdbcTemplate.queryForObject("select purged_through from task_outbox_purge", Long.class);
+    }
+
+    /**
+     * Deletes the changes published before {@code cutoff} and raises {@link #purgedThrough()} past them, in one
+     * statement so that readers never see the changes gone before the mark has moved.
+     */
+    public void deletePublishedBefore(Instant cutoff) {
+        jdbcTemplate.update(PURGE_SQL, Timestamp.from(cutoff));
+    }
+}
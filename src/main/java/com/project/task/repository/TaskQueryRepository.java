@@ -0,0 +1,129 @@
+package com.project.task.repository;
+
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Every method only sees and changes the tasks of the current thread's tenant, except {@link #insertMissing} and
+ * {@link #expireLeases}, which work across tenants.
+ */
+public interface TaskQueryRepository {
+
+    /**
+     * Returns up to {@code limit} tasks matching the filter whose id is strictly greater than {@code after},
+     * ordered by id. Seeking on the primary key keeps the cost of every page constant, unlike OFFSET paging.
+     * <p>
+     * Rows are selected straight into {@link TaskDto}s, so no entity is hydrated, snapshotted or kept in the
+     * persistence context.
+     */
+    List<TaskDto> findPage(TaskFilter filter, UUID after, int limit);
+
+    /**
+     * Returns up to {@code limit} tasks matching the full-text {@code query}, best matches first, skipping the
+     * first {@code offset}. Title matches rank above description matches.
+     *
+     * @param prefix when {@code true}, every word of the query matches any term it is a prefix of, and all words
+     *               must match; otherwise the query is read with web search syntax ({@code "quoted phrases"},
+     *               {@code or}, {@code -excluded})
+     */
+    List<TaskDto> search(String query, boolean prefix, int offset, int limit);
+
+    /**
+     * Returns up to {@code limit} tasks changed after {@code since} and before {@code before}, tombstones included,
+     * in watermark order. Without a watermark, returns live tasks only.
+     */
+    List<TaskRevision> findChangedSince(@Nullable SyncWatermark since, Instant before, int limit);
+
+    /**
+     * Returns the time by the database clock that stamps {@code updated_at}. On a replica, that is the time of the
+     * last change it replayed: changes up to then are the ones it can return.
+     */
+    Instant currentTimestamp();
+
+    /**
+     * Inserts new tasks in one statement, each for the tenant it was created for, skipping ids that already exist,
+     * tombstones included, so replaying a batch is harmless. Bypasses the persistence context: the tasks stay
+     * unmanaged.
+     *
+     * @return the ids that were inserted
+     */
+    List<UUID> insertMissing(List<Task> tasks);
+
+    /**
+     * Overwrites a live task in one UPDATE statement, without loading it first. A task can stay {@code IN_PROGRESS}
+     * but not be moved there; one moved out of it loses its lease.
+     *
+     * @return the task's category before the update and its new version, empty when the task does not exist or
+     * would be moved to {@code IN_PROGRESS}
+     */
+    Optional<TaskTransition> updateById(UUID id, String title, String description, TaskStatus status,
+                                        TaskPriority priority);
+
+    /**
+     * Overwrites a live task in one UPDATE statement only if it is still at {@code version}.
+     *
+     * @return the task's category before the update and its new version, empty when the task does not exist,
+     * has a different version or would be moved to {@code IN_PROGRESS}
+     */
+    Optional<TaskTransition> updateByIdAndVersion(UUID id, long version, String title, String description,
+                                                  TaskStatus status, TaskPriority priority);
+
+    /**
+     * Turns a live task into a tombstone in one UPDATE statement, so delta sync can report the deletion.
+     *
+     * @return the task's category and new version, empty when the task does not exist
+     */
+    Optional<TaskTransition> softDeleteById(UUID id);
+
+    /**
+     * Turns every listed live task into a tombstone in one UPDATE statement. Unknown ids are skipped.
+     *
+     * @return the category and new version of each deleted task
+     */
+    List<TaskTransition> softDeleteAllById(Collection<UUID> ids);
+
+    /**
+     * Moves up to {@code limit} open tasks, highest priority first and oldest first within a priority, to
+     * {@code IN_PROGRESS} and leases them to {@code owner}. Rows locked by concurrent claims are skipped rather than
+     * waited for, so workers claiming at the same time get disjoint tasks and never block each other.
+     *
+     * @return the claimed tasks, in claim order; fewer than {@code limit}, possibly none, when open tasks run out
+     */
+    List<TaskLease> claim(String owner, int limit, Duration leaseDuration);
+
+    /**
+     * Extends the lease on a task {@code owner} still holds to {@code leaseDuration} from now. Leaves the task's
+     * version alone: the lease is not part of the task clients see.
+     *
+     * @return the renewed lease, empty when the task is not in progress under {@code owner}
+     */
+    Optional<TaskLease> renewLease(UUID id, String owner, Duration leaseDuration);
+
+    /**
+     * Ends the lease on a task {@code owner} still holds and moves the task to {@code status}.
+     *
+     * @return the task as of the update, empty when the task is not in progress under {@code owner}
+     */
+    Optional<Task> endLease(UUID id, String owner, TaskStatus status);
+
+    /**
+     * Moves up to {@code limit} in-progress tasks of any tenant whose lease has expired back to {@code OPEN},
+     * skipping rows locked by concurrent statements.
+     *
+     * @return the reopened tasks
+     */
+    List<Task> expireLeases(int limit);
+}
@@ -0,0 +1,467 @@
+package com.project.task.repository;
+
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate restricts the criteria query to the session's tenant. The native statements don't go through that, so
+ * each one scoped to a tenant takes {@link TenantContext#require()} as its {@code :tenant} parameter, and refuses
+ * to run on a thread bound to no tenant rather than guess one.
+ */
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    /**
+     * Must stay identical to the expression of {@code idx_tasks_search} (V3 migration), or the index won't be used.
+     */
+    private static final String SEARCH_VECTOR = """
+            (setweight(to_tsvector('english', coalesce(t.title, '')), 'A') \
+            || setweight(to_tsvector('english', coalesce(t.description, '')), 'B'))""";
+
+    private static final String SEARCH_SQL = """
+            select t.id, t.title, t.description, t.priority, t.status, t.version
+            from tasks t, %s('english', :query) q
+            where %s @@ q and t.tenant_id = :tenant and t.deleted_at is null
+            order by ts_rank_cd(%s, q) desc, t.id
+            offset :offset
+            limit :limit
+            """;
+
+    private static final String WEB_SEARCH_SQL =
+            SEARCH_SQL.formatted("websearch_to_tsquery", SEARCH_VECTOR, SEARCH_VECTOR);
+
+    private static final String PREFIX_SEARCH_SQL =
+            SEARCH_SQL.formatted("to_tsquery", SEARCH_VECTOR, SEARCH_VECTOR);
+
+    // Timestamps are read as epoch microseconds, which avoids depending on how the driver maps timestamptz.
+    private static final String REVISION_COLUMNS = """
+            select t.id, t.title, t.description, t.priority, t.status, t.version,
+                (extract(epoch from t.updated_at) * 1000000)::bigint as updated_micros,
+                t.deleted_at is not null as deleted
+            from tasks t
+            """;
+
+    private static final String CHANGED_SINCE_SQL = REVISION_COLUMNS + """
+            where t.tenant_id = :tenant and (t.updated_at, t.id) > (:since, :sinceId) and t.updated_at < :before
+            order by t.updated_at, t.id
+            limit :limit
+            """;
+
+    private static final String LIVE_SQL = REVISION_COLUMNS + """
+            where t.tenant_id = :tenant and t.deleted_at is null and t.updated_at < :before
+            order by t.updated_at, t.id
+            limit :limit
+            """;
+
+    // A replica has only seen the primary's changes up to the last one it replayed, stamped by the primary's clock.
+    private static final String CURRENT_TIMESTAMP_SQL = """
+            select (extract(epoch from case when pg_is_in_recovery()
+                then coalesce(pg_last_xact_replay_timestamp(), now()) else now() end) * 1000000)::bigint
+            """;
+
+    // One statement per batch however many rows it holds; arrays keep the parameter count fixed.
+    private static final String INSERT_MISSING_SQL = """
+            insert into tasks (id, tenant_id, title, description, priority, status, version)
+            select id, tenant_id, title, description, priority, 'OPEN', 0
+            from unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                as t(id, tenant_id, title, description, priority)
+            on conflict (id) do nothing
+            returning id
+            """;
+
+    // The CTE locks the row and keeps its values from before the update, which RETURNING alone can't see. Only a
+    // claim moves a task to IN_PROGRESS, and a task leaving IN_PROGRESS gives up its lease.
+    private static final String UPDATE_SQL = """
+            with previous as (
+                select id, status, priority
+                from tasks
+                where id = :id and tenant_id = :tenant and deleted_at is null%s
+                for update
+            )
+            update tasks t
+            set title = :title, description = :description, status = :status, priority = :priority,
+                lease_owner = case when :status = 'IN_PROGRESS' then t.lease_owner end,
+                lease_expires_at = case when :status = 'IN_PROGRESS' then t.lease_expires_at end,
+                version = t.version + 1, updated_at = now()
+            from previous p
+            where t.id = p.id and (:status <> 'IN_PROGRESS' or p.status = 'IN_PROGRESS')
+            returning t.id, t.tenant_id, p.status, p.priority, t.version
+            """;
+
+    private static final String UPDATE_BY_ID_SQL = UPDATE_SQL.formatted("");
+
+    private static final String UPDATE_BY_ID_AND_VERSION_SQL = UPDATE_SQL.formatted(" and version = :version");
+
+    // Deleting leaves status and priority alone, so RETURNING sees the values from before.
+    private static final String SOFT_DELETE_SQL = """
+            update tasks t
+            set deleted_at = now(), updated_at = now(), version = t.version + 1
+            where t.id in (:ids) and t.tenant_id = :tenant and t.deleted_at is null
+            returning t.id, t.tenant_id, t.status, t.priority, t.version
+            """;
+
+    /**
+     * Must stay identical to the expression of {@code idx_tasks_tenant_claim} (V12 migration), or the index won't be
+     * used.
+     */
+    private static final String PRIORITY_RANK = "(case priority when 'HIGH' then 0 when 'MEDIUM' then 1 else 2 end)";
+
+    private static final String LEASE_COLUMNS = """
+            t.id, t.tenant_id, t.title, t.description, t.priority, t.status, t.version, t.lease_owner,
+                (extract(epoch from t.lease_expires_at) * 1000000)::bigint as lease_expires_micros""";
+
+    private static final String TASK_COLUMNS =
+            "t.id, t.tenant_id, t.title, t.description, t.priority, t.status, t.version";
+
+    // SKIP LOCKED lets concurrent claims walk past each other's rows instead of queueing on the head of the index.
+    private static final String CLAIM_SQL = """
+            with claimable as (
+                select id
+                from tasks
+                where tenant_id = :tenant and status = 'OPEN' and deleted_at is null
+                order by %s, id
+                limit :limit
+                for update skip locked
+            )
+            update tasks t
+            set status = 'IN_PROGRESS', lease_owner = :owner,
+                lease_expires_at = now() + :leaseMillis * interval '1 millisecond',
+                version = t.version + 1, updated_at = now()
+            from claimable c
+            where t.id = c.id
+            returning %s
+            """.formatted(PRIORITY_RANK, LEASE_COLUMNS);
+
+    private static final String RENEW_LEASE_SQL = """
+            update tasks t
+            set lease_expires_at = now() + :leaseMillis * interval '1 millisecond'
+            where t.id = :id and t.tenant_id = :tenant and t.status = 'IN_PROGRESS' and t.lease_owner = :owner
+                and t.deleted_at is null
+            returning %s
+            """.formatted(LEASE_COLUMNS);
+
+    private static final String END_LEASE_SQL = """
+            update tasks t
+            set status = :status, lease_owner = null, lease_expires_at = null,
+                version = t.version + 1, updated_at = now()
+            where t.id = :id and t.tenant_id = :tenant and t.status = 'IN_PROGRESS' and t.lease_owner = :owner
+                and t.deleted_at is null
+            returning %s
+            """.formatted(TASK_COLUMNS);
+
+    private static final String EXPIRE_LEASES_SQL = """
+            with expired as (
+                select id
+                from tasks
+                where status = 'IN_PROGRESS' and deleted_at is null and lease_expires_at < now()
+                limit :limit
+                for update skip locked
+            )
+            update tasks t
+            set status = 'OPEN', lease_owner = null, lease_expires_at = null,
+                version = t.version + 1, updated_at = now()
+            from expired e
+            where t.id = e.id
+            returning %s
+            """.formatted(TASK_COLUMNS);
+
+    private static final Comparator<TaskLease> CLAIM_ORDER = Comparator
+            .comparing((TaskLease lease) -> lease.task().getPriority())
+            .thenComparing(lease -> lease.task().getId());
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EntityManager entityManager;
+
+    TaskQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskDto> findPage(TaskFilter filter, UUID after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDto> query = cb.createQuery(TaskDto.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(cb.construct(TaskDto.class,
+                        task.get("id"),
+                        task.get("title"),
+                        task.get("description"),
+                        task.get("priority"),
+                        task.get("status"),
+                        task.get("version")))
+                .where(pagePredicates(cb, task, filter, after))
+                .orderBy(cb.asc(task.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskDto> search(String query, boolean prefix, int offset, int limit) {
+        String tsQuery = prefix ? prefixQuery(query) : query;
+        if (tsQuery.isBlank()) {
+            return List.of();
+        }
+
+        List<Tuple> rows = entityManager.createNativeQuery(prefix ? PREFIX_SEARCH_SQL : WEB_SEARCH_SQL, Tuple.class)
+                .setParameter("query", tsQuery)
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(TaskQueryRepositoryImpl::toDto).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskRevision> findChangedSince(SyncWatermark since, Instant before, int limit) {
+        Query query = since == null
+                ? entityManager.createNativeQuery(LIVE_SQL, Tuple.class)
+                : entityManager.createNativeQuery(CHANGED_SINCE_SQL, Tuple.class)
+                        .setParameter("since", since.updatedAt())
+                        .setParameter("sinceId", since.id());
+        List<Tuple> rows = query
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("before", before)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TaskRevision(
+                        toDto(row),
+                        Instant.EPOCH.plus(row.get("updated_micros", Number.class).longValue(), ChronoUnit.MICROS),
+                        row.get("deleted", Boolean.class)))
+                .toList();
+    }
+
+    @Override
+    public Instant currentTimestamp() {
+        Number micros = (Number) entityManager.createNativeQuery(CURRENT_TIMESTAMP_SQL).getSingleResult();
+        return Instant.EPOCH.plus(micros.longValue(), ChronoUnit.MICROS);
+    }
+
+    @Override
+    public List<UUID> insertMissing(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int size = tasks.size();
+            UUID[] ids = new UUID[size];
+            String[] tenantIds = new String[size];
+            String[] titles = new String[size];
+            String[] descriptions = new String[size];
+            String[] priorities = new String[size];
+            for (int i = 0; i < size; i++) {
+                Task task = tasks.get(i);
+                ids[i] = task.getId();
+                tenantIds[i] = task.getTenantId();
+                titles[i] = task.getTitle();
+                descriptions[i] = task.getDescription();
+                priorities[i] = task.getPriority().name();
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_MISSING_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", ids));
+                statement.setArray(2, connection.createArrayOf("varchar", tenantIds));
+                statement.setArray(3, connection.createArrayOf("varchar", titles));
+                statement.setArray(4, connection.createArrayOf("varchar", descriptions));
+                statement.setArray(5, connection.createArrayOf("varchar", priorities));
+                List<UUID> inserted = new ArrayList<>(size);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        inserted.add(resultSet.getObject(1, UUID.class));
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+
+    @Override
+    public Optional<TaskTransition> updateById(UUID id, String title, String description, TaskStatus status,
+                                               TaskPriority priority) {
+        Query query = entityManager.createNativeQuery(UPDATE_BY_ID_SQL, Tuple.class);
+        return update(query, id, title, description, status, priority);
+    }
+
+    @Override
+    public Optional<TaskTransition> updateByIdAndVersion(UUID id, long version, String title, String description,
+                                                         TaskStatus status, TaskPriority priority) {
+        Query query = entityManager.createNativeQuery(UPDATE_BY_ID_AND_VERSION_SQL, Tuple.class)
+                .setParameter("version", version);
+        return update(query, id, title, description, status, priority);
+    }
+
+    @Override
+    public Optional<TaskTransition> softDeleteById(UUID id) {
+        return softDeleteAllById(List.of(id)).stream().findFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskTransition> softDeleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Tuple> rows = entityManager.createNativeQuery(SOFT_DELETE_SQL, Tuple.class)
+                .setParameter("ids", ids)
+                .setParameter("tenant", TenantContext.require())
+                .getResultList();
+        return rows.stream().map(TaskQueryRepositoryImpl::toTransition).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskLease> claim(String owner, int limit, Duration leaseDuration) {
+        List<Tuple> rows = entityManager.createNativeQuery(CLAIM_SQL, Tuple.class)
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("owner", owner)
+                .setParameter("limit", limit)
+                .setParameter("leaseMillis", leaseDuration.toMillis())
+                .getResultList();
+        // RETURNING doesn't keep the order of the CTE.
+        return rows.stream().map(TaskQueryRepositoryImpl::toLease).sorted(CLAIM_ORDER).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<TaskLease> renewLease(UUID id, String owner, Duration leaseDuration) {
+        List<Tuple> rows = entityManager.createNativeQuery(RENEW_LEASE_SQL, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("owner", owner)
+                .setParameter("leaseMillis", leaseDuration.toMillis())
+                .getResultList();
+        return rows.stream().findFirst().map(TaskQueryRepositoryImpl::toLease);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Task> endLease(UUID id, String owner, TaskStatus status) {
+        List<Tuple> rows = entityManager.createNativeQuery(END_LEASE_SQL, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("owner", owner)
+                .setParameter("status", status.name())
+                .getResultList();
+        return rows.stream().findFirst().map(TaskQueryRepositoryImpl::toTask);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> expireLeases(int limit) {
+        List<Tuple> rows = entityManager.createNativeQuery(EXPIRE_LEASES_SQL, Tuple.class)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(TaskQueryRepositoryImpl::toTask).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<TaskTransition> update(Query query, UUID id, String title, String description,
+                                                   TaskStatus status, TaskPriority priority) {
+        List<Tuple> rows = query
+                .setParameter("id", id)
+                .setParameter("tenant", TenantContext.require())
+                .setParameter("title", title)
+                .setParameter("description", description)
+                .setParameter("status", status.name())
+                .setParameter("priority", priority.name())
+                .getResultList();
+        return rows.stream().findFirst().map(TaskQueryRepositoryImpl::toTransition);
+    }
+
+    private static TaskTransition toTransition(Tuple row) {
+        return new TaskTransition(
+                row.get("id", UUID.class),
+                row.get("tenant_id", String.class),
+                new TaskCategory(
+                        TaskStatus.valueOf(row.get("status", String.class)),
+                        TaskPriority.valueOf(row.get("priority", String.class))),
+                row.get("version", Number.class).longValue());
+    }
+
+    private static TaskLease toLease(Tuple row) {
+        return new TaskLease(
+                toTask(row),
+                row.get("lease_owner", String.class),
+                Instant.EPOCH.plus(row.get("lease_expires_micros", Number.class).longValue(), ChronoUnit.MICROS));
+    }
+
+    private static Task toTask(Tuple row) {
+        return Task.restore(
+                row.get("id", UUID.class),
+                row.get("tenant_id", String.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                TaskPriority.valueOf(row.get("priority", String.class)),
+                row.get("version", Number.class).longValue());
+    }
+
+    private static TaskDto toDto(Tuple row) {
+        return new TaskDto(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskPriority.valueOf(row.get("priority", String.class)),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Number.class).longValue());
+    }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression where every word is a prefix and all words must match.
+     * Anything but letters and digits is dropped, so user input can't inject tsquery operators.
+     */
+    private static String prefixQuery(String text) {
+        return Arrays.stream(NON_WORD.split(text))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static Predicate[] pagePredicates(CriteriaBuilder cb, Root<Task> task, TaskFilter filter, UUID after) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        if (after != null) {
+            predicates.add(cb.greaterThan(task.<UUID>get("id"), after));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -1,12 +1,38 @@
 package com.project.task.repository;
 
 import com.project.task.domain.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskQueryRepository {
 
+    /**
+     * Streams every task through a server-side cursor. Must be consumed inside a transaction and closed afterwards;
+     * the PostgreSQL driver only honours the fetch size when auto-commit is off.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllByOrderById();
+
+    /**
+     * Removes tombstones deleted before {@code cutoff} for good. Native, since tombstones are invisible to JPQL.
+     *
+     * @return the number of removed rows
+     */
+    @Modifying
+    @Query(value = "delete from tasks where deleted_at < :cutoff", nativeQuery = true)
+    int purgeDeletedBefore(Instant cutoff);
 }
@@ -0,0 +1,19 @@
+package com.project.task.repository;
+
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.dto.TaskDto;
+
+import java.time.Instant;
+
+/**
+ * A task as of its last change, tombstones included.
+ */
+public record TaskRevision(
+        TaskDto task,
+        Instant updatedAt,
+        boolean deleted
+) {
+    public SyncWatermark watermark() {
+        return new SyncWatermark(updatedAt, task.id());
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.task.repository;
+
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the {@code task_stats} summary table, which holds a count per tenant, status, priority and epoch
+ * (V13 migration). A count is the sum over its epochs: the recount of the last reconciled epoch plus the changes of
+ * later epochs flushed since.
+ */
+@Repository
+public class TaskStatsRepository {
+
+    private static final String ADD_SQL = """
+            insert into task_stats (tenant_id, status, priority, epoch, count) values (?, ?, ?, ?, ?)
+            on conflict (tenant_id, status, priority, epoch) do update set count = task_stats.count + excluded.count
+            """;
+
+    // Walks idx_tasks_tenant_status_priority_id. Too slow to run per request on a large table.
+    private static final String RECOUNT_SQL = """
+            select tenant_id, status, priority, count(*) as count
+            from tasks
+            where deleted_at is null
+            group by tenant_id, status, priority
+            """;
+
+    private static final String EPOCH_LOCK = "hashtext('task_stats_epoch')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<Key, Long> findAll() {
+        Map<Key, Long> counts = new HashMap<>();
+        jdbcTemplate.query("""
+                select tenant_id, status, priority, sum(count) as count
+                from task_stats
+                group by tenant_id, status, priority
+                """, resultSet -> {
+            counts.put(key(resultSet), resultSet.getLong("count"));
+        });
+        return counts;
+    }
+
+    /**
+     * Returns the epoch the changes of the current transaction belong to. Until the transaction ends, no recount
+     * can start the next epoch, so a recount either includes all of the changes or none of them; call it right
+     * before the commit.
+     */
+    public long joinEpoch() {
+        return jdbcTemplate.queryForObject("select task_stats_join_epoch()", Long.class);
+    }
+
+    /**
+     * Returns the last reconciled epoch, and holds off {@link #replaceAll} until the current transaction ends.
+     */
+    public long lockReconciledEpoch() {
+        return jdbcTemplate.queryForObject("select reconciled_epoch from task_stats_epoch for share", Long.class);
+    }
+
+    /**
+     * Adds each delta to its count in the given epoch. Callers pass epochs, then keys, in a fixed order, so
+     * concurrent writers lock rows in the same order and can't deadlock.
+     */
+    public void add(long epoch, List<Map.Entry<Key, Long>> deltas) {
+        jdbcTemplate.batchUpdate(ADD_SQL, deltas, deltas.size(), (statement, delta) -> {
+            statement.setString(1, delta.getKey().tenantId());
+            statement.setString(2, delta.getKey().category().status().name());
+            statement.setString(3, delta.getKey().category().priority().name());
+            statement.setLong(4, epoch);
+            statement.setLong(5, delta.getValue());
+        });
+    }
+
+    /**
+     * Moves on to the next epoch and counts the live tasks, returning the epoch it left: the count includes every
+     * change of that epoch and the ones before, and none of later ones.
+     * <p>
+     * Moving on waits for the transactions that joined the current epoch to commit and holds back new ones (see
+     * {@link #joinEpoch()}), but only until the count's snapshot is taken, not for the count itself. Runs on a
+     * connection of its own, so it must not be called in a transaction.
+     */
+    public Recount recount() {
+        return jdbcTemplate.execute((ConnectionCallback<Recount>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("select pg_advisory_lock(" + EPOCH_LOCK + ")");
+                long epoch;
+                try {
+                    epoch = queryForLong(statement,
+                            "update task_stats_epoch set epoch = epoch + 1 returning epoch - 1");
+                    connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                    connection.setAutoCommit(false);
+                    // Takes the snapshot the count reads from, before the next epoch's commits are let through.
+                    statement.execute("select pg_current_snapshot()");
+                } catch (SQLException | RuntimeException exception) {
+                    if (!connection.getAutoCommit()) {
+                        connection.rollback();
+                    }
+                    statement.execute("select pg_advisory_unlock(" + EPOCH_LOCK + ")");
+                    throw exception;
+                }
+                statement.execute("select pg_advisory_unlock(" + EPOCH_LOCK + ")");
+
+                Map<Key, Long> counts = new HashMap<>();
+                try (ResultSet resultSet = statement.executeQuery(RECOUNT_SQL)) {
+                    while (resultSet.next()) {
+                        counts.put(key(resultSet), resultSet.getLong("count"));
+                    }
+                }
+                connection.commit();
+                return new Recount(epoch, counts);
+            } finally {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(autoCommit);
+                connection.setTransactionIsolation(isolation);
+            }
+        });
+    }
+
+    /**
+     * Replaces the counts of {@code recount}'s epoch and the ones before with the recount, unless a later recount
+     * already has.
+     *
+     * @return whether the counts were replaced
+     */
+    public boolean replaceAll(Recount recount) {
+        long epoch = recount.epoch();
+        if (jdbcTemplate.update("update task_stats_epoch set reconciled_epoch = ? where reconciled_epoch < ?",
+                epoch, epoch) == 0) {
+            return false;
+        }
+        jdbcTemplate.update("delete from task_stats where epoch <= ?", epoch);
+        List<Map.Entry<Key, Long>> rows = List.copyOf(recount.counts().entrySet());
+        add(epoch, rows);
+        return true;
+    }
+
+    private static long queryForLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static Key key(ResultSet resultSet) throws SQLException {
+        return new Key(
+                resultSet.getString("tenant_id"),
+                new TaskCategory(
+                        TaskStatus.valueOf(resultSet.getString("status")),
+                        TaskPriority.valueOf(resultSet.getString("priority"))));
+    }
+
+    /**
+     * Identifies one count: a tenant's tasks of one category.
+     */
+    public record Key(
+            String tenantId,
+            TaskCategory category
+    ) {
+    }
+
+    /**
+     * The live tasks counted when {@link #recount()} left {@code epoch}.
+     */
+    public record Recount(
+            long epoch,
+            Map<Key, Long> counts
+    ) {
+    }
+}
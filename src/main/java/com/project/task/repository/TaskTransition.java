@@ -0,0 +1,17 @@
+package com.project.task.repository;
+
+import com.project.task.domain.TaskCategory;
+
+import java.util.UUID;
+
+/**
+ * What a bulk UPDATE statement reveals about a task it changed: its category before the change and its new
+ * version.
+ */
+public record TaskTransition(
+        UUID id,
+        String tenantId,
+        TaskCategory previous,
+        long version
+) {
+}
@@ -0,0 +1,12 @@
+package com.project.task.search;
+
+import com.project.task.domain.dto.TaskDto;
+
+/**
+ * A task as the index holds it, together with the tenant it belongs to.
+ */
+record IndexedTask(
+        String tenantId,
+        TaskDto task
+) {
+}
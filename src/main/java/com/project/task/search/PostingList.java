@@ -0,0 +1,64 @@
+package com.project.task.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Ascending list of document ids, stored as a growable primitive array. Ids must be appended in increasing order,
+ * which holds because the index never reuses or reorders document ids between compactions.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docIds = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    void add(int docId) {
+        ensureCapacity(size + 1);
+        docIds[size++] = docId;
+    }
+
+    /**
+     * Appends every id of {@code other}, shifted by {@code offset}.
+     */
+    void addAll(PostingList other, int offset) {
+        ensureCapacity(size + other.size);
+        for (int i = 0; i < other.size; i++) {
+            docIds[size++] = other.docIds[i] + offset;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docIds[index];
+    }
+
+    boolean contains(int docId) {
+        return Arrays.binarySearch(docIds, 0, size, docId) >= 0;
+    }
+
+    /**
+     * Drops the ids that are not set in {@code live} and renumbers the others through {@code newDocIds}.
+     */
+    void compact(BitSet live, int[] newDocIds) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (live.get(docIds[i])) {
+                docIds[kept++] = newDocIds[docIds[i]];
+            }
+        }
+        size = kept;
+        docIds = Arrays.copyOf(docIds, Math.max(kept, INITIAL_CAPACITY));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docIds.length) {
+            docIds = Arrays.copyOf(docIds, Math.max(capacity, docIds.length + (docIds.length >> 1)));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.task.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of tasks tokenized independently of the index, with document ids local to the batch. Segments are built
+ * in parallel during a rebuild and then appended to the index one after the other.
+ */
+final class Segment {
+
+    private final List<IndexedTask> tasks;
+
+    private final Map<String, PostingList> postings;
+
+    private Segment(List<IndexedTask> tasks, Map<String, PostingList> postings) {
+        this.tasks = tasks;
+        this.postings = postings;
+    }
+
+    static Segment of(List<IndexedTask> tasks) {
+        Map<String, PostingList> postings = new HashMap<>();
+        for (int docId = 0; docId < tasks.size(); docId++) {
+            for (String term : Tokenizer.terms(tasks.get(docId).task())) {
+                postings.computeIfAbsent(term, ignored -> new PostingList()).add(docId);
+            }
+        }
+        return new Segment(tasks, postings);
+    }
+
+    List<IndexedTask> tasks() {
+        return tasks;
+    }
+
+    Map<String, PostingList> postings() {
+        return postings;
+    }
+}
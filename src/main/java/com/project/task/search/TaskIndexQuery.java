@@ -0,0 +1,22 @@
+package com.project.task.search;
+
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import jakarta.annotation.Nullable;
+
+/**
+ * A query against the in-memory index, over the tasks of one tenant. Words in {@code text} must all match, and
+ * {@code OR} (upper case) separates alternatives: {@code invoice customer OR billing} finds tasks with both
+ * "invoice" and "customer", or with "billing".
+ */
+public record TaskIndexQuery(
+        String tenantId,
+        String text,
+        @Nullable
+        TaskStatus status,
+        @Nullable
+        TaskPriority priority,
+        int offset,
+        int limit
+) {
+}
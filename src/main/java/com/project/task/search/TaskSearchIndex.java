@@ -0,0 +1,387 @@
+package com.project.task.search;
+
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskIndexSearchResultDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.SearchIndexNotReadyException;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * <p>
+ * Every indexed task version gets a new, increasing document id, so posting lists are only ever appended to. An
+ * update marks the previous document dead in {@code live} instead of rewriting postings; once dead documents
+ * outnumber live ones, {@link #compact()} drops them and renumbers the rest. Status and priority facets are bit
+ * sets over the same document ids, and so is each tenant's set of documents, which every search is restricted to.
+ * <p>
+ * The index starts empty and not ready. Changes that arrive while it is being loaded are held back and applied
+ * once {@link #markReady()} is called, so they win over the rows read during the load, unless those are newer.
+ * <p>
+ * A deleted task leaves a tombstone with the version the delete gave it, so an update of it delivered after the
+ * delete can't bring it back. Tombstones are kept for good, like the soft-deleted rows themselves.
+ */
+public class TaskSearchIndex {
+
+    private static final String OR = "OR";
+
+    private static final int MIN_DEAD_DOCS_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<UUID, Integer> docIdsByTaskId = new HashMap<>();
+
+    private final BitSet live = new BitSet();
+
+    private final Map<TaskStatus, BitSet> byStatus = new EnumMap<>(TaskStatus.class);
+
+    private final Map<TaskPriority, BitSet> byPriority = new EnumMap<>(TaskPriority.class);
+
+    private final Map<String, BitSet> byTenant = new HashMap<>();
+
+    /**
+     * Upserts received before the index is ready, latest per task. Deletions go to {@code tombstones} straight away.
+     */
+    private final Map<UUID, IndexedTask> pendingChanges = new LinkedHashMap<>();
+
+    /**
+     * The version each deleted task was deleted at.
+     */
+    private final Map<UUID, Long> tombstones = new HashMap<>();
+
+    private IndexedTask[] docs = new IndexedTask[1024];
+
+    private int nextDocId;
+
+    private boolean ready;
+
+    public TaskSearchIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new BitSet());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new BitSet());
+        }
+    }
+
+    /**
+     * Indexes a task, unless a later version of it is indexed already or it has been deleted since: changes
+     * committed one after the other can still be delivered in the opposite order.
+     */
+    public void upsert(String tenantId, TaskDto task) {
+        lock.writeLock().lock();
+        try {
+            if (isDeleted(task)) {
+                return;
+            }
+            if (!ready) {
+                if (!isOlder(task, pendingChanges.get(task.id()))) {
+                    pendingChanges.put(task.id(), new IndexedTask(tenantId, task));
+                }
+                return;
+            }
+            if (isOlder(task, indexed(task.id()))) {
+                return;
+            }
+            removeDoc(task.id());
+            addDoc(new IndexedTask(tenantId, task));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task deleted at {@code version}, and ignores any version up to it delivered later.
+     */
+    public void remove(UUID taskId, long version) {
+        lock.writeLock().lock();
+        try {
+            tombstones.merge(taskId, version, Math::max);
+            if (!ready) {
+                pendingChanges.remove(taskId);
+                return;
+            }
+            removeDoc(taskId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a segment built by {@link Segment#of}. Used while loading, before the index is ready.
+     */
+    void append(Segment segment) {
+        lock.writeLock().lock();
+        try {
+            int offset = nextDocId;
+            for (IndexedTask task : segment.tasks()) {
+                removeDoc(task.task().id());
+                register(task, nextDocId++);
+            }
+            segment.postings().forEach((term, segmentPostings) ->
+                    postings.computeIfAbsent(term, ignored -> new PostingList()).addAll(segmentPostings, offset));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the changes held back during the load and starts serving queries.
+     */
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            ready = true;
+            // Rows read before the delete committed.
+            tombstones.keySet().forEach(this::removeDoc);
+            pendingChanges.forEach((taskId, task) -> {
+                if (isOlder(task.task(), indexed(taskId))) {
+                    return;
+                }
+                removeDoc(taskId);
+                addDoc(task);
+            });
+            pendingChanges.clear();
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByTaskId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the query tenant's matching tasks, most recently indexed first.
+     *
+     * @throws SearchIndexNotReadyException while the index is still being loaded
+     */
+    public TaskIndexSearchResultDto search(TaskIndexQuery query) {
+        List<List<String>> clauses = parse(query.text());
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                throw new SearchIndexNotReadyException();
+            }
+
+            BitSet matches = new BitSet(nextDocId);
+            for (List<String> clause : clauses) {
+                matchAll(clause, matches);
+            }
+            // Postings still reference dead documents until the next compaction.
+            matches.and(live);
+            matches.and(byTenant.getOrDefault(query.tenantId(), new BitSet()));
+
+            Map<TaskStatus, Integer> statusCounts = facetCounts(matches, byStatus, TaskStatus.class);
+            Map<TaskPriority, Integer> priorityCounts = facetCounts(matches, byPriority, TaskPriority.class);
+            if (query.status() != null) {
+                matches.and(byStatus.get(query.status()));
+            }
+            if (query.priority() != null) {
+                matches.and(byPriority.get(query.priority()));
+            }
+
+            List<TaskDto> page = new ArrayList<>(Math.min(query.limit(), 64));
+            int skipped = 0;
+            for (int docId = matches.previousSetBit(nextDocId - 1);
+                 docId >= 0 && page.size() < query.limit();
+                 docId = matches.previousSetBit(docId - 1)) {
+                if (skipped < query.offset()) {
+                    skipped++;
+                } else {
+                    page.add(docs[docId].task());
+                }
+            }
+            return new TaskIndexSearchResultDto(page, matches.cardinality(), statusCounts, priorityCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the query into OR-separated clauses of terms that must all match.
+     */
+    static List<List<String>> parse(String text) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> clause = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (word.equals(OR)) {
+                if (!clause.isEmpty()) {
+                    clauses.add(clause);
+                }
+                clause = new ArrayList<>();
+            } else {
+                clause.addAll(Tokenizer.tokenize(word));
+            }
+        }
+        if (!clause.isEmpty()) {
+            clauses.add(clause);
+        }
+        return clauses;
+    }
+
+    /**
+     * Sets the documents containing every term. Walks the shortest posting list and probes the others.
+     */
+    private void matchAll(List<String> terms, BitSet matches) {
+        List<PostingList> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList shortest = lists.getFirst();
+        candidates:
+        for (int i = 0; i < shortest.size(); i++) {
+            int docId = shortest.get(i);
+            for (int other = 1; other < lists.size(); other++) {
+                if (!lists.get(other).contains(docId)) {
+                    continue candidates;
+                }
+            }
+            matches.set(docId);
+        }
+    }
+
+    private static <K extends Enum<K>> Map<K, Integer> facetCounts(BitSet matches, Map<K, BitSet> facet,
+                                                                  Class<K> type) {
+        Map<K, Integer> counts = new EnumMap<>(type);
+        facet.forEach((value, docIds) -> {
+            BitSet intersection = (BitSet) matches.clone();
+            intersection.and(docIds);
+            counts.put(value, intersection.cardinality());
+        });
+        return counts;
+    }
+
+    @Nullable
+    private IndexedTask indexed(UUID taskId) {
+        Integer docId = docIdsByTaskId.get(taskId);
+        return docId == null ? null : docs[docId];
+    }
+
+    /**
+     * Returns whether {@code task} is an earlier version than {@code indexed}. Versions that aren't known don't
+     * count as earlier.
+     */
+    private static boolean isOlder(TaskDto task, @Nullable IndexedTask indexed) {
+        return indexed != null && task.version() != null && indexed.task().version() != null
+                && task.version() < indexed.task().version();
+    }
+
+    /**
+     * Returns whether {@code task} was deleted at its version or a later one. A deleted task never comes back, so
+     * a version that isn't known counts as deleted.
+     */
+    private boolean isDeleted(TaskDto task) {
+        Long deletedAt = tombstones.get(task.id());
+        return deletedAt != null && (task.version() == null || task.version() <= deletedAt);
+    }
+
+    private void addDoc(IndexedTask task) {
+        int docId = nextDocId++;
+        register(task, docId);
+        for (String term : Tokenizer.terms(task.task())) {
+            postings.computeIfAbsent(term, ignored -> new PostingList()).add(docId);
+        }
+    }
+
+    private void register(IndexedTask task, int docId) {
+        if (docId >= docs.length) {
+            docs = Arrays.copyOf(docs, Math.max(docId + 1, docs.length + (docs.length >> 1)));
+        }
+        docs[docId] = task;
+        docIdsByTaskId.put(task.task().id(), docId);
+        live.set(docId);
+        byStatus.get(task.task().status()).set(docId);
+        byPriority.get(task.task().priority()).set(docId);
+        byTenant.computeIfAbsent(task.tenantId(), ignored -> new BitSet()).set(docId);
+    }
+
+    private void removeDoc(UUID taskId) {
+        Integer docId = docIdsByTaskId.remove(taskId);
+        if (docId != null) {
+            live.clear(docId);
+            docs[docId] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = nextDocId - docIdsByTaskId.size();
+        if (dead >= MIN_DEAD_DOCS_TO_COMPACT && dead > docIdsByTaskId.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops dead documents from every posting list and renumbers the live ones densely, keeping their order.
+     */
+    private void compact() {
+        int[] newDocIds = new int[nextDocId];
+        IndexedTask[] compacted = new IndexedTask[Math.max(docIdsByTaskId.size(), 16)];
+        int liveDocs = 0;
+        for (int docId = live.nextSetBit(0); docId >= 0; docId = live.nextSetBit(docId + 1)) {
+            newDocIds[docId] = liveDocs;
+            compacted[liveDocs++] = docs[docId];
+        }
+
+        for (Iterator<PostingList> iterator = postings.values().iterator(); iterator.hasNext(); ) {
+            PostingList list = iterator.next();
+            list.compact(live, newDocIds);
+            if (list.size() == 0) {
+                iterator.remove();
+            }
+        }
+
+        docs = compacted;
+        nextDocId = 0;
+        docIdsByTaskId.clear();
+        live.clear();
+        byStatus.values().forEach(BitSet::clear);
+        byPriority.values().forEach(BitSet::clear);
+        // Rebuilt from scratch, so tenants without live tasks left drop out.
+        byTenant.clear();
+        for (int docId = 0; docId < liveDocs; docId++) {
+            register(docs[docId], docId);
+            nextDocId++;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.task.search;
+
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Keeps the {@link TaskSearchIndex} in step with the database: loads every task once the application is ready,
+ * then applies each committed change.
+ */
+public class TaskSearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndexer.class);
+
+    private final TaskSearchIndex index;
+
+    private final TaskService taskService;
+
+    private final TaskMapper taskMapper;
+
+    private final int batchSize;
+
+    public TaskSearchIndexer(TaskSearchIndex index, TaskService taskService, TaskMapper taskMapper, int batchSize) {
+        this.index = index;
+        this.taskService = taskService;
+        this.taskMapper = taskMapper;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            index.remove(event.taskId(), event.version());
+        } else {
+            index.upsert(event.tenantId(), taskMapper.toDto(event.task()));
+        }
+    }
+
+    /**
+     * Starts the initial load in the background, so it doesn't hold up startup. Searches are refused until it is
+     * done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofPlatform().name("task-search-index-rebuild").daemon().start(this::rebuild);
+    }
+
+    /**
+     * Streams every task from the database and tokenizes batches in parallel on the common pool, while this thread
+     * keeps reading. Segments are appended in stream order as they complete.
+     */
+    void rebuild() {
+        long start = System.nanoTime();
+        int maxPending = ForkJoinPool.getCommonPoolParallelism() * 2;
+        Deque<CompletableFuture<Segment>> pending = new ArrayDeque<>();
+        List<IndexedTask> batch = new ArrayList<>(batchSize);
+        try {
+            // Runs bound to no tenant, so the export covers every tenant's tasks.
+            taskService.exportTasks(task -> {
+                batch.add(new IndexedTask(task.getTenantId(), taskMapper.toDto(task)));
+                if (batch.size() == batchSize) {
+                    submit(pending, batch);
+                    appendCompleted(pending, maxPending);
+                }
+            });
+            submit(pending, batch);
+            appendCompleted(pending, 0);
+            index.markReady();
+            log.info("Search index built with {} tasks in {}", index.size(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException exception) {
+            log.error("Search index rebuild failed; searches will be refused", exception);
+        }
+    }
+
+    private static void submit(Deque<CompletableFuture<Segment>> pending, List<IndexedTask> batch) {
+        if (!batch.isEmpty()) {
+            List<IndexedTask> tasks = List.copyOf(batch);
+            pending.add(CompletableFuture.supplyAsync(() -> Segment.of(tasks)));
+            batch.clear();
+        }
+    }
+
+    /**
+     * Appends finished segments from the head of the queue, and waits for the head while more than
+     * {@code maxPending} batches are in flight, so the reader can't run arbitrarily far ahead.
+     */
+    private void appendCompleted(Deque<CompletableFuture<Segment>> pending, int maxPending) {
+        while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > maxPending)) {
+            index.append(pending.poll().join());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.task.search;
+
+import com.project.task.domain.dto.TaskDto;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case terms on anything that isn't a letter or a digit. No stemming or stop words, so
+ * queries match whole words exactly.
+ */
+final class Tokenizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Tokenizer() {
+    }
+
+    static Set<String> terms(TaskDto task) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(task.title()));
+        if (task.description() != null) {
+            terms.addAll(tokenize(task.description()));
+        }
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.task.service;
+
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.entity.Task;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands out open tasks to workers, highest priority first. A claimed task is {@code IN_PROGRESS} and leased to
+ * one worker, which completes or releases it, renewing the lease meanwhile if the work takes longer. Tasks whose
+ * lease expires go back to {@code OPEN} for someone else to claim.
+ */
+public interface TaskClaimService {
+
+    /**
+     * Claims up to {@code limit} open tasks for {@code worker}. Concurrent callers never get the same task and
+     * don't wait on each other.
+     *
+     * @return the claimed tasks, highest priority first; empty when no task is open
+     */
+    List<TaskLease> claimTasks(String worker, int limit);
+
+    /**
+     * Extends the lease {@code worker} holds on a task by the lease duration, from now.
+     *
+     * @throws com.project.task.exception.TaskNotFoundException  when the task does not exist
+     * @throws com.project.task.exception.TaskLeaseLostException when {@code worker} no longer holds the task
+     */
+    TaskLease renewLease(UUID taskId, String worker);
+
+    /**
+     * Marks a task {@code worker} holds as complete.
+     *
+     * @throws com.project.task.exception.TaskNotFoundException  when the task does not exist
+     * @throws com.project.task.exception.TaskLeaseLostException when {@code worker} no longer holds the task
+     */
+    Task completeTask(UUID taskId, String worker);
+
+    /**
+     * Gives a task {@code worker} holds back, as open, without waiting for its lease to expire.
+     *
+     * @throws com.project.task.exception.TaskNotFoundException  when the task does not exist
+     * @throws com.project.task.exception.TaskLeaseLostException when {@code worker} no longer holds the task
+     */
+    Task releaseTask(UUID taskId, String worker);
+
+    /**
+     * Reopens one batch of tasks whose lease has expired.
+     *
+     * @return the number of reopened tasks
+     */
+    int expireLeases();
+}
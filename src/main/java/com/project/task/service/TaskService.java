@@ -1,19 +1,63 @@
 package com.project.task.service;
 
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.TaskSearchPage;
 import com.project.task.domain.UpdateTaskRequest;
 import com.project.task.domain.entity.Task;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
     Task createTask(CreateTaskRequest request);
 
-    List<Task> getAllTasks();
+    Task getTask(UUID taskId);
+
+    TaskPage getTasks(TaskFilter filter, UUID after, int limit);
+
+    /**
+     * Full-text search over titles and descriptions, best matches first. {@code page} is zero-based.
+     */
+    TaskSearchPage searchTasks(String query, boolean prefix, int page, int size);
+
+    void exportTasks(Consumer<Task> consumer);
 
     Task updateTask(UUID taskId, UpdateTaskRequest request);
 
+    /**
+     * Updates the task only if it is still at {@code expectedVersion}.
+     *
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException when the task has another version
+     */
+    Task updateTask(UUID taskId, UpdateTaskRequest request, long expectedVersion);
+
     void deleteTask(UUID taskId);
+
+    List<Task> createTasks(List<CreateTaskRequest> requests);
+
+    /**
+     * Writes tasks built ahead of time, e.g. by an ingestion queue, in one statement. Tasks whose id already exists
+     * are skipped, so a batch may safely be written again after a crash.
+     *
+     * @return the tasks that were actually inserted
+     */
+    List<Task> ingestTasks(List<Task> tasks);
+
+    /**
+     * Applies every update in one transaction. Ids that don't exist are left out of the returned map.
+     */
+    Map<UUID, Task> updateTasks(Map<UUID, UpdateTaskRequest> requests);
+
+    /**
+     * Deletes every existing task in one statement and returns the ids that were actually deleted. Like
+     * {@link #deleteTask}, this leaves tombstones behind for delta sync.
+     */
+    Set<UUID> deleteTasks(Collection<UUID> taskIds);
 }
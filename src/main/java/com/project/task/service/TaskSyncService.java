@@ -0,0 +1,24 @@
+package com.project.task.service;
+
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.TaskSyncPage;
+import jakarta.annotation.Nullable;
+
+public interface TaskSyncService {
+
+    /**
+     * Returns up to {@code limit} tasks changed or deleted after {@code since}, and the watermark to pass next
+     * time. Without a watermark, returns live tasks only, as a first download.
+     *
+     * @throws com.project.task.exception.SyncWatermarkExpiredException when tombstones from after {@code since}
+     *                                                                   may already have been purged
+     */
+    TaskSyncPage syncTasks(@Nullable SyncWatermark since, int limit);
+
+    /**
+     * Removes tombstones older than the retention period for good.
+     *
+     * @return the number of removed tombstones
+     */
+    int purgeTombstones();
+}
@@ -0,0 +1,143 @@
+package com.project.task.service.impl;
+
+import com.project.task.config.CacheConfig;
+import com.project.task.config.ClaimProperties;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.TaskLeaseLostException;
+import com.project.task.exception.TaskNotFoundException;
+import com.project.task.repository.TaskRepository;
+import com.project.task.service.TaskClaimService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Timed(value = "task.claims", histogram = true)
+public class TaskClaimServiceImpl implements TaskClaimService {
+
+    private final TaskRepository taskRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    private final Duration leaseDuration;
+
+    private final int sweepBatchSize;
+
+    public TaskClaimServiceImpl(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                                CacheManager cacheManager, ClaimProperties properties) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.leaseDuration = properties.leaseDuration();
+        this.sweepBatchSize = properties.sweepBatchSize();
+    }
+
+    @Override
+    // Idle workers poll with empty claims all the time; those must not drop the pages.
+    @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true, condition = "!#result.isEmpty()")
+    @Transactional
+    public List<TaskLease> claimTasks(String worker, int limit) {
+        List<TaskLease> leases = taskRepository.claim(worker, limit, leaseDuration);
+        leases.forEach(lease -> publishUpdated(lease.task(), TaskStatus.OPEN));
+        evictAfterCommit(leases);
+        return leases;
+    }
+
+    @Override
+    @Transactional
+    public TaskLease renewLease(UUID taskId, String worker) {
+        return taskRepository.renewLease(taskId, worker, leaseDuration)
+                .orElseThrow(() -> leaseNotHeld(taskId, worker));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
+    public Task completeTask(UUID taskId, String worker) {
+        return endLease(taskId, worker, TaskStatus.COMPLETE);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
+    public Task releaseTask(UUID taskId, String worker) {
+        return endLease(taskId, worker, TaskStatus.OPEN);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${task.claims.sweep-interval:10s}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true, condition = "#result > 0"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true, condition = "#result > 0")
+    })
+    @Transactional
+    public int expireLeases() {
+        List<Task> reopened = taskRepository.expireLeases(sweepBatchSize);
+        reopened.forEach(task -> publishUpdated(task, TaskStatus.IN_PROGRESS));
+        return reopened.size();
+    }
+
+    /**
+     * Evicts the claimed tasks once the claim has committed, as an eviction annotation would if it could name more
+     * than one key.
+     */
+    private void evictAfterCommit(List<TaskLease> leases) {
+        if (leases.isEmpty()) {
+            return;
+        }
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leases.forEach(lease -> tasks.evict(lease.task().getId()));
+            }
+        });
+    }
+
+    private Task endLease(UUID taskId, String worker, TaskStatus status) {
+        Task task = taskRepository.endLease(taskId, worker, status)
+                .orElseThrow(() -> leaseNotHeld(taskId, worker));
+        publishUpdated(task, TaskStatus.IN_PROGRESS);
+        return task;
+    }
+
+    /**
+     * Only the failure path pays for a second round trip, to tell a missing task from a lost lease.
+     */
+    private RuntimeException leaseNotHeld(UUID taskId, String worker) {
+        if (!taskRepository.existsById(taskId)) {
+            return new TaskNotFoundException(taskId);
+        }
+        return new TaskLeaseLostException(taskId, worker);
+    }
+
+    private void publishUpdated(Task task, TaskStatus previousStatus) {
+        // Claims and leases only ever move the status; the priority is the same before and after.
+        TaskCategory previous = new TaskCategory(previousStatus, task.getPriority());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(task, previous));
+    }
+}
@@ -1,26 +1,65 @@
 package com.project.task.service.impl;
 
+import com.project.task.config.CacheConfig;
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.TaskSearchPage;
 import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.TaskDto;
 import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.TaskNotClaimedException;
 import com.project.task.exception.TaskNotFoundException;
 import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskTransition;
 import com.project.task.service.TaskService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "task.service", histogram = true)
 public class TaskServiceImpl implements TaskService {
 
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private final TaskRepository taskRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    @Transactional
     public Task createTask(CreateTaskRequest request) {
 
         Task task = Task.create(
@@ -28,26 +67,196 @@ public class TaskServiceImpl implements TaskService {
                 request.description(),
                 request.priority());
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
     }
 
     @Override
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#taskId", unless = CacheConfig.UNLESS_READ_FROM_REPLICA)
+    @Transactional(readOnly = true)
+    public Task getTask(UUID taskId) {
+        return taskRepository.findById(taskId).orElseThrow(() -> new TaskNotFoundException(taskId));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_PAGES, unless = CacheConfig.UNLESS_READ_FROM_REPLICA)
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(TaskFilter filter, UUID after, int limit) {
+        // Fetch one extra row to learn whether another page exists without issuing a count query.
+        List<TaskDto> tasks = taskRepository.findPage(filter, after, limit + 1);
+        if (tasks.size() <= limit) {
+            return new TaskPage(tasks, null);
+        }
+
+        List<TaskDto> page = List.copyOf(tasks.subList(0, limit));
+        return new TaskPage(page, page.getLast().id());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(String query, boolean prefix, int page, int size) {
+        List<TaskDto> tasks = taskRepository.search(query, prefix, page * size, size + 1);
+        if (tasks.size() <= size) {
+            return new TaskSearchPage(tasks, false);
+        }
+        return new TaskSearchPage(List.copyOf(tasks.subList(0, size)), true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderById()) {
+            Iterator<Task> iterator = tasks.iterator();
+            int exported = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // Detach what has already been written so the persistence context doesn't grow with the table.
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
     public Task updateTask(UUID taskId, UpdateTaskRequest request) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new TaskNotFoundException(taskId));
-        task.updateTask(request.title(), request.description(), request.status(), request.priority());
-        return taskRepository.save(task);
+        TaskTransition transition = taskRepository.updateById(
+                        taskId,
+                        request.title(),
+                        request.description(),
+                        request.status(),
+                        request.priority())
+                .orElseThrow(() -> updateRejected(taskId, request.status()));
+
+        return publishUpdated(taskId, request, transition);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
+    public Task updateTask(UUID taskId, UpdateTaskRequest request, long expectedVersion) {
+        TaskTransition transition = taskRepository.updateByIdAndVersion(
+                        taskId,
+                        expectedVersion,
+                        request.title(),
+                        request.description(),
+                        request.status(),
+                        request.priority())
+                .orElseThrow(() -> updateRejected(taskId, request.status()));
+
+        return publishUpdated(taskId, request, transition);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
     public void deleteTask(UUID taskId) {
-        if(!taskRepository.existsById(taskId)) {
-            throw new TaskNotFoundException(taskId);
+        TaskTransition transition = taskRepository.softDeleteById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId, transition.tenantId(), transition.previous(),
+                transition.version()));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    @Transactional
+    public List<Task> createTasks(List<CreateTaskRequest> requests) {
+        List<Task> tasks = requests.stream()
+                .map(request -> Task.create(request.title(), request.description(), request.priority()))
+                .toList();
+
+        List<Task> saved = taskRepository.saveAll(tasks);
+        saved.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+        return saved;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    @Transactional
+    public List<Task> ingestTasks(List<Task> tasks) {
+        Set<UUID> inserted = new HashSet<>(taskRepository.insertMissing(tasks));
+        List<Task> saved = tasks.stream()
+                .filter(task -> inserted.contains(task.getId()))
+                .map(task -> Task.restore(task.getId(), task.getTenantId(), task.getTitle(), task.getDescription(),
+                        task.getStatus(), task.getPriority(), 0L))
+                .toList();
+        saved.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+        return saved;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
+    public Map<UUID, Task> updateTasks(Map<UUID, UpdateTaskRequest> requests) {
+        Map<UUID, Task> updated = new LinkedHashMap<>();
+        Map<UUID, TaskCategory> previous = new HashMap<>();
+        for (Task task : taskRepository.findAllById(requests.keySet())) {
+            UpdateTaskRequest request = requests.get(task.getId());
+            if (request.status() == TaskStatus.IN_PROGRESS && task.getStatus() != TaskStatus.IN_PROGRESS) {
+                throw new TaskNotClaimedException(task.getId());
+            }
+            previous.put(task.getId(), TaskCategory.of(task));
+            task.updateTask(request.title(), request.description(), request.status(), request.priority());
+            updated.put(task.getId(), task);
         }
-        taskRepository.deleteById(taskId);
+        // One flush lets Hibernate batch the UPDATE statements, and gives listeners the incremented versions.
+        taskRepository.flush();
+        updated.values().forEach(task ->
+                eventPublisher.publishEvent(TaskChangedEvent.updated(task, previous.get(task.getId()))));
+        return updated;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES, allEntries = true)
+    })
+    @Transactional
+    public Set<UUID> deleteTasks(Collection<UUID> taskIds) {
+        Set<UUID> deleted = new HashSet<>();
+        for (TaskTransition transition : taskRepository.softDeleteAllById(taskIds)) {
+            deleted.add(transition.id());
+            eventPublisher.publishEvent(
+                    TaskChangedEvent.deleted(transition.id(), transition.tenantId(), transition.previous(),
+                            transition.version()));
+        }
+        return deleted;
+    }
+
+    /**
+     * Only the failure path pays for a second round trip, to tell a missing task from one that isn't claimed or
+     * has a stale version.
+     */
+    private RuntimeException updateRejected(UUID taskId, TaskStatus status) {
+        TaskStatus current = taskRepository.findById(taskId).map(Task::getStatus).orElse(null);
+        if (current == null) {
+            return new TaskNotFoundException(taskId);
+        }
+        if (status == TaskStatus.IN_PROGRESS && current != TaskStatus.IN_PROGRESS) {
+            return new TaskNotClaimedException(taskId);
+        }
+        return new ObjectOptimisticLockingFailureException(Task.class, taskId);
+    }
+
+    private Task publishUpdated(UUID taskId, UpdateTaskRequest request, TaskTransition transition) {
+        Task task = Task.restore(taskId, transition.tenantId(), request.title(), request.description(),
+                request.status(), request.priority(), transition.version());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(task, transition.previous()));
+        return task;
     }
 }
@@ -0,0 +1,88 @@
+package com.project.task.service.impl;
+
+import com.project.task.config.SyncProperties;
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.TaskSyncPage;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.exception.SyncWatermarkExpiredException;
+import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskRevision;
+import com.project.task.service.TaskSyncService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Timed(value = "task.sync", histogram = true)
+public class TaskSyncServiceImpl implements TaskSyncService {
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final TaskRepository taskRepository;
+
+    private final Duration lag;
+
+    private final Duration tombstoneRetention;
+
+    public TaskSyncServiceImpl(TaskRepository taskRepository, SyncProperties properties) {
+        this.taskRepository = taskRepository;
+        this.lag = properties.lag();
+        this.tombstoneRetention = properties.tombstoneRetention();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSyncPage syncTasks(SyncWatermark since, int limit) {
+        // The database's clock, which stamps updated_at, rather than this one.
+        Instant now = taskRepository.currentTimestamp();
+        if (since != null && since.updatedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncWatermarkExpiredException();
+        }
+
+        // Fetch one extra row to learn whether the client should come back right away.
+        Instant horizon = now.minus(lag);
+        List<TaskRevision> revisions = taskRepository.findChangedSince(since, horizon, limit + 1);
+        boolean hasNext = revisions.size() > limit;
+        List<TaskRevision> page = hasNext ? revisions.subList(0, limit) : revisions;
+
+        List<TaskDto> changed = new ArrayList<>(page.size());
+        List<UUID> deleted = new ArrayList<>();
+        for (TaskRevision revision : page) {
+            if (revision.deleted()) {
+                deleted.add(revision.task().id());
+            } else {
+                changed.add(revision.task());
+            }
+        }
+
+        SyncWatermark next = hasNext ? page.getLast().watermark() : settled(since, horizon);
+        return new TaskSyncPage(List.copyOf(changed), List.copyOf(deleted), next, hasNext);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${task.sync.purge-interval:1h}")
+    @Transactional
+    public int purgeTombstones() {
+        return taskRepository.purgeDeletedBefore(taskRepository.currentTimestamp().minus(tombstoneRetention));
+    }
+
+    /**
+     * Every page only reads changes stamped before {@code now - lag}, and the last one moves the watermark up to
+     * there. Timestamps are taken before commit, so a transaction still in flight may yet commit a change stamped
+     * earlier than rows already visible; holding back means the next sync reads the last {@code lag} again,
+     * duplicates included, instead of skipping such a change.
+     */
+    private static SyncWatermark settled(SyncWatermark since, Instant horizon) {
+        if (since != null && !since.updatedAt().isBefore(horizon)) {
+            return since;
+        }
+        return new SyncWatermark(horizon, MIN_ID);
+    }
+}
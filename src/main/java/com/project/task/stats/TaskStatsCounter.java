@@ -0,0 +1,237 @@
+package com.project.task.stats;
+
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.repository.TaskStatsRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts per tenant, status and priority, answered from memory. A count is the value of the
+ * {@code task_stats} table as last read plus this instance's changes since; changes are added to the table every
+ * flush, which also picks up other instances' changes.
+ * <p>
+ * Counts drift if a change is lost between commit and flush, e.g. in a crash; the periodic reconcile recounts the
+ * tasks table and overwrites the summary. Each change is counted under the epoch its transaction joined (see
+ * {@link TaskStatsRepository#joinEpoch()}), so changes the recount already includes, whether still pending here,
+ * on another instance or in a transaction that hasn't reached its after-commit callbacks, are dropped instead of
+ * being added on top of it.
+ */
+@Component
+public class TaskStatsCounter {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private static final int CELLS = STATUSES.length * PRIORITIES.length;
+
+    private final TaskStatsRepository statsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Per epoch and tenant, striped per cell, so concurrent commits touching different or even the same cell don't
+    // contend on one lock. Rarely more than one epoch is pending; a tenant's adders are kept until their epoch is
+    // reconciled.
+    private final ConcurrentMap<Long, ConcurrentMap<String, LongAdder[]>> pending = new ConcurrentHashMap<>();
+
+    private final Object transactionKey = new Object();
+
+    private volatile Totals totals = new Totals(0, Map.of());
+
+    public TaskStatsCounter(TaskStatsRepository statsRepository, PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public long count(String tenantId, TaskStatus status, TaskPriority priority) {
+        int cell = cell(status, priority);
+        Totals current = totals;
+        long[] counts = current.counts().get(tenantId);
+        long count = counts == null ? 0 : counts[cell];
+        for (Map.Entry<Long, ConcurrentMap<String, LongAdder[]>> epoch : pending.entrySet()) {
+            LongAdder[] deltas = epoch.getValue().get(tenantId);
+            if (deltas != null && epoch.getKey() > current.reconciledEpoch()) {
+                count += deltas[cell].sum();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Joins the transaction to the current epoch the first time it changes a task, and counts its changes once it
+     * has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(transactionKey);
+        if (changes == null) {
+            changes = new Changes(statsRepository.joinEpoch());
+            TransactionSynchronizationManager.bindResource(transactionKey, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        changes.events.add(event);
+    }
+
+    /**
+     * Adds this instance's changes to the summary table and reads back every instance's totals. Synchronized, since
+     * a flush racing a reconcile's would subtract the same deltas twice.
+     */
+    @Scheduled(fixedDelayString = "${task.stats.flush-interval:1s}")
+    public synchronized void flush() {
+        Map<Long, Map<String, long[]>> deltas = pendingDeltas();
+        Totals next = transactionTemplate.execute(status -> {
+            long reconciledEpoch = statsRepository.lockReconciledEpoch();
+            deltas.forEach((epoch, epochDeltas) -> {
+                // Already part of the recount of a later epoch.
+                if (epoch <= reconciledEpoch) {
+                    return;
+                }
+                // Ordered by tenant, then cell: the fixed order add() expects.
+                List<Map.Entry<TaskStatsRepository.Key, Long>> changed = new ArrayList<>();
+                epochDeltas.forEach((tenantId, tenantDeltas) -> {
+                    for (int i = 0; i < CELLS; i++) {
+                        if (tenantDeltas[i] != 0) {
+                            changed.add(Map.entry(new TaskStatsRepository.Key(tenantId, category(i)),
+                                    tenantDeltas[i]));
+                        }
+                    }
+                });
+                if (!changed.isEmpty()) {
+                    statsRepository.add(epoch, changed);
+                }
+            });
+            return totals(reconciledEpoch, statsRepository.findAll());
+        });
+        apply(next, deltas);
+    }
+
+    /**
+     * Recounts the tasks table and overwrites the summary with the result.
+     */
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:10m}",
+            initialDelayString = "${task.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        TaskStatsRepository.Recount recount = statsRepository.recount();
+        transactionTemplate.executeWithoutResult(status -> statsRepository.replaceAll(recount));
+        flush();
+    }
+
+    // Ordered by epoch, then tenant.
+    private Map<Long, Map<String, long[]>> pendingDeltas() {
+        Map<Long, Map<String, long[]>> deltas = new TreeMap<>();
+        pending.forEach((epoch, epochAdders) -> {
+            Map<String, long[]> epochDeltas = new TreeMap<>();
+            epochAdders.forEach((tenantId, adders) -> {
+                long[] tenantDeltas = new long[CELLS];
+                for (int i = 0; i < CELLS; i++) {
+                    tenantDeltas[i] = adders[i].sum();
+                }
+                epochDeltas.put(tenantId, tenantDeltas);
+            });
+            deltas.put(epoch, epochDeltas);
+        });
+        return deltas;
+    }
+
+    /**
+     * Swaps in new totals and drops the deltas they already include, or that were dropped as part of a recount.
+     * Changes counted meanwhile stay pending.
+     */
+    private void apply(Totals next, Map<Long, Map<String, long[]>> includedDeltas) {
+        totals = next;
+        includedDeltas.forEach((epoch, epochDeltas) -> epochDeltas.forEach((tenantId, deltas) -> {
+            LongAdder[] adders = pending.get(epoch).get(tenantId);
+            for (int i = 0; i < CELLS; i++) {
+                adders[i].add(-deltas[i]);
+            }
+        }));
+        // Changes of these epochs still arriving are part of the recount; count() ignores them.
+        pending.keySet().removeIf(epoch -> epoch <= next.reconciledEpoch());
+    }
+
+    private void count(long epoch, TaskChangedEvent event) {
+        LongAdder[] deltas = pending.computeIfAbsent(epoch, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(event.tenantId(), ignored -> newAdders());
+        if (event.previous() != null) {
+            deltas[cell(event.previous())].decrement();
+        }
+        if (event.task() != null) {
+            deltas[cell(event.task().getStatus(), event.task().getPriority())].increment();
+        }
+    }
+
+    private static Totals totals(long reconciledEpoch, Map<TaskStatsRepository.Key, Long> counts) {
+        Map<String, long[]> byTenant = new HashMap<>();
+        counts.forEach((key, count) ->
+                byTenant.computeIfAbsent(key.tenantId(), ignored -> new long[CELLS])[cell(key.category())] = count);
+        return new Totals(reconciledEpoch, byTenant);
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static int cell(TaskCategory category) {
+        return cell(category.status(), category.priority());
+    }
+
+    private static int cell(TaskStatus status, TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    private static TaskCategory category(int cell) {
+        return new TaskCategory(STATUSES[cell / PRIORITIES.length], PRIORITIES[cell % PRIORITIES.length]);
+    }
+
+    /**
+     * The summary table as last read, per tenant and cell, and the epoch it was last reconciled at.
+     */
+    private record Totals(long reconciledEpoch, Map<String, long[]> counts) {
+    }
+
+    /**
+     * The changes of one transaction, counted once it has committed.
+     */
+    private final class Changes implements TransactionSynchronization {
+
+        private final long epoch;
+
+        private final List<TaskChangedEvent> events = new ArrayList<>();
+
+        private Changes(long epoch) {
+            this.epoch = epoch;
+        }
+
+        @Override
+        public void afterCommit() {
+            events.forEach(event -> count(epoch, event));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.task.subscription;
+
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.dto.TaskDeltaDto;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One live subscription. Deltas wait in a map keyed by task id, so a burst of changes to one task is sent as its
+ * latest state only, and a client that reads slowly holds at most one pending delta per task. Past
+ * {@code maxPending} distinct tasks the pending deltas are dropped and the client is told to reload instead.
+ */
+class TaskSubscriber {
+
+    static final String RESYNC_EVENT = "RESYNC";
+
+    private final TaskFilter filter;
+
+    private final SseEmitter emitter;
+
+    private final int maxPending;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final Map<UUID, TaskDeltaDto> pending = new LinkedHashMap<>();
+
+    private boolean overflowed;
+
+    TaskSubscriber(TaskFilter filter, SseEmitter emitter, int maxPending) {
+        this.filter = filter;
+        this.emitter = emitter;
+        this.maxPending = maxPending;
+    }
+
+    TaskFilter filter() {
+        return filter;
+    }
+
+    void offer(TaskDeltaDto delta) {
+        lock.lock();
+        try {
+            // Re-inserting moves the task behind other pending changes, so deltas leave in order of their latest
+            // change.
+            if (pending.remove(delta.id()) == null && pending.size() >= maxPending) {
+                pending.clear();
+                overflowed = true;
+            }
+            pending.put(delta.id(), delta);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for pending deltas and takes all of them.
+     */
+    Batch poll(Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (pending.isEmpty() && !overflowed && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            Batch batch = new Batch(List.copyOf(pending.values()), overflowed);
+            pending.clear();
+            overflowed = false;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends deltas until the client goes away or the thread is interrupted.
+     */
+    void run(Duration heartbeatInterval) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Batch batch = poll(heartbeatInterval);
+                if (batch.resync()) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                }
+                for (TaskDeltaDto delta : batch.deltas()) {
+                    // Blocks while the client's socket is full; meanwhile new changes coalesce in the pending map.
+                    emitter.send(SseEmitter.event().name(delta.type().name()).data(delta, MediaType.APPLICATION_JSON));
+                }
+                if (batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        } catch (IOException | IllegalStateException exception) {
+            // The client went away or the emitter already completed.
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Batch(List<TaskDeltaDto> deltas, boolean resync) {
+
+        boolean isEmpty() {
+            return deltas.isEmpty() && !resync;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.task.subscription;
+
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.dto.TaskDeltaDto;
+import com.project.task.domain.mapper.TaskMapper;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans committed task changes out to live subscriptions. Each subscription costs one virtual thread, parked while
+ * there is nothing to send, and the committing thread only ever hands deltas over without waiting for clients.
+ * <p>
+ * Subscriptions are grouped by tenant: a change is only offered to its own tenant's subscribers, and only costs as
+ * much as that tenant has.
+ */
+public class TaskSubscriptionHub {
+
+    private final TaskMapper taskMapper;
+
+    private final int maxPending;
+
+    private final Duration heartbeatInterval;
+
+    private final Duration timeout;
+
+    private final Map<String, Set<TaskSubscriber>> subscribersByTenant = new ConcurrentHashMap<>();
+
+    public TaskSubscriptionHub(TaskMapper taskMapper, int maxPending, Duration heartbeatInterval, Duration timeout) {
+        this.taskMapper = taskMapper;
+        this.maxPending = maxPending;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(String tenantId, TaskFilter filter) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        TaskSubscriber subscriber = new TaskSubscriber(filter, emitter, maxPending);
+
+        Thread sender = Thread.ofVirtual().name("task-subscriber-", 0).unstarted(() -> {
+            try {
+                subscriber.run(heartbeatInterval);
+            } finally {
+                remove(tenantId, subscriber);
+            }
+        });
+        emitter.onCompletion(sender::interrupt);
+        emitter.onTimeout(sender::interrupt);
+        emitter.onError(error -> sender.interrupt());
+
+        add(tenantId, subscriber);
+        sender.start();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribersByTenant.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<TaskSubscriber> subscribers = subscribersByTenant.get(event.tenantId());
+        if (subscribers == null) {
+            return;
+        }
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            TaskDeltaDto remove = TaskDeltaDto.remove(event.taskId());
+            subscribers.forEach(subscriber -> subscriber.offer(remove));
+            return;
+        }
+
+        TaskDeltaDto upsert = TaskDeltaDto.upsert(taskMapper.toDto(event.task()));
+        TaskDeltaDto remove = TaskDeltaDto.remove(event.taskId());
+        for (TaskSubscriber subscriber : subscribers) {
+            if (subscriber.filter().matches(upsert.task())) {
+                subscriber.offer(upsert);
+            } else if (event.type() == TaskChangedEvent.Type.UPDATED) {
+                // The task may have been in this view before the update.
+                subscriber.offer(remove);
+            }
+        }
+    }
+
+    // Both go through compute, so a subscriber can't be added to a set that is being dropped for being empty.
+    private void add(String tenantId, TaskSubscriber subscriber) {
+        subscribersByTenant.compute(tenantId, (id, subscribers) -> {
+            Set<TaskSubscriber> tenantSubscribers = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            tenantSubscribers.add(subscriber);
+            return tenantSubscribers;
+        });
+    }
+
+    private void remove(String tenantId, TaskSubscriber subscriber) {
+        subscribersByTenant.computeIfPresent(tenantId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
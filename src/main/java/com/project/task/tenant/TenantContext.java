@@ -0,0 +1,78 @@
+package com.project.task.tenant;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * The tenant the current thread works for. {@link TenantFilter} binds every API request to the tenant named in its
+ * header; work a request hands to another thread must be bound again with {@link #runAs}.
+ * <p>
+ * Threads bound to no tenant, like the schedulers and the background writers, work across all tenants: Hibernate
+ * runs them as the root tenant. Native statements scoped to one tenant refuse to run on them, see {@link #require()};
+ * tasks they create belong to {@link #DEFAULT}.
+ */
+public final class TenantContext {
+
+    /**
+     * The tenant of requests without a tenant header, and of every task that existed before tenants did.
+     */
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Returns the current thread's tenant, or {@code null} when it works across all tenants.
+     */
+    @Nullable
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the current thread's tenant, or {@link #DEFAULT} when it is bound to none.
+     */
+    public static String currentOrDefault() {
+        String tenantId = CURRENT.get();
+        return tenantId == null ? DEFAULT : tenantId;
+    }
+
+    /**
+     * Returns the current thread's tenant.
+     *
+     * @throws IllegalStateException when the thread is bound to no tenant
+     */
+    public static String require() {
+        String tenantId = CURRENT.get();
+        if (tenantId == null) {
+            throw new IllegalStateException("No tenant is bound to the current thread");
+        }
+        return tenantId;
+    }
+
+    /**
+     * Runs {@code action} bound to {@code tenantId}, or to no tenant when it is {@code null}, and restores the
+     * previous binding afterwards.
+     */
+    public static void runAs(@Nullable String tenantId, Runnable action) {
+        String previous = CURRENT.get();
+        bind(tenantId);
+        try {
+            action.run();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * Binds the current thread to {@code tenantId}, or to no tenant when it is {@code null}.
+     */
+    static void bind(@Nullable String tenantId) {
+        if (tenantId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenantId);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.task.tenant;
+
+import com.project.task.exception.InvalidTenantException;
+import com.project.task.exception.TenantRateLimitExceededException;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Binds every API request to the tenant named in the tenant header, or to {@link TenantContext#DEFAULT} without
+ * one, and turns the request away when the tenant is over its rate limit.
+ * <p>
+ * A filter rather than a handler interceptor, so the tenant is bound before anything opens a Hibernate session for
+ * the request: a session's tenant is fixed when it is opened. Rejections go through the MVC exception handlers, so
+ * they look like any other error response.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    // Fits tasks.tenant_id, and keeps '*' free for Hibernate's root tenant.
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,63}");
+
+    private static final String API_PATH = "/api/";
+
+    private final String header;
+
+    @Nullable
+    private final TenantRateLimiter rateLimiter;
+
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public TenantFilter(String header, @Nullable TenantRateLimiter rateLimiter,
+                        HandlerExceptionResolver exceptionResolver) {
+        this.header = header;
+        this.rateLimiter = rateLimiter;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(header);
+        if (tenantId == null) {
+            tenantId = TenantContext.DEFAULT;
+        } else if (!TENANT_ID.matcher(tenantId).matches()) {
+            exceptionResolver.resolveException(request, response, null, new InvalidTenantException(tenantId));
+            return;
+        }
+
+        if (rateLimiter != null) {
+            Duration retryAfter = rateLimiter.tryAcquire(tenantId);
+            if (retryAfter.isPositive()) {
+                exceptionResolver.resolveException(request, response, null,
+                        new TenantRateLimitExceededException(tenantId, retryAfter));
+                return;
+            }
+        }
+
+        TenantContext.bind(tenantId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.bind(null);
+        }
+    }
+}
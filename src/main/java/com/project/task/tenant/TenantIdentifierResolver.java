@@ -0,0 +1,40 @@
+package com.project.task.tenant;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+
+import java.util.Map;
+
+/**
+ * Tells Hibernate whose tasks a session sees: every query on a {@code @TenantId} entity is restricted to the
+ * session's tenant, and new entities are checked against it. Sessions opened on threads bound to no tenant run as
+ * the root tenant, which sees every tenant's tasks.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>,
+        HibernatePropertiesCustomizer {
+
+    // Not a valid tenant id, so no request can pass itself off as the root tenant.
+    static final String ROOT = "*";
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String tenantId = TenantContext.current();
+        return tenantId == null ? ROOT : tenantId;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return ROOT.equals(tenantId);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
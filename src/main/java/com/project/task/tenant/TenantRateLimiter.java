@@ -0,0 +1,79 @@
+package com.project.task.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.task.config.TenantProperties;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per tenant: a tenant may send {@code burst} requests at once, then {@code requestsPerSecond} on
+ * average. A tenant over its limit is turned away before its requests take a database connection, so it can't
+ * queue the other tenants behind its own backlog.
+ * <p>
+ * Limits are per instance. Buckets of tenants that have gone quiet are dropped; they would be full again anyway.
+ */
+public class TenantRateLimiter {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private static final long MAX_TENANTS = 100_000;
+
+    private final TenantProperties.RateLimit properties;
+
+    private final LongSupplier nanoClock;
+
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_EXPIRY)
+            .maximumSize(MAX_TENANTS)
+            .build();
+
+    public TenantRateLimiter(TenantProperties.RateLimit properties) {
+        this(properties, System::nanoTime);
+    }
+
+    TenantRateLimiter(TenantProperties.RateLimit properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one request from the tenant's bucket.
+     *
+     * @return zero when the request may go ahead, otherwise how long until the bucket holds a request again
+     */
+    public Duration tryAcquire(String tenantId) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(tenantId, id -> new Bucket(properties.limitFor(id), now));
+        return bucket.tryAcquire(now);
+    }
+
+    private static final class Bucket {
+
+        private final double capacity;
+
+        private final double permitsPerNano;
+
+        private double permits;
+
+        private long refilledAt;
+
+        private Bucket(TenantProperties.Limit limit, long now) {
+            this.capacity = limit.burst();
+            this.permitsPerNano = limit.requestsPerSecond() / 1e9;
+            this.permits = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized Duration tryAcquire(long now) {
+            permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            if (permits >= 1) {
+                permits -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - permits) / permitsPerNano));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.task.tenant;
+
+import jakarta.annotation.Nullable;
+import org.springframework.cache.Cache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Keeps each tenant's entries of a cache apart: keys are qualified with the current tenant, so one tenant can never
+ * be served another's entry, and clearing the cache on a tenant's thread only drops that tenant's entries. A busy
+ * tenant's writes then no longer empty the page cache of every other tenant.
+ * <p>
+ * Keys also carry a generation per tenant. Clearing moves the tenant to the next one, which leaves its old entries
+ * unreachable in constant time, without walking the cache; they stay until its size bound or expiry pushes them
+ * out. Clearing on a thread bound to no tenant drops every entry.
+ * <p>
+ * A value loaded after a miss is only put if nothing invalidated its key in between. Otherwise a read that loaded
+ * the row before a write committed could put the old state back right after the write evicted it, for as long as
+ * the entry's TTL. Caching advice misses and puts on the same thread, so the miss is remembered per thread, along
+ * with the invalidation stamp of its key's stripe; evictions move the stripe's stamp on, clears the generation.
+ */
+public class TenantScopedCache implements Cache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache delegate;
+
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    // Keys share stripes, so an eviction can also hold back the put of an unrelated key; that only costs a miss.
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong clears = new AtomicLong();
+
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    public TenantScopedCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        TenantKey scoped = scoped(key);
+        Miss miss = new Miss(scoped, invalidations.get(stripe(scoped)), clears.get());
+        ValueWrapper value = delegate.get(scoped);
+        if (value == null) {
+            lastMiss.set(miss);
+        } else {
+            lastMiss.remove();
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return delegate.get(scoped(key), type);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(scoped(key), valueLoader);
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(scoped(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(scoped(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        TenantKey scoped = scoped(key);
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        if (miss != null && miss.isFor(scoped) && isInvalidatedSince(miss, scoped)) {
+            return;
+        }
+        delegate.put(scoped, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        return delegate.putIfAbsent(scoped(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        // Before the eviction, so a put racing it sees the new stamp.
+        TenantKey scoped = scoped(key);
+        invalidations.incrementAndGet(stripe(scoped));
+        delegate.evict(scoped);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        TenantKey scoped = scoped(key);
+        invalidations.incrementAndGet(stripe(scoped));
+        return delegate.evictIfPresent(scoped);
+    }
+
+    @Override
+    public void clear() {
+        if (!clearTenant()) {
+            clears.incrementAndGet();
+            delegate.clear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (clearTenant()) {
+            return true;
+        }
+        clears.incrementAndGet();
+        return delegate.invalidate();
+    }
+
+    /**
+     * Hides the current tenant's entries by moving it to its next generation.
+     *
+     * @return {@code false} when the thread is bound to no tenant
+     */
+    private boolean clearTenant() {
+        String tenantId = TenantContext.current();
+        if (tenantId == null) {
+            return false;
+        }
+        generations.merge(tenantId, 1L, Long::sum);
+        return true;
+    }
+
+    private TenantKey scoped(Object key) {
+        String tenantId = TenantContext.current();
+        long generation = tenantId == null ? 0 : generations.getOrDefault(tenantId, 0L);
+        return new TenantKey(tenantId, generation, key);
+    }
+
+    private boolean isInvalidatedSince(Miss miss, TenantKey scoped) {
+        return miss.key().generation() != scoped.generation()
+                || miss.invalidation() != invalidations.get(stripe(scoped))
+                || miss.clears() != clears.get();
+    }
+
+    // Leaves the generation out, so a key keeps its stripe across clears.
+    private static int stripe(TenantKey scoped) {
+        return Objects.hash(scoped.tenantId(), scoped.key()) & (STRIPES - 1);
+    }
+
+    record TenantKey(@Nullable String tenantId, long generation, Object key) {
+    }
+
+    /**
+     * A miss on {@code key}, with the invalidation stamps as they were before the value was looked up.
+     */
+    private record Miss(TenantKey key, long invalidation, long clears) {
+
+        boolean isFor(TenantKey scoped) {
+            return Objects.equals(key.tenantId(), scoped.tenantId()) && key.key().equals(scoped.key());
+        }
+    }
+}
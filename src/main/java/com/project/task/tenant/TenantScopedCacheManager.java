@@ -0,0 +1,39 @@
+package com.project.task.tenant;
+
+import jakarta.annotation.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the caches of another {@link CacheManager} as {@link TenantScopedCache}s.
+ */
+public class TenantScopedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final Map<String, TenantScopedCache> caches = new ConcurrentHashMap<>();
+
+    public TenantScopedCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        TenantScopedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, ignored -> new TenantScopedCache(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,153 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the tenant-leading indexes that replace the listing, sync and claim indexes of V2, V6 and V9 without
+ * blocking writes, then drops the ones they replace. Written in Java because the build depends on what V10 left
+ * behind, which a SQL script can't branch on outside a transaction:
+ * <ul>
+ *     <li>a plain {@code tasks} table, still being copied to {@code tasks_partitioned}, gets each index with
+ *     {@code CREATE INDEX CONCURRENTLY};</li>
+ *     <li>a partitioned table, which {@code CREATE INDEX CONCURRENTLY} doesn't support, gets an invalid index on the
+ *     parent alone, one built concurrently on each partition, and each of those attached to it. The parent index
+ *     turns valid once every partition has one.</li>
+ * </ul>
+ * The replaced indexes are dropped only once every new one is valid. A run that fails midway leaves the old indexes
+ * in place and picks up where it stopped on the next one: invalid leftovers of an interrupted build are dropped and
+ * built again, finished ones are kept.
+ */
+public class V12__CreateTaskTenantIndexes extends BaseJavaMigration {
+
+    /**
+     * Index name suffixes and definitions. The claim rank expression must stay identical to the one in
+     * {@code TaskQueryRepositoryImpl}, or the index won't be used.
+     */
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        INDEXES.put("tenant_id", "(tenant_id, id)");
+        INDEXES.put("tenant_status_priority_id", "(tenant_id, status, priority, id)");
+        INDEXES.put("tenant_open_id", "(tenant_id, id) WHERE status = 'OPEN'");
+        INDEXES.put("tenant_updated_at_id", "(tenant_id, updated_at, id)");
+        INDEXES.put("tenant_claim",
+                "(tenant_id, (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), id)"
+                        + " WHERE status = 'OPEN' AND deleted_at IS NULL");
+    }
+
+    private static final List<String> REPLACED = List.of("status_priority_id", "open_id", "updated_at_id", "claim");
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        // tasks until the swap, under the names the swap gives them afterwards; tasks_partitioned while V10 is
+        // still copying rows, under the idx_tasks_p_ prefix the swap renames away.
+        index(connection, "tasks", "idx_tasks_");
+        index(connection, "tasks_partitioned", "idx_tasks_p_");
+    }
+
+    private void index(Connection connection, String table, String prefix) throws SQLException {
+        String kind = queryForString(connection,
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", table);
+        if (kind == null) {
+            return;
+        }
+        boolean partitioned = kind.equals("p");
+        for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+            String name = prefix + index.getKey();
+            if (partitioned) {
+                createOnPartitions(connection, table, name, index.getKey(), index.getValue());
+            } else {
+                createConcurrently(connection, table, name, index.getValue());
+            }
+        }
+
+        for (String index : INDEXES.keySet()) {
+            if (!Boolean.TRUE.equals(isValid(connection, prefix + index))) {
+                throw new IllegalStateException("Index " + prefix + index + " is not valid; keeping the indexes it"
+                        + " replaces");
+            }
+        }
+        for (String index : REPLACED) {
+            // DROP INDEX CONCURRENTLY doesn't work on a partitioned index either.
+            execute(connection, "DROP INDEX " + (partitioned ? "" : "CONCURRENTLY ") + "IF EXISTS " + prefix + index);
+        }
+    }
+
+    private void createConcurrently(Connection connection, String table, String name, String definition)
+            throws SQLException {
+        dropIfInvalid(connection, name);
+        execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + table + " " + definition);
+    }
+
+    private void createOnPartitions(Connection connection, String table, String name, String suffix,
+                                    String definition) throws SQLException {
+        execute(connection, "CREATE INDEX IF NOT EXISTS " + name + " ON ONLY " + table + " " + definition);
+        for (String partition : partitions(connection, table)) {
+            String partitionIndex = "idx_" + partition + "_" + suffix;
+            createConcurrently(connection, partition, partitionIndex, definition);
+            // Does nothing when the index is already attached.
+            execute(connection, "ALTER INDEX " + name + " ATTACH PARTITION " + partitionIndex);
+        }
+    }
+
+    private void dropIfInvalid(Connection connection, String name) throws SQLException {
+        if (Boolean.FALSE.equals(isValid(connection, name))) {
+            execute(connection, "DROP INDEX CONCURRENTLY " + name);
+        }
+    }
+
+    /**
+     * Returns whether the index is valid, or null when there is none by that name.
+     */
+    private static Boolean isValid(Connection connection, String name) throws SQLException {
+        String valid = queryForString(connection,
+                "SELECT indisvalid::text FROM pg_index WHERE indexrelid = to_regclass(?)", name);
+        return valid == null ? null : Boolean.valueOf(valid);
+    }
+
+    private static List<String> partitions(Connection connection, String table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = to_regclass(?) ORDER BY 1")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static String queryForString(Connection connection, String sql, String parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
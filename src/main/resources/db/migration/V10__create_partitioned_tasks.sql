@@ -0,0 +1,136 @@
+-- tasks becomes hash-partitioned by id, so vacuum and index maintenance work on sixteen tables a sixteenth of the
+-- size instead of one large one. Lookups by id touch a single partition. Partitioning by status would have moved a
+-- row to another partition on every claim and completion.
+--
+-- The partitioned table is built next to tasks as tasks_partitioned and kept in step by a trigger. An empty tasks
+-- table is swapped for it right away, at the end of this script; a populated one by TaskPartitionMigrator, which
+-- copies the existing rows over in batches while the application keeps serving, then swaps.
+CREATE TABLE IF NOT EXISTS tasks_partitioned (
+    id               UUID          NOT NULL,
+    title            VARCHAR(255)  NOT NULL,
+    description      VARCHAR(1000),
+    status           VARCHAR(255)  NOT NULL,
+    priority         VARCHAR(255)  NOT NULL,
+    version          BIGINT        NOT NULL,
+    created_at       TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at       TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    deleted_at       TIMESTAMPTZ,
+    lease_owner      VARCHAR(255),
+    lease_expires_at TIMESTAMPTZ,
+    PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS tasks_p%s PARTITION OF tasks_partitioned '
+                           'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+-- The same indexes as tasks (V2, V3, V6, V9), under an idx_tasks_p_ prefix until the swap. Cheap to build while the
+-- table is empty; the copy then maintains them as it goes.
+CREATE INDEX IF NOT EXISTS idx_tasks_p_status_priority_id ON tasks_partitioned (status, priority, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_p_open_id ON tasks_partitioned (id) WHERE status = 'OPEN';
+CREATE INDEX IF NOT EXISTS idx_tasks_p_search ON tasks_partitioned USING gin (
+    (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B'))
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_p_updated_at_id ON tasks_partitioned (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_p_claim
+    ON tasks_partitioned ((CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), id)
+    WHERE status = 'OPEN' AND deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_p_lease_expires_at
+    ON tasks_partitioned (lease_expires_at)
+    WHERE status = 'IN_PROGRESS' AND deleted_at IS NULL;
+
+-- Every write to tasks is repeated on tasks_partitioned, in the same transaction, until the swap drops the trigger.
+CREATE OR REPLACE FUNCTION tasks_mirror() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        TRUNCATE tasks_partitioned;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id;
+        RETURN NULL;
+    END IF;
+    INSERT INTO tasks_partitioned (id, title, description, status, priority, version, created_at, updated_at,
+                                   deleted_at, lease_owner, lease_expires_at)
+    VALUES (NEW.id, NEW.title, NEW.description, NEW.status, NEW.priority, NEW.version, NEW.created_at,
+            NEW.updated_at, NEW.deleted_at, NEW.lease_owner, NEW.lease_expires_at)
+    ON CONFLICT (id) DO UPDATE SET
+        title = EXCLUDED.title, description = EXCLUDED.description, status = EXCLUDED.status,
+        priority = EXCLUDED.priority, version = EXCLUDED.version, created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at, deleted_at = EXCLUDED.deleted_at, lease_owner = EXCLUDED.lease_owner,
+        lease_expires_at = EXCLUDED.lease_expires_at;
+    RETURN NULL;
+END $$;
+
+CREATE OR REPLACE TRIGGER tasks_mirror
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_mirror();
+
+CREATE OR REPLACE TRIGGER tasks_mirror_truncate
+    AFTER TRUNCATE ON tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_mirror();
+
+-- Copies the next batch of rows after after_id and returns the last id copied, or NULL once there are none left.
+-- FOR SHARE holds off concurrent updates and deletes of the batch until it is committed, so the trigger always
+-- applies them on top of the copy and never the other way round. Rows the trigger already wrote are newer and
+-- are kept.
+CREATE OR REPLACE FUNCTION tasks_partitioning_copy(after_id UUID, batch_size INT) RETURNS UUID
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id UUID;
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NULL THEN
+        RETURN NULL;
+    END IF;
+    WITH batch AS (
+        SELECT id, title, description, status, priority, version, created_at, updated_at, deleted_at, lease_owner,
+               lease_expires_at
+        FROM tasks
+        WHERE id > coalesce(after_id, '00000000-0000-0000-0000-000000000000')
+        ORDER BY id
+        LIMIT batch_size
+        FOR SHARE
+    ), copied AS (
+        INSERT INTO tasks_partitioned (id, title, description, status, priority, version, created_at, updated_at,
+                                       deleted_at, lease_owner, lease_expires_at)
+        SELECT * FROM batch
+        ON CONFLICT (id) DO NOTHING
+    )
+    SELECT id INTO last_id FROM batch ORDER BY id DESC LIMIT 1;
+    RETURN last_id;
+END $$;
+
+-- Puts tasks_partitioned in the place of tasks. The old table stays behind as tasks_unpartitioned, to drop once
+-- the partitioned one has proven itself. Does nothing when the swap has already happened.
+CREATE OR REPLACE FUNCTION tasks_partitioning_swap() RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    index_name TEXT;
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NULL THEN
+        RETURN;
+    END IF;
+    LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+    DROP TRIGGER tasks_mirror ON tasks;
+    DROP TRIGGER tasks_mirror_truncate ON tasks;
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+    FOREACH index_name IN ARRAY ARRAY['idx_tasks_status_priority_id', 'idx_tasks_open_id', 'idx_tasks_search',
+                                      'idx_tasks_updated_at_id', 'idx_tasks_claim', 'idx_tasks_lease_expires_at']
+    LOOP
+        EXECUTE format('ALTER INDEX IF EXISTS %I RENAME TO %I', index_name, index_name || '_unpartitioned');
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', replace(index_name, 'idx_tasks_', 'idx_tasks_p_'), index_name);
+    END LOOP;
+END $$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM tasks) THEN
+        PERFORM tasks_partitioning_swap();
+        DROP TABLE tasks_unpartitioned;
+    END IF;
+END $$;
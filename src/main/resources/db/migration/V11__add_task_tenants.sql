@@ -0,0 +1,88 @@
+-- Every task, outbox entry and count belongs to a tenant. Rows that predate tenants belong to 'default'; adding a
+-- column with a constant default doesn't rewrite the table.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- The tenant-leading indexes replacing those of V2, V6 and V9 are built by V12, without blocking writes.
+
+-- While the partitioning started by V10 is still copying rows, tasks_partitioned gets the same column, and the mirror
+-- trigger, the copy and the swap below carry the tenant over.
+ALTER TABLE IF EXISTS tasks_partitioned ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+CREATE OR REPLACE FUNCTION tasks_mirror() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        TRUNCATE tasks_partitioned;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id;
+        RETURN NULL;
+    END IF;
+    INSERT INTO tasks_partitioned (id, tenant_id, title, description, status, priority, version, created_at,
+                                   updated_at, deleted_at, lease_owner, lease_expires_at)
+    VALUES (NEW.id, NEW.tenant_id, NEW.title, NEW.description, NEW.status, NEW.priority, NEW.version,
+            NEW.created_at, NEW.updated_at, NEW.deleted_at, NEW.lease_owner, NEW.lease_expires_at)
+    ON CONFLICT (id) DO UPDATE SET
+        tenant_id = EXCLUDED.tenant_id, title = EXCLUDED.title, description = EXCLUDED.description,
+        status = EXCLUDED.status, priority = EXCLUDED.priority, version = EXCLUDED.version,
+        created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at, deleted_at = EXCLUDED.deleted_at,
+        lease_owner = EXCLUDED.lease_owner, lease_expires_at = EXCLUDED.lease_expires_at;
+    RETURN NULL;
+END $$;
+
+CREATE OR REPLACE FUNCTION tasks_partitioning_copy(after_id UUID, batch_size INT) RETURNS UUID
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id UUID;
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NULL THEN
+        RETURN NULL;
+    END IF;
+    WITH batch AS (
+        SELECT id, tenant_id, title, description, status, priority, version, created_at, updated_at, deleted_at,
+               lease_owner, lease_expires_at
+        FROM tasks
+        WHERE id > coalesce(after_id, '00000000-0000-0000-0000-000000000000')
+        ORDER BY id
+        LIMIT batch_size
+        FOR SHARE
+    ), copied AS (
+        INSERT INTO tasks_partitioned (id, tenant_id, title, description, status, priority, version, created_at,
+                                       updated_at, deleted_at, lease_owner, lease_expires_at)
+        SELECT * FROM batch
+        ON CONFLICT (id) DO NOTHING
+    )
+    SELECT id INTO last_id FROM batch ORDER BY id DESC LIMIT 1;
+    RETURN last_id;
+END $$;
+
+CREATE OR REPLACE FUNCTION tasks_partitioning_swap() RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    index_name TEXT;
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NULL THEN
+        RETURN;
+    END IF;
+    LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+    DROP TRIGGER tasks_mirror ON tasks;
+    DROP TRIGGER tasks_mirror_truncate ON tasks;
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+    FOREACH index_name IN ARRAY ARRAY['idx_tasks_search', 'idx_tasks_lease_expires_at', 'idx_tasks_tenant_id',
+                                      'idx_tasks_tenant_status_priority_id', 'idx_tasks_tenant_open_id',
+                                      'idx_tasks_tenant_updated_at_id', 'idx_tasks_tenant_claim']
+    LOOP
+        EXECUTE format('ALTER INDEX IF EXISTS %I RENAME TO %I', index_name, index_name || '_unpartitioned');
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', replace(index_name, 'idx_tasks_', 'idx_tasks_p_'), index_name);
+    END LOOP;
+END $$;
+
+-- Changes are read back per tenant, in seq order.
+ALTER TABLE task_outbox ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+CREATE INDEX IF NOT EXISTS idx_task_outbox_tenant_seq ON task_outbox (tenant_id, seq) WHERE seq IS NOT NULL;
+
+-- Counts are kept per tenant.
+ALTER TABLE task_stats ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE task_stats DROP CONSTRAINT IF EXISTS task_stats_pkey;
+ALTER TABLE task_stats ADD PRIMARY KEY (tenant_id, status, priority);
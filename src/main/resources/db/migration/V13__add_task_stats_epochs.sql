@@ -0,0 +1,25 @@
+-- Counted changes are tagged with an epoch, so a reconcile knows which of them its recount already includes. Every
+-- transaction changing tasks joins the current epoch right before it commits; a reconcile moves on to the next
+-- epoch and recounts, and the changes of earlier epochs that instances flush afterwards are dropped.
+CREATE TABLE IF NOT EXISTS task_stats_epoch (
+    id               BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    epoch            BIGINT  NOT NULL,
+    reconciled_epoch BIGINT  NOT NULL
+);
+
+INSERT INTO task_stats_epoch (epoch, reconciled_epoch) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+-- The rows of the last reconciled epoch hold its recount, those of later epochs the changes flushed since. Counts
+-- kept so far stand for epoch 0.
+ALTER TABLE task_stats ADD COLUMN IF NOT EXISTS epoch BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_stats DROP CONSTRAINT IF EXISTS task_stats_pkey;
+ALTER TABLE task_stats ADD PRIMARY KEY (tenant_id, status, priority, epoch);
+
+-- Holds a shared advisory lock until the calling transaction ends, then reads the epoch. A reconcile takes the
+-- lock exclusively to move to the next epoch, so every transaction that read the previous one has committed by
+-- then. A volatile function reads the epoch with a snapshot taken after the lock is granted.
+CREATE OR REPLACE FUNCTION task_stats_join_epoch() RETURNS BIGINT LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(hashtext('task_stats_epoch'));
+    RETURN (SELECT epoch FROM task_stats_epoch);
+END $$;
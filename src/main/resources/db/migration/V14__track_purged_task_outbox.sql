@@ -0,0 +1,13 @@
+-- The highest sequence number purged from task_outbox so far. Consumers resuming before it may have missed changes
+-- that are gone; the lowest sequence still stored can't tell, since sequence numbers have gaps and the table may be
+-- empty. Until the first purge it starts right before the oldest sequence kept, or at the last one numbered when
+-- none is kept.
+CREATE TABLE IF NOT EXISTS task_outbox_purge (
+    id             BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    purged_through BIGINT  NOT NULL
+);
+
+INSERT INTO task_outbox_purge (purged_through)
+SELECT COALESCE(MIN(seq) - 1, (SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM task_outbox_seq))
+FROM task_outbox
+ON CONFLICT DO NOTHING;
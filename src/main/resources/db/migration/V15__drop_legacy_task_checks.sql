@@ -0,0 +1,5 @@
+-- A tasks table that Hibernate's ddl-auto created before migrations existed has check constraints listing the enum
+-- values of the time. Its status check predates IN_PROGRESS and rejects every claim. The entity enforces both
+-- enums, so the checks go; the priority check only to keep it from doing the same once a priority is added.
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_status_check;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_priority_check;
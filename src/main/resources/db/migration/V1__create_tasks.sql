@@ -0,0 +1,12 @@
+-- Databases that Hibernate created before migrations existed are baselined at version 0, so this script runs on
+-- them too: IF NOT EXISTS keeps their table and only adds the version column their schema predates.
+CREATE TABLE IF NOT EXISTS tasks (
+    id          UUID          NOT NULL PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL,
+    priority    VARCHAR(255)  NOT NULL,
+    version     BIGINT        NOT NULL
+);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Built CONCURRENTLY so writes keep flowing on large tables. A failed build leaves an INVALID index behind:
+-- drop it and run the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_priority_id ON tasks (status, priority, id);
+
+-- Open tasks are what most listings ask for; keep them in a small index of their own, in keyset order.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_open_id ON tasks (id) WHERE status = 'OPEN';
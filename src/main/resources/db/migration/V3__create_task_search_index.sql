@@ -0,0 +1,6 @@
+-- Full-text index over title (weight A) and description (weight B). An expression index rather than a stored
+-- tsvector column, so adding it doesn't rewrite the table. TaskQueryRepositoryImpl must use the same expression.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search ON tasks USING gin (
+    (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B'))
+);
@@ -0,0 +1,18 @@
+-- Task changes, written in the same transaction as the change itself and relayed downstream afterwards.
+-- seq is assigned by the relay, one relay at a time, so it only ever grows in commit order and consumers can
+-- tail published changes with seq > last seen without missing any.
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq;
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id           BIGINT       GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    task_id      UUID         NOT NULL,
+    type         VARCHAR(16)  NOT NULL,
+    payload      TEXT,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    seq          BIGINT,
+    published_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_outbox_unpublished ON task_outbox (id) WHERE published_at IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_task_outbox_seq ON task_outbox (seq);
@@ -0,0 +1,2 @@
+-- Delta sync seeks on (updated_at, id) and reads tombstones too, so the index is not partial.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
@@ -0,0 +1,14 @@
+-- Task counts per status and priority, maintained incrementally by the application and reconciled periodically.
+CREATE TABLE IF NOT EXISTS task_stats (
+    status   VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    count    BIGINT       NOT NULL,
+    PRIMARY KEY (status, priority)
+);
+
+INSERT INTO task_stats (status, priority, count)
+SELECT status, priority, count(*)
+FROM tasks
+WHERE deleted_at IS NULL
+GROUP BY status, priority
+ON CONFLICT (status, priority) DO NOTHING;
@@ -0,0 +1,4 @@
+-- A claimed task is IN_PROGRESS and leased to one worker until lease_expires_at; expired leases are swept back
+-- to OPEN.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMPTZ;
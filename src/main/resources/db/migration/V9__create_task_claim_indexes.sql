@@ -0,0 +1,10 @@
+-- Claims take open tasks highest priority first, oldest first. The rank expression must stay identical to the
+-- one in TaskQueryRepositoryImpl, or the index won't be used.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_claim
+    ON tasks ((CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), id)
+    WHERE status = 'OPEN' AND deleted_at IS NULL;
+
+-- The lease sweeper only looks at tasks in progress.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_lease_expires_at
+    ON tasks (lease_expires_at)
+    WHERE status = 'IN_PROGRESS' AND deleted_at IS NULL;
@@ -0,0 +1,82 @@
+package com.project.task.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void shouldRejectCallersBeyondMaxConcurrency() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        Connection held = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, meterRegistry.get("task.db.gate.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("task.db.gate.active").gauge().value());
+
+        held.close();
+    }
+
+    @Test
+    void shouldReleasePermitWhenConnectionIsClosed() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection().close();
+        Connection second = dataSource.getConnection();
+
+        assertNotNull(second);
+        verify(connection, times(1)).close();
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void shouldReleasePermitOnlyOnceWhenClosedTwice() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        Connection held = dataSource.getConnection();
+        held.close();
+        held.close();
+
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted")).thenReturn(connection);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+    }
+}
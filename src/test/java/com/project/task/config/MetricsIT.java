@@ -0,0 +1,73 @@
+package com.project.task.config;
+
+import com.project.task.domain.dto.CreateTaskRequestDto;
+import com.project.task.domain.entity.TaskPriority;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "task.outbox.relay-interval=1h")
+@Testcontainers
+@AutoConfigureRestTestClient
+@ActiveProfiles("test")
+class MetricsIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17");
+
+    @Autowired
+    private RestTestClient restTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldExposeHotPathMetricsAfterARequest() {
+        restTestClient.post()
+                .uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(
+                        new CreateTaskRequestDto("Measured Task", null, TaskPriority.LOW)))
+                .exchange()
+                .expectStatus().isCreated();
+
+        String scrape = restTestClient.get()
+                .uri("/actuator/prometheus")
+                .accept(MediaType.TEXT_PLAIN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        List<String> samples = scrape.lines().filter(line -> !line.startsWith("#")).toList();
+
+        // Endpoint, service and mapper timers, with histogram buckets for the percentiles.
+        assertThat(samples).anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                && line.contains("uri=\"/api/v1/tasks\"") && line.contains("method=\"POST\""));
+        assertThat(samples).anyMatch(line -> line.startsWith("task_service_seconds_bucket{")
+                && line.contains("method=\"createTask\""));
+        assertThat(samples).anyMatch(line -> line.startsWith("task_mapper_seconds_bucket{")
+                && line.contains("method=\"fromDto\""));
+        assertThat(samples).anyMatch(line -> line.startsWith("task_mapper_seconds_bucket{")
+                && line.contains("method=\"toDto\""));
+        // Hibernate statistics and pool gauges.
+        assertThat(samples).anyMatch(line -> line.startsWith("hibernate_statements_total{"));
+        assertThat(samples).anyMatch(line -> line.startsWith("hibernate_flushes_total{"));
+        assertThat(samples).anyMatch(line -> line.startsWith("hikaricp_connections_active{"));
+    }
+}
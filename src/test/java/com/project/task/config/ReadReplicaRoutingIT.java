@@ -0,0 +1,162 @@
+package com.project.task.config;
+
+import com.project.task.domain.dto.CreateTaskRequestDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.TaskPriority;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"task.datasource.replicas.enabled=true", "task.outbox.relay-interval=1h"})
+@Testcontainers
+@AutoConfigureRestTestClient
+@ActiveProfiles("test")
+class ReadReplicaRoutingIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer primary = new PostgreSQLContainer("postgres:17");
+
+    // Not a real replica: a second instance with the same schema, so each read shows which database answered it.
+    @Container
+    static PostgreSQLContainer replica = new PostgreSQLContainer("postgres:17");
+
+    @Autowired
+    private RestTestClient restTestClient;
+
+    @Autowired
+    private ReadReplicas readReplicas;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("task.datasource.replicas.urls[0]", replica::getJdbcUrl);
+        registry.add("task.datasource.replicas.username", replica::getUsername);
+        registry.add("task.datasource.replicas.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void checkLag() {
+        readReplicas.checkLag();
+    }
+
+    @Test
+    void shouldServeReadsFromReplica() {
+        UUID taskId = UUID.randomUUID();
+        new JdbcTemplate(new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(),
+                replica.getPassword()))
+                .update("insert into tasks (id, title, status, priority, version) values (?, 'Replicated', "
+                        + "'OPEN', 'LOW', 0)", taskId);
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/{taskId}", taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Replicated");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() {
+        TaskDto created = restTestClient.post()
+                .uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new CreateTaskRequestDto("Written", null, TaskPriority.HIGH)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectCookie().exists(ReadYourWritesFilter.COOKIE_NAME)
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Without the cookie, the read goes to the replica, which never saw the write.
+        restTestClient.get()
+                .uri("/api/v1/tasks/{taskId}", created.id())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/{taskId}", created.id())
+                .cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void shouldNotCacheReadsFromReplica() {
+        UUID taskId = UUID.randomUUID();
+        insert(primary, taskId, "Current");
+        insert(replica, taskId, "Stale");
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/{taskId}", taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Stale");
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/{taskId}", taskId)
+                .cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Current");
+    }
+
+    @Test
+    void shouldExportFromPrimaryWhenReadingOwnWrites() {
+        insert(primary, UUID.randomUUID(), "Exported");
+
+        String body = restTestClient.get()
+                .uri("/api/v1/tasks/export")
+                .cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body).contains("Exported");
+    }
+
+    private static void insert(PostgreSQLContainer database, UUID taskId, String title) {
+        new JdbcTemplate(new DriverManagerDataSource(database.getJdbcUrl(), database.getUsername(),
+                database.getPassword()))
+                .update("insert into tasks (id, title, status, priority, version) values (?, ?, 'OPEN', 'LOW', 0)",
+                        taskId, title);
+    }
+}
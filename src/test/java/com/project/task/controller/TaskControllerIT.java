@@ -1,19 +1,37 @@
 package com.project.task.controller;
 
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskLease;
 import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.ClaimTasksRequestDto;
 import com.project.task.domain.dto.CreateTaskRequestDto;
 import com.project.task.domain.entity.Task;
 import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.dto.TaskChangeDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskLeaseDto;
+import com.project.task.domain.dto.TaskLeaseRequestDto;
+import com.project.task.domain.dto.TaskSyncDto;
 import com.project.task.domain.entity.TaskStatus;
+import com.project.task.outbox.TaskChangeFeed;
+import com.project.task.outbox.TaskOutboxRelay;
+import com.project.task.repository.TaskOutboxRepository;
 import com.project.task.repository.TaskRepository;
+import com.project.task.service.TaskClaimService;
 import com.project.task.service.TaskService;
+import com.project.task.stats.TaskStatsCounter;
+import com.project.task.tenant.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.client.RestTestClient;
@@ -22,12 +40,20 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// The outbox relay is driven by the tests themselves; without a sync lag, watermarks move up to the time of the sync.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"task.outbox.relay-interval=1h", "task.sync.lag=0s"})
 @Testcontainers
 @AutoConfigureRestTestClient
 @ActiveProfiles("test")
@@ -45,6 +71,24 @@ class TaskControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TaskStatsCounter taskStatsCounter;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
     @Container
     @ServiceConnection
     static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17");
@@ -58,6 +102,7 @@ class TaskControllerIT {
     @BeforeEach
     void cleanDB() {
         taskRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -111,6 +156,134 @@ class TaskControllerIT {
                 .jsonPath("$[1].priority").isEqualTo("HIGH");
     }
 
+    @Test
+    void shouldKeepTenantsApart() {
+        String id = restTestClient.post()
+                .uri("/api/v1/tasks")
+                .header("X-Tenant-Id", "acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new CreateTaskRequestDto("Acme Task", null, TaskPriority.LOW)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody()
+                .id()
+                .toString();
+        taskService.createTask(new CreateTaskRequest("Default Task", null, TaskPriority.LOW));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/%s".formatted(id))
+                .header("X-Tenant-Id", "acme")
+                .exchange()
+                .expectStatus().isOk();
+        restTestClient.get()
+                .uri("/api/v1/tasks/%s".formatted(id))
+                .exchange()
+                .expectStatus().isNotFound();
+        restTestClient.get()
+                .uri("/api/v1/tasks/%s".formatted(id))
+                .header("X-Tenant-Id", "other")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        restTestClient.get()
+                .uri("/api/v1/tasks")
+                .header("X-Tenant-Id", "acme")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Acme Task");
+        restTestClient.get()
+                .uri("/api/v1/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Default Task");
+    }
+
+    @Test
+    void shouldPageThroughTasksWithPageToken() {
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(new CreateTaskRequest("Task " + i, null, TaskPriority.LOW));
+        }
+
+        var firstPage = restTestClient.get()
+                .uri("/api/v1/tasks?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(TaskController.NEXT_PAGE_TOKEN_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .returnResult();
+
+        String pageToken = firstPage.getResponseHeaders().getFirst(TaskController.NEXT_PAGE_TOKEN_HEADER);
+
+        restTestClient.get()
+                .uri("/api/v1/tasks?size=2&pageToken=%s".formatted(pageToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(TaskController.NEXT_PAGE_TOKEN_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void shouldFilterTasksByStatusAndPriority() {
+        taskService.createTask(new CreateTaskRequest("Low Task", null, TaskPriority.LOW));
+        taskService.createTask(new CreateTaskRequest("High Task", null, TaskPriority.HIGH));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks?status=OPEN&priority=HIGH")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("High Task");
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+        taskService.createTask(new CreateTaskRequest("Write report", "Quarterly numbers for the invoice team",
+                TaskPriority.LOW));
+        taskService.createTask(new CreateTaskRequest("Invoice customers", "Send the monthly invoices",
+                TaskPriority.HIGH));
+        taskService.createTask(new CreateTaskRequest("Plan offsite", null, TaskPriority.MEDIUM));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/search?q=invoice")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(TaskController.NEXT_PAGE_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Invoice customers")
+                .jsonPath("$[1].title").isEqualTo("Write report");
+    }
+
+    @Test
+    void shouldMatchWordPrefixesInPrefixMode() {
+        taskService.createTask(new CreateTaskRequest("Redesign Website", "New landing page", TaskPriority.LOW));
+        taskService.createTask(new CreateTaskRequest("Website copy", null, TaskPriority.LOW));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/search?q=redes web&prefix=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Redesign Website");
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/search?q=redes web")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+
     @Test
     void shouldUpdateTaskSuccessfully() {
         CreateTaskRequest request = new CreateTaskRequest(
@@ -262,4 +435,321 @@ class TaskControllerIT {
                 .jsonPath("$.error")
                 .isEqualTo("Invalid UUID format. Expected format: xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx");
     }
+
+    @Test
+    void shouldReturn304WhenTaskIsUnchanged() {
+        Task createdTask = taskService.createTask(new CreateTaskRequest("Cached Task", null, TaskPriority.LOW));
+
+        String eTag = restTestClient.get()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void shouldNotReturn304WhenAFullPageGainsANextPage() {
+        taskService.createTask(new CreateTaskRequest("First Task", null, TaskPriority.LOW));
+        taskService.createTask(new CreateTaskRequest("Second Task", null, TaskPriority.LOW));
+
+        String eTag = restTestClient.get()
+                .uri("/api/v1/tasks?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(TaskController.NEXT_PAGE_TOKEN_HEADER)
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        // Sorts after the page: same rows, but now there is more to fetch.
+        taskService.createTask(new CreateTaskRequest("Third Task", null, TaskPriority.LOW));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks?size=2")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(TaskController.NEXT_PAGE_TOKEN_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturn412WhenUpdatingWithStaleETag() {
+        Task createdTask = taskService.createTask(new CreateTaskRequest("Initial Task", null, TaskPriority.LOW));
+        UpdateTaskRequest updateTaskRequest = new UpdateTaskRequest(
+                "Updated Task", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+        String staleETag = "\"%d\"".formatted(createdTask.getVersion());
+
+        restTestClient.put()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .header(HttpHeaders.IF_MATCH, staleETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(updateTaskRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"%d\"".formatted(createdTask.getVersion() + 1));
+
+        restTestClient.put()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .header(HttpHeaders.IF_MATCH, staleETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(updateTaskRequest))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void shouldReturnNewETagWhenUpdatingWithoutIfMatch() {
+        Task createdTask = taskService.createTask(new CreateTaskRequest("Initial Task", null, TaskPriority.LOW));
+        UpdateTaskRequest updateTaskRequest = new UpdateTaskRequest(
+                "Updated Task", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+        String newETag = "\"%d\"".formatted(createdTask.getVersion() + 1);
+
+        restTestClient.put()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(updateTaskRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, newETag)
+                .expectBody()
+                .jsonPath("$.version").isEqualTo((int) (createdTask.getVersion() + 1));
+
+        // The returned ETag is the task's current one: a conditional update with it goes through.
+        restTestClient.put()
+                .uri("/api/v1/tasks/%s".formatted(createdTask.getId()))
+                .header(HttpHeaders.IF_MATCH, newETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(updateTaskRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"%d\"".formatted(createdTask.getVersion() + 2));
+    }
+
+    @Test
+    void shouldRelayTaskChangesInCommitOrder() {
+        taskOutboxRelay.relay();
+        long since = taskChangeFeed.latestSequence();
+
+        Task task = taskService.createTask(new CreateTaskRequest("Relayed", null, TaskPriority.LOW));
+        TenantContext.runAs(TenantContext.DEFAULT, () -> {
+            taskService.updateTask(task.getId(), new UpdateTaskRequest("Relayed", null, TaskStatus.COMPLETE,
+                    TaskPriority.LOW));
+            taskService.deleteTask(task.getId());
+        });
+        taskOutboxRelay.relay();
+
+        List<TaskChangeDto> changes = taskChangeFeed.changesAfter(TenantContext.DEFAULT, since, 10);
+        assertThat(changes).extracting(TaskChangeDto::type).containsExactly(
+                TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.UPDATED, TaskChangedEvent.Type.DELETED);
+        assertThat(changes).allSatisfy(change -> assertThat(change.taskId()).isEqualTo(task.getId()));
+        assertThat(changes.get(1).task().status()).isEqualTo(TaskStatus.COMPLETE);
+        assertThat(changes.get(2).task()).isNull();
+    }
+
+    @Test
+    void shouldAnswer410WhenResumingBeforePurgedChanges() {
+        taskService.createTask(new CreateTaskRequest("Purged", null, TaskPriority.LOW));
+        taskOutboxRelay.relay();
+        long purged = taskChangeFeed.latestSequence();
+        taskOutboxRepository.deletePublishedBefore(Instant.now().plusSeconds(1));
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/changes?since={since}", purged - 1)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GONE);
+        restTestClient.get()
+                .uri("/api/v1/tasks/changes")
+                .header(TaskChangeController.LAST_EVENT_ID_HEADER, String.valueOf(purged - 1))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GONE);
+        // Nothing after the purged sequence is missing.
+        assertThat(taskChangeFeed.changesAfter(TenantContext.DEFAULT, purged, 10)).isEmpty();
+        assertThat(taskChangeFeed.latestSequence()).isEqualTo(purged);
+    }
+
+    @Test
+    void shouldSyncOnlyChangesSinceWatermark() {
+        Task kept = taskService.createTask(new CreateTaskRequest("Kept", null, TaskPriority.LOW));
+        Task updated = taskService.createTask(new CreateTaskRequest("Updated", null, TaskPriority.LOW));
+        Task deleted = taskService.createTask(new CreateTaskRequest("Deleted", null, TaskPriority.LOW));
+
+        TaskSyncDto initial = sync(null);
+        assertThat(initial.changed()).extracting("id")
+                .containsExactlyInAnyOrder(kept.getId(), updated.getId(), deleted.getId());
+
+        TenantContext.runAs(TenantContext.DEFAULT, () -> {
+            taskService.updateTask(updated.getId(), new UpdateTaskRequest("Updated", null, TaskStatus.COMPLETE,
+                    TaskPriority.LOW));
+            taskService.deleteTask(deleted.getId());
+        });
+
+        TaskSyncDto delta = sync(initial.watermark());
+        assertThat(delta.changed()).extracting("id").containsExactly(updated.getId());
+        assertThat(delta.deleted()).containsExactly(deleted.getId());
+        assertThat(delta.hasMore()).isFalse();
+
+        assertThat(sync(delta.watermark()).changed()).isEmpty();
+        assertThat(taskRepository.findById(deleted.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldCountTasksByStatusAndPriority() {
+        taskStatsCounter.reconcile();
+        Task task = taskService.createTask(new CreateTaskRequest("Counted", null, TaskPriority.HIGH));
+        taskService.createTask(new CreateTaskRequest("Counted", null, TaskPriority.HIGH));
+        TenantContext.runAs(TenantContext.DEFAULT, () -> taskService.updateTask(task.getId(),
+                new UpdateTaskRequest("Counted", null, TaskStatus.COMPLETE, TaskPriority.HIGH)));
+        taskStatsCounter.flush();
+
+        restTestClient.get()
+                .uri("/api/v1/tasks/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.counts.OPEN.HIGH").isEqualTo(1)
+                .jsonPath("$.counts.COMPLETE.HIGH").isEqualTo(1)
+                .jsonPath("$.counts.OPEN.LOW").isEqualTo(0);
+    }
+
+    @Test
+    void shouldClaimHighestPriorityTasksFirst() {
+        Task low = taskService.createTask(new CreateTaskRequest("Low", null, TaskPriority.LOW));
+        Task high = taskService.createTask(new CreateTaskRequest("High", null, TaskPriority.HIGH));
+        Task medium = taskService.createTask(new CreateTaskRequest("Medium", null, TaskPriority.MEDIUM));
+
+        List<TaskLeaseDto> first = claim("worker-1", 2);
+        assertThat(first).extracting(lease -> lease.task().id()).containsExactly(high.getId(), medium.getId());
+        assertThat(first).allSatisfy(lease -> {
+            assertThat(lease.task().status()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(lease.worker()).isEqualTo("worker-1");
+        });
+
+        assertThat(claim("worker-2", 10)).extracting(lease -> lease.task().id()).containsExactly(low.getId());
+        assertThat(claim("worker-3", 10)).isEmpty();
+
+        restTestClient.post()
+                .uri("/api/v1/tasks/{taskId}/complete", high.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new TaskLeaseRequestDto("worker-2")))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        restTestClient.post()
+                .uri("/api/v1/tasks/{taskId}/complete", high.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new TaskLeaseRequestDto("worker-1")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("COMPLETE");
+    }
+
+    @Test
+    void shouldOnlyMoveTasksToInProgressByClaimingThem() {
+        Task open = taskService.createTask(new CreateTaskRequest("Open", null, TaskPriority.HIGH));
+
+        restTestClient.put()
+                .uri("/api/v1/tasks/{taskId}", open.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(
+                        new UpdateTaskRequest("Open", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(claim("worker-1", 1)).extracting(lease -> lease.task().id()).containsExactly(open.getId());
+
+        // Edits keep the lease; moving the task out of IN_PROGRESS ends it.
+        restTestClient.put()
+                .uri("/api/v1/tasks/{taskId}", open.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(
+                        new UpdateTaskRequest("Renamed", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH)))
+                .exchange()
+                .expectStatus().isOk();
+        restTestClient.put()
+                .uri("/api/v1/tasks/{taskId}", open.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(
+                        new UpdateTaskRequest("Renamed", null, TaskStatus.OPEN, TaskPriority.HIGH)))
+                .exchange()
+                .expectStatus().isOk();
+
+        restTestClient.post()
+                .uri("/api/v1/tasks/{taskId}/complete", open.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new TaskLeaseRequestDto("worker-1")))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void shouldNeverHandTheSameTaskToTwoWorkers() throws Exception {
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(new CreateTaskRequest("Task " + i, null, TaskPriority.values()[i % 3]));
+        }
+        taskService.createTasks(requests);
+
+        List<Future<List<UUID>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                String worker = "worker-" + i;
+                workers.add(executor.submit(() -> {
+                    List<UUID> claimed = new ArrayList<>();
+                    TenantContext.runAs(TenantContext.DEFAULT, () -> {
+                        List<TaskLease> leases;
+                        while (!(leases = taskClaimService.claimTasks(worker, 5)).isEmpty()) {
+                            leases.forEach(lease -> claimed.add(lease.task().getId()));
+                        }
+                    });
+                    return claimed;
+                }));
+            }
+        }
+
+        List<UUID> claimed = new ArrayList<>();
+        for (Future<List<UUID>> worker : workers) {
+            claimed.addAll(worker.get());
+        }
+        assertThat(claimed).hasSize(200).doesNotHaveDuplicates();
+    }
+
+    private TaskSyncDto sync(String since) {
+        return restTestClient.get()
+                .uri(since == null ? "/api/v1/tasks/sync" : "/api/v1/tasks/sync?since=" + since)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskSyncDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private List<TaskLeaseDto> claim(String worker, int size) {
+        return restTestClient.post()
+                .uri("/api/v1/tasks/claim")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(new ClaimTasksRequestDto(worker, size)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<TaskLeaseDto>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+    }
 }
@@ -1,6 +1,12 @@
 package com.project.task.controller;
 
+import com.project.task.config.TenantConfig;
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.TaskSearchPage;
+import com.project.task.domain.TaskSyncPage;
+import com.project.task.domain.SyncWatermark;
 import com.project.task.domain.UpdateTaskRequest;
 import com.project.task.domain.dto.CreateTaskRequestDto;
 import com.project.task.domain.dto.TaskDto;
@@ -10,25 +16,39 @@ import com.project.task.domain.entity.TaskPriority;
 import com.project.task.domain.entity.TaskStatus;
 import com.project.task.domain.mapper.TaskMapper;
 import com.project.task.service.TaskService;
+import com.project.task.service.TaskSyncService;
+import com.project.task.subscription.TaskSubscriptionHub;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(TaskController.class)
+@Import(TenantConfig.class)
 class TaskControllerTest {
 
     @Autowired
@@ -40,6 +60,12 @@ class TaskControllerTest {
     @MockitoBean
     private TaskMapper taskMapper;
 
+    @MockitoBean
+    private TaskSyncService taskSyncService;
+
+    @MockitoBean
+    private TaskSubscriptionHub taskSubscriptionHub;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,7 +87,8 @@ class TaskControllerTest {
                 "Update the company website with a new design",
                 TaskPriority.LOW);
 
-        TaskDto taskDto = new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus());
+        TaskDto taskDto = new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(),
+                task.getVersion());
 
         when(taskMapper.fromDto(taskRequestDto)).thenReturn(taskRequest);
         when(taskService.createTask(taskRequest)).thenReturn(task);
@@ -80,26 +107,194 @@ class TaskControllerTest {
 
     @Test
     void shouldReturnAllTask() {
-        Task firstTask = Task.create(
-                "firstTask",
-                "first task description",
-                TaskPriority.LOW);
+        TaskDto firstTask = new TaskDto(UUID.randomUUID(), "firstTask", "first task description",
+                TaskPriority.LOW, TaskStatus.OPEN, 0L);
 
-        Task secondTask = Task.create(
-                "second Task",
-                "second task description",
-                TaskPriority.MEDIUM);
+        TaskDto secondTask = new TaskDto(UUID.randomUUID(), "second Task", "second task description",
+                TaskPriority.MEDIUM, TaskStatus.OPEN, 0L);
 
-        List<Task> tasks = List.of(firstTask, secondTask);
+        List<TaskDto> tasks = List.of(firstTask, secondTask);
 
-        given(taskService.getAllTasks()).willReturn(tasks);
+        given(taskService.getTasks(TaskFilter.none(), null, 100)).willReturn(new TaskPage(tasks, null));
 
         mockMvc.get()
             .uri("/api/v1/tasks")
             .contentType(MediaType.APPLICATION_JSON)
             .assertThat()
             .hasStatusOk()
+            .doesNotContainHeader(TaskController.NEXT_PAGE_TOKEN_HEADER)
             .bodyJson().extractingPath("$").isNotEmpty();
+
+        verify(taskMapper, never()).toDto(any(Task.class));
+    }
+
+    @Test
+    void shouldRoundTripPageTokenWhenMoreTasksExist() {
+        UUID cursor = UUID.randomUUID();
+        TaskDto task = new TaskDto(UUID.randomUUID(), "task", "task description", TaskPriority.HIGH,
+                TaskStatus.OPEN, 0L);
+        TaskFilter filter = new TaskFilter(TaskStatus.OPEN, TaskPriority.HIGH);
+
+        given(taskService.getTasks(filter, null, 1)).willReturn(new TaskPage(List.of(task), cursor));
+
+        var firstPage = mockMvc.get()
+                .uri("/api/v1/tasks?status=OPEN&priority=HIGH&size=1")
+                .exchange();
+
+        assertThat(firstPage).hasStatusOk().containsHeader(TaskController.NEXT_PAGE_TOKEN_HEADER);
+        String pageToken = firstPage.getResponse().getHeader(TaskController.NEXT_PAGE_TOKEN_HEADER);
+
+        given(taskService.getTasks(filter, cursor, 1)).willReturn(new TaskPage(List.of(), null));
+
+        mockMvc.get()
+                .uri("/api/v1/tasks?status=OPEN&priority=HIGH&size=1&pageToken=%s".formatted(pageToken))
+                .assertThat()
+                .hasStatusOk();
+
+        verify(taskService).getTasks(filter, cursor, 1);
+    }
+
+    @Test
+    void shouldRoundTripSyncWatermark() throws Exception {
+        UUID deletedId = UUID.randomUUID();
+        SyncWatermark watermark = new SyncWatermark(Instant.parse("2026-01-02T03:04:05.123456Z"), deletedId);
+        TaskSyncPage page = new TaskSyncPage(List.of(), List.of(deletedId), watermark, false);
+
+        given(taskSyncService.syncTasks(null, 500)).willReturn(page);
+        given(taskSyncService.syncTasks(watermark, 500)).willReturn(page);
+
+        var firstSync = mockMvc.get()
+                .uri("/api/v1/tasks/sync")
+                .exchange();
+
+        assertThat(firstSync)
+                .hasStatusOk()
+                .bodyJson().extractingPath("$.deleted[0]").isEqualTo(deletedId.toString());
+
+        String token = objectMapper.readTree(firstSync.getResponse().getContentAsString()).get("watermark").asString();
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/sync?since=" + token)
+                .assertThat()
+                .hasStatusOk();
+
+        verify(taskSyncService).syncTasks(watermark, 500);
+    }
+
+    @Test
+    void shouldReturn400WhenSyncWatermarkIsMalformed() {
+        mockMvc.get()
+                .uri("/api/v1/tasks/sync?since=not-a-watermark")
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldSubscribeWithRequestedFilter() {
+        TaskFilter filter = new TaskFilter(TaskStatus.OPEN, null);
+        given(taskSubscriptionHub.subscribe("default", filter)).willReturn(new SseEmitter());
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/subscribe?status=OPEN")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .assertThat()
+                .request().hasAsyncStarted(true);
+
+        verify(taskSubscriptionHub).subscribe("default", filter);
+    }
+
+    @Test
+    void shouldSubscribeForTheTenantInTheHeader() {
+        TaskFilter filter = new TaskFilter(null, null);
+        given(taskSubscriptionHub.subscribe("acme", filter)).willReturn(new SseEmitter());
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/subscribe")
+                .header("X-Tenant-Id", "acme")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .assertThat()
+                .request().hasAsyncStarted(true);
+
+        verify(taskSubscriptionHub).subscribe("acme", filter);
+    }
+
+    @Test
+    void shouldRejectInvalidTenantIds() {
+        mockMvc.get()
+                .uri("/api/v1/tasks")
+                .header("X-Tenant-Id", "*")
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST);
+
+        verify(taskService, never()).getTasks(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    void shouldReturnSearchResultsWithNextPage() {
+        TaskDto task = new TaskDto(UUID.randomUUID(), "Invoice customers", null, TaskPriority.HIGH,
+                TaskStatus.OPEN, 0L);
+
+        given(taskService.searchTasks("invoice", true, 2, 1)).willReturn(new TaskSearchPage(List.of(task), true));
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/search?q=invoice&prefix=true&page=2&size=1")
+                .assertThat()
+                .hasStatusOk()
+                .hasHeader(TaskController.NEXT_PAGE_HEADER, "3")
+                .bodyJson().extractingPath("$[0].title").isEqualTo("Invoice customers");
+    }
+
+    @Test
+    void shouldReturn400WhenSearchQueryIsBlank() {
+        mockMvc.get()
+                .uri("/api/v1/tasks/search?q= ")
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST);
+
+        verify(taskService, never()).searchTasks(any(), any(Boolean.class), any(Integer.class), any(Integer.class));
+    }
+
+    @Test
+    void shouldReturn400WhenPageTokenIsInvalid() {
+        mockMvc.get()
+                .uri("/api/v1/tasks?pageToken=not-a-token")
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson().extractingPath("$.error").isEqualTo("Invalid page token 'not-a-token'");
+    }
+
+    @Test
+    void shouldReturn400WhenPageSizeIsTooLarge() {
+        mockMvc.get()
+                .uri("/api/v1/tasks?size=1001")
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldExportTasksAsNdjson() throws Exception {
+        Task firstTask = Task.create("first", null, TaskPriority.LOW);
+        Task secondTask = Task.create("second", null, TaskPriority.HIGH);
+
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            consumer.accept(firstTask);
+            consumer.accept(secondTask);
+            return null;
+        }).when(taskService).exportTasks(any());
+        when(taskMapper.toDto(any(Task.class))).thenReturn(
+                new TaskDto(UUID.randomUUID(), "first", null, TaskPriority.LOW, TaskStatus.OPEN, 0L),
+                new TaskDto(UUID.randomUUID(), "second", null, TaskPriority.HIGH, TaskStatus.OPEN, 0L));
+
+        var result = mockMvc.get()
+                .uri("/api/v1/tasks/export")
+                .exchange();
+
+        assertThat(result).hasStatusOk().hasContentType(MediaType.APPLICATION_NDJSON);
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"title\":\"first\"");
+        assertThat(lines.get(1)).contains("\"title\":\"second\"");
     }
 
     @Test
@@ -122,7 +317,8 @@ class TaskControllerTest {
                 "Initial design for the company",
                 TaskPriority.LOW
         );
-        TaskDto taskDto = new TaskDto(taskId, task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus());
+        TaskDto taskDto = new TaskDto(taskId, task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(),
+                task.getVersion());
 
         when(taskMapper.fromDto(any(UpdateTaskRequestDto.class))).thenReturn(updateTaskRequest);
         when(taskService.updateTask(eq(taskId), any(UpdateTaskRequest.class))).thenReturn(task);
@@ -147,4 +343,143 @@ class TaskControllerTest {
                 .hasStatus(HttpStatus.NO_CONTENT);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldCreateTasksInBatch() {
+        List<CreateTaskRequestDto> dtos = List.of(
+                new CreateTaskRequestDto("first", null, TaskPriority.LOW),
+                new CreateTaskRequestDto("second", null, TaskPriority.HIGH));
+        Task firstTask = Task.create("first", null, TaskPriority.LOW);
+        Task secondTask = Task.create("second", null, TaskPriority.HIGH);
+
+        when(taskMapper.fromDto(any(CreateTaskRequestDto.class)))
+                .thenReturn(new CreateTaskRequest("first", null, TaskPriority.LOW),
+                        new CreateTaskRequest("second", null, TaskPriority.HIGH));
+        when(taskService.createTasks(any())).thenReturn(List.of(firstTask, secondTask));
+        when(taskMapper.toDto(any(Task.class))).thenReturn(
+                new TaskDto(UUID.randomUUID(), "first", null, TaskPriority.LOW, TaskStatus.OPEN, 0L),
+                new TaskDto(UUID.randomUUID(), "second", null, TaskPriority.HIGH, TaskStatus.OPEN, 0L));
+
+        mockMvc.post()
+                .uri("/api/v1/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dtos))
+                .assertThat()
+                .hasStatus(HttpStatus.CREATED)
+                .bodyJson()
+                .extractingPath("$[*].status").asArray().containsExactly("CREATED", "CREATED");
+    }
+
+    @Test
+    void shouldReturn400WhenAnyTaskOfABatchIsInvalid() {
+        List<CreateTaskRequestDto> dtos = List.of(
+                new CreateTaskRequestDto("valid", null, TaskPriority.LOW),
+                new CreateTaskRequestDto("invalid", null, null));
+
+        mockMvc.post()
+                .uri("/api/v1/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dtos))
+                .assertThat()
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson().extractingPath("$.error").isEqualTo("Priority must not be null.");
+    }
+
+    @Test
+    void shouldReportUnknownIdsWhenDeletingInBatch() {
+        UUID deletedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+
+        when(taskService.deleteTasks(List.of(deletedId, missingId))).thenReturn(Set.of(deletedId));
+
+        mockMvc.post()
+                .uri("/api/v1/tasks/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(deletedId, missingId)))
+                .assertThat()
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].status").asArray().containsExactly("DELETED", "NOT_FOUND");
+    }
+
+    @Test
+    void shouldReturnTaskWithVersionAsETag() {
+        UUID taskId = UUID.randomUUID();
+        Task task = taskWithVersion(3L);
+
+        when(taskService.getTask(taskId)).thenReturn(task);
+        when(taskMapper.toDto(task)).thenReturn(
+                new TaskDto(taskId, task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), 3L));
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/%s".formatted(taskId))
+                .assertThat()
+                .hasStatusOk()
+                .hasHeader(HttpHeaders.ETAG, "\"3\"")
+                .bodyJson().extractingPath("$.version").isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturn304WithoutMappingWhenTaskIsUnchanged() {
+        UUID taskId = UUID.randomUUID();
+
+        when(taskService.getTask(taskId)).thenReturn(taskWithVersion(3L));
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/%s".formatted(taskId))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .assertThat()
+                .hasStatus(HttpStatus.NOT_MODIFIED);
+
+        verify(taskMapper, never()).toDto(any(Task.class));
+    }
+
+    @Test
+    void shouldUpdateConditionallyWhenIfMatchIsPresent() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequestDto updateRequestDto = new UpdateTaskRequestDto(
+                "Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+        UpdateTaskRequest updateTaskRequest = new UpdateTaskRequest(
+                "Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+        Task task = Task.restore(taskId, "default", "Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH, 4L);
+
+        when(taskMapper.fromDto(any(UpdateTaskRequestDto.class))).thenReturn(updateTaskRequest);
+        when(taskService.updateTask(taskId, updateTaskRequest, 3L)).thenReturn(task);
+        when(taskMapper.toDto(task)).thenReturn(
+                new TaskDto(taskId, "Updated", null, TaskPriority.HIGH, TaskStatus.COMPLETE, 4L));
+
+        mockMvc.put()
+                .uri("/api/v1/tasks/%s".formatted(taskId))
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequestDto))
+                .assertThat()
+                .hasStatusOk()
+                .hasHeader(HttpHeaders.ETAG, "\"4\"");
+    }
+
+    @Test
+    void shouldReturn412WhenIfMatchIsStale() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequestDto updateRequestDto = new UpdateTaskRequestDto(
+                "Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+
+        when(taskMapper.fromDto(any(UpdateTaskRequestDto.class))).thenReturn(
+                new UpdateTaskRequest("Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH));
+        when(taskService.updateTask(eq(taskId), any(UpdateTaskRequest.class), eq(2L)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, taskId));
+
+        mockMvc.put()
+                .uri("/api/v1/tasks/%s".formatted(taskId))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequestDto))
+                .assertThat()
+                .hasStatus(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private static Task taskWithVersion(Long version) {
+        Task task = Task.create("task", "task description", TaskPriority.MEDIUM);
+        ReflectionTestUtils.setField(task, "version", version);
+        return task;
+    }
+}
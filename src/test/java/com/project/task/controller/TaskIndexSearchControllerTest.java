@@ -0,0 +1,68 @@
+package com.project.task.controller;
+
+import com.project.task.config.TenantConfig;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskIndexSearchResultDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.SearchIndexNotReadyException;
+import com.project.task.search.TaskIndexQuery;
+import com.project.task.search.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@WebMvcTest(controllers = TaskIndexSearchController.class, properties = "task.search.index.enabled=true")
+@Import(TenantConfig.class)
+class TaskIndexSearchControllerTest {
+
+    @Autowired
+    private MockMvcTester mockMvc;
+
+    @MockitoBean
+    private TaskSearchIndex taskSearchIndex;
+
+    @Test
+    void shouldReturnMatchesWithFacetCounts() {
+        TaskDto task = new TaskDto(UUID.randomUUID(), "Deploy api", null, TaskPriority.HIGH, TaskStatus.OPEN, 0L);
+        TaskIndexQuery query = new TaskIndexQuery("default", "deploy OR release", TaskStatus.OPEN, null, 20, 10);
+
+        given(taskSearchIndex.search(query)).willReturn(new TaskIndexSearchResultDto(
+                List.of(task), 21,
+                Map.of(TaskStatus.OPEN, 21, TaskStatus.COMPLETE, 4),
+                Map.of(TaskPriority.HIGH, 25)));
+
+        var result = mockMvc.get()
+                .uri("/api/v1/tasks/index-search?q=deploy OR release&status=OPEN&page=2&size=10")
+                .exchange();
+
+        assertThat(result).hasStatusOk();
+        assertThat(result).bodyJson().extractingPath("$.tasks[0].title").isEqualTo("Deploy api");
+        assertThat(result).bodyJson().extractingPath("$.total").isEqualTo(21);
+        assertThat(result).bodyJson().extractingPath("$.statusCounts.COMPLETE").isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturn503WhileIndexIsLoading() {
+        given(taskSearchIndex.search(any())).willThrow(new SearchIndexNotReadyException());
+
+        mockMvc.get()
+                .uri("/api/v1/tasks/index-search?q=deploy")
+                .assertThat()
+                .hasStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .containsHeader(HttpHeaders.RETRY_AFTER);
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.task.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void shouldSetVersionAndVariant() {
+        UUID uuid = UuidV7.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void shouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+
+        assertTrue(timestamp >= before, "timestamp should not be before generation");
+        assertTrue(timestamp <= after + 1, "timestamp should not be after generation");
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasingInByteOrder() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7.next());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            // PostgreSQL compares uuid values as unsigned bytes; the most significant half decides the order here.
+            int comparison = Long.compareUnsigned(
+                    uuids.get(i - 1).getMostSignificantBits(),
+                    uuids.get(i).getMostSignificantBits());
+            assertTrue(comparison < 0, "ids must be strictly increasing");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIngestJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldRecoverUncommittedTasksAfterRestart() throws IOException {
+        Task first = Task.create("first", "first description", TaskPriority.LOW);
+        Task second = Task.create("second", null, TaskPriority.HIGH);
+
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            journal.append(first);
+            journal.append(second);
+        }
+
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            List<Task> recovered = journal.recovered();
+
+            assertThat(recovered).extracting(Task::getId).containsExactly(first.getId(), second.getId());
+            assertThat(recovered.getFirst().getDescription()).isEqualTo("first description");
+            assertThat(recovered.getLast().getDescription()).isNull();
+            assertThat(recovered.getLast().getPriority()).isEqualTo(TaskPriority.HIGH);
+        }
+    }
+
+    @Test
+    void shouldNotRecoverCommittedTasks() throws IOException {
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            long position = journal.append(Task.create("first", null, TaskPriority.LOW));
+            journal.commit(position);
+        }
+
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            assertThat(journal.recovered()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldDropFullyCommittedSegments() throws IOException {
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 64, true)) {
+            long first = journal.append(Task.create("first", null, TaskPriority.LOW));
+            journal.append(Task.create("second", null, TaskPriority.LOW));
+            journal.append(Task.create("third", null, TaskPriority.LOW));
+            assertThat(segments()).hasSize(3);
+
+            journal.commit(first);
+
+            assertThat(segments()).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldStopAtTornRecord() throws IOException {
+        Task first = Task.create("first", null, TaskPriority.LOW);
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            journal.append(first);
+            journal.append(Task.create("second", null, TaskPriority.LOW));
+        }
+        Path segment = segments().getFirst();
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(segment) - 3);
+        }
+
+        try (TaskIngestJournal journal = TaskIngestJournal.open(directory, 1024 * 1024, false)) {
+            assertThat(journal.recovered()).extracting(Task::getId).containsExactly(first.getId());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> Files.isRegularFile(path)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.exception.IngestQueueFullException;
+import com.project.task.exception.IngestUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskIngestQueueTest {
+
+    private static final CreateTaskRequest REQUEST = new CreateTaskRequest("task", null, TaskPriority.LOW);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TaskIngestQueue queue = new TaskIngestQueue(2, null, false, meterRegistry);
+
+    @Test
+    void shouldRejectTasksWhenFull() {
+        queue.submit(REQUEST);
+        queue.submit(REQUEST);
+
+        assertThatThrownBy(() -> queue.submit(REQUEST)).isInstanceOf(IngestQueueFullException.class);
+        assertThat(meterRegistry.get("task.ingest.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("task.ingest.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldHandOverTasksInSubmissionOrder() throws InterruptedException {
+        Task first = queue.submit(REQUEST);
+        Task second = queue.submit(REQUEST);
+
+        List<TaskIngestQueue.Entry> batch = queue.take(10, Duration.ZERO, Duration.ZERO);
+
+        assertThat(batch).extracting(TaskIngestQueue.Entry::task).containsExactly(first, second);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectTasksAfterClose() {
+        queue.close();
+
+        assertThatThrownBy(() -> queue.submit(REQUEST)).isInstanceOf(IngestQueueFullException.class);
+    }
+
+    @Test
+    void shouldRefuseTasksOnceTheWriterHasFailed() {
+        queue.fail();
+
+        assertThatThrownBy(() -> queue.submit(REQUEST)).isInstanceOf(IngestUnavailableException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.task.ingest;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskIngestWriterTest {
+
+    private static final CreateTaskRequest REQUEST = new CreateTaskRequest("task", null, TaskPriority.LOW);
+
+    @Mock
+    private TaskIngestJournal journal;
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskIngestWriter writer;
+
+    @AfterEach
+    void stopWriter() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void shouldKeepWritingWhenTheJournalFailsToReleaseABatch() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskIngestQueue queue = new TaskIngestQueue(10, journal, false, meterRegistry);
+        when(journal.recovered()).thenReturn(List.of());
+        when(journal.append(any())).thenReturn(1L, 2L);
+        IOException diskFull = new IOException("No space left on device");
+        AtomicReference<Throwable> failureBeforeRetry = new AtomicReference<>();
+        doThrow(diskFull)
+                .doAnswer(invocation -> {
+                    failureBeforeRetry.set(writer.failure());
+                    return null;
+                })
+                .when(journal).commit(anyLong());
+        writer = new TaskIngestWriter(queue, journal, taskService, 10, Duration.ZERO, meterRegistry);
+        writer.start();
+
+        queue.submit(REQUEST);
+        verify(journal, timeout(1000)).commit(1L);
+        queue.submit(REQUEST);
+        verify(journal, timeout(1000)).commit(2L);
+        writer.stop();
+
+        verify(taskService, times(2)).ingestTasks(anyList());
+        assertThat(failureBeforeRetry.get()).isSameAs(diskFull);
+        assertThat(writer.failure()).isNull();
+    }
+
+    @Test
+    void shouldDropOnlyTheTasksThatCantBeWritten() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskIngestQueue queue = new TaskIngestQueue(10, journal, false, meterRegistry);
+        when(journal.recovered()).thenReturn(List.of());
+        when(journal.append(any())).thenReturn(1L, 2L, 3L, 4L);
+        List<String> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(task -> task.getTitle().equals("bad"))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            tasks.forEach(task -> written.add(task.getTitle()));
+            return tasks;
+        }).when(taskService).ingestTasks(anyList());
+
+        // Queued before the writer starts, so they make up one batch.
+        for (String title : List.of("first", "bad", "third", "fourth")) {
+            queue.submit(new CreateTaskRequest(title, null, TaskPriority.LOW));
+        }
+        writer = new TaskIngestWriter(queue, journal, taskService, 10, Duration.ZERO, meterRegistry);
+        writer.start();
+
+        verify(journal, timeout(1000)).commit(4L);
+        writer.stop();
+
+        assertThat(written).containsExactlyInAnyOrder("first", "third", "fourth");
+        assertThat(meterRegistry.get("task.ingest.dropped").counter().count()).isEqualTo(1);
+        assertThat(writer.failure()).isNull();
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.task.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * In-process Postgres shared by the load tests. Started once per JVM; the embedded server stops itself on
+ * shutdown.
+ */
+final class EmbeddedDatabase {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    private EmbeddedDatabase() {
+    }
+
+    static void register(DynamicPropertyRegistry registry) {
+        properties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * The connection properties, for applications started outside the test context framework.
+     */
+    static Map<String, Object> properties() {
+        return Map.of(
+                "spring.datasource.url", POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "spring.datasource.username", "postgres",
+                "spring.datasource.password", "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.task.loadtest;
+
+import com.project.task.domain.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same number of rows keyed by random (version 4) and by time-ordered (version 7) UUIDs, and compares
+ * insert throughput and the size and leaf density of each primary key index. The report goes to
+ * {@code target/loadtest/task-id-inserts.json}.
+ * <p>
+ * Run it with {@code ./mvnw -Pload-test test -Dtest=TaskIdInsertTest}. Rows default to 1M per key type; pass
+ * {@code -Dloadtest.id-rows=10000000} for the full comparison.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskIdInsertTest {
+
+    private static final long ROWS = Long.getLong("loadtest.id-rows", 1_000_000);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-id-inserts.json");
+
+    private static final String INSERT_SQL = "insert into %s (id, tenant_id, title, description, status, priority,"
+            + " version) values (?, 'default', ?, 'Inserted by the load test', 'OPEN', 'LOW', 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void randomVersusTimeOrderedKeys() {
+        boolean pgstattuple = createPgstattuple();
+
+        Map<String, InsertReport> report = new LinkedHashMap<>();
+        report.put("uuidV4", measure("task_ids_v4", UUID::randomUUID, pgstattuple));
+        report.put("uuidV7", measure("task_ids_v7", UuidV7::next, pgstattuple));
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        // Appending to the right edge leaves leaves full; random keys split pages all over the index.
+        assertThat(report.get("uuidV7").indexBytes()).isLessThan(report.get("uuidV4").indexBytes());
+    }
+
+    private InsertReport measure(String table, Supplier<UUID> ids, boolean pgstattuple) {
+        jdbcTemplate.execute("drop table if exists " + table);
+        jdbcTemplate.execute("create table " + table + " (id uuid primary key, tenant_id varchar(255) not null,"
+                + " title varchar(255) not null, description varchar(1000), status varchar(255) not null,"
+                + " priority varchar(255) not null, version bigint not null)");
+
+        String sql = INSERT_SQL.formatted(table);
+        long start = System.nanoTime();
+        for (long offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (long row = offset; row < Math.min(offset + BATCH_SIZE, ROWS); row++) {
+                batch.add(new Object[]{ids.get(), "Task " + row});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String index = table + "_pkey";
+        long indexBytes = jdbcTemplate.queryForObject("select pg_relation_size(to_regclass(?))", Long.class, index);
+        long tableBytes = jdbcTemplate.queryForObject("select pg_relation_size(to_regclass(?))", Long.class, table);
+        Double leafDensity = null;
+        Double leafFragmentation = null;
+        if (pgstattuple) {
+            Map<String, Object> stats = jdbcTemplate.queryForMap(
+                    "select avg_leaf_density, leaf_fragmentation from pgstatindex(?)", index);
+            leafDensity = ((Number) stats.get("avg_leaf_density")).doubleValue();
+            leafFragmentation = ((Number) stats.get("leaf_fragmentation")).doubleValue();
+        }
+        jdbcTemplate.execute("drop table " + table);
+
+        return new InsertReport(ROWS, elapsedSeconds, ROWS / elapsedSeconds, tableBytes, indexBytes, leafDensity,
+                leafFragmentation);
+    }
+
+    /**
+     * Leaf density needs the pgstattuple extension; without it, the report only has sizes.
+     */
+    private boolean createPgstattuple() {
+        try {
+            jdbcTemplate.execute("create extension if not exists pgstattuple");
+            return true;
+        } catch (DataAccessException exception) {
+            return false;
+        }
+    }
+
+    record InsertReport(long rows,
+                        double elapsedSeconds,
+                        double rowsPerSecond,
+                        long tableBytes,
+                        long indexBytes,
+                        Double avgLeafDensityPercent,
+                        Double leafFragmentationPercent) {
+    }
+}
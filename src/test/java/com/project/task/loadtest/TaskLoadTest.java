@@ -0,0 +1,388 @@
+package com.project.task.loadtest;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.dto.CreateTaskRequestDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.UpdateTaskRequestDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.repository.TaskRepository;
+import com.project.task.service.TaskService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mixed create/get/list/update/delete workload against the full application, backed by an
+ * in-process Postgres, and writes throughput, latency percentiles and GC activity to
+ * {@code target/loadtest/task-load-test.json}.
+ * <p>
+ * Excluded from the regular build; run it with {@code ./mvnw -Pload-test test}. Every knob is a system
+ * property, e.g. {@code -Dloadtest.concurrency=64 -Dloadtest.duration-seconds=120}, and any application
+ * property can be overridden the same way to compare configurations, e.g.
+ * {@code -Dspring.threads.virtual.enabled=true} or {@code -Dspring.cache.type=none}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+
+    private static final int SEED_TASKS = Integer.getInteger("loadtest.seed-tasks", 10_000);
+
+    private static final int PAGE_SIZE = Integer.getInteger("loadtest.page-size", 50);
+
+    private static final long MAX_P99_MICROS = Long.getLong("loadtest.max-p99-ms", 0) * 1000;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-load-test.json");
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * Working set of task ids the workload reads, updates and deletes. Deleted slots are left empty until a
+     * create refills them.
+     */
+    private AtomicReferenceArray<UUID> taskIds;
+
+    private String baseUri;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        baseUri = "http://localhost:" + environment.getRequiredProperty("local.server.port") + "/api/v1/tasks";
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        seed();
+
+        run(WARMUP);
+        stats.values().forEach(OperationStats::reset);
+
+        GcSnapshot gcBefore = GcSnapshot.take();
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        run(DURATION);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        GcSnapshot gcAfter = GcSnapshot.take();
+
+        LoadTestReport report = report(startedAt, elapsedSeconds, gcBefore, gcAfter);
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errors()).as("requests that failed or returned 5xx").isZero();
+        if (MAX_P99_MICROS > 0) {
+            assertThat(report.latencyMicros().p99()).as("overall p99 latency (µs)").isLessThanOrEqualTo(MAX_P99_MICROS);
+        }
+    }
+
+    private void seed() {
+        taskRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        TaskPriority[] priorities = TaskPriority.values();
+        taskIds = new AtomicReferenceArray<>(SEED_TASKS);
+        for (int offset = 0; offset < SEED_TASKS; offset += SEED_BATCH_SIZE) {
+            List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, SEED_TASKS); i++) {
+                requests.add(new CreateTaskRequest("Seed task " + i, "Seeded by the load test",
+                        priorities[i % priorities.length]));
+            }
+            List<Task> tasks = taskService.createTasks(requests);
+            for (int i = 0; i < tasks.size(); i++) {
+                taskIds.set(offset + i, tasks.get(i).getId());
+            }
+        }
+    }
+
+    private void run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Callable<Void> worker = () -> {
+            while (System.nanoTime() < deadline) {
+                execute(Operation.pick(ThreadLocalRandom.current()));
+            }
+            return null;
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<Void>> workers = executor.invokeAll(Collections.nCopies(CONCURRENCY, worker));
+            for (Future<Void> future : workers) {
+                future.get();
+            }
+        }
+    }
+
+    private void execute(Operation operation) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(taskIds.length());
+        UUID taskId = switch (operation) {
+            case GET_TASK, UPDATE_TASK -> taskIds.get(slot);
+            case DELETE_TASK -> taskIds.getAndSet(slot, null);
+            case LIST_TASKS, CREATE_TASK -> null;
+        };
+        if (taskId == null && operation.needsTask()) {
+            operation = Operation.CREATE_TASK;
+        }
+
+        HttpRequest request = request(operation, taskId, random);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException exception) {
+            stats.get(operation).record(System.nanoTime() - start, -1);
+            return;
+        }
+        stats.get(operation).record(System.nanoTime() - start, response.statusCode());
+
+        if (operation == Operation.CREATE_TASK && response.statusCode() == 201) {
+            taskIds.set(slot, objectMapper.readValue(response.body(), TaskDto.class).id());
+        }
+    }
+
+    private HttpRequest request(Operation operation, UUID taskId, ThreadLocalRandom random) {
+        TaskPriority priority = TaskPriority.values()[random.nextInt(TaskPriority.values().length)];
+        return switch (operation) {
+            case GET_TASK -> HttpRequest.newBuilder(URI.create(baseUri + "/" + taskId)).GET().build();
+            case LIST_TASKS -> {
+                String query = "?size=" + PAGE_SIZE;
+                if (random.nextBoolean()) {
+                    query += "&status=" + TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                }
+                yield HttpRequest.newBuilder(URI.create(baseUri + query)).GET().build();
+            }
+            case CREATE_TASK -> json(HttpRequest.newBuilder(URI.create(baseUri)), "POST",
+                    new CreateTaskRequestDto("Load test task", "Created by the load test", priority));
+            case UPDATE_TASK -> json(HttpRequest.newBuilder(URI.create(baseUri + "/" + taskId)), "PUT",
+                    new UpdateTaskRequestDto("Load test task", "Updated by the load test",
+                            random.nextBoolean() ? TaskStatus.OPEN : TaskStatus.COMPLETE, priority));
+            case DELETE_TASK -> HttpRequest.newBuilder(URI.create(baseUri + "/" + taskId)).DELETE().build();
+        };
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private LoadTestReport report(Instant startedAt, double elapsedSeconds, GcSnapshot gcBefore, GcSnapshot gcAfter) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("concurrency", CONCURRENCY);
+        settings.put("warmupSeconds", WARMUP.toSeconds());
+        settings.put("durationSeconds", DURATION.toSeconds());
+        settings.put("seedTasks", SEED_TASKS);
+        settings.put("pageSize", PAGE_SIZE);
+        settings.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", "false"));
+        settings.put("cacheType", environment.getProperty("spring.cache.type", "auto"));
+        settings.put("databaseGate", environment.getProperty("task.datasource.gate.enabled", "false"));
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        settings.put("javaVersion", Runtime.version().toString());
+
+        Histogram overall = new Histogram(3);
+        long requests = 0;
+        long errors = 0;
+        Map<Operation, OperationReport> operations = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Histogram latency = operationStats.latency.copy();
+            overall.add(latency);
+            requests += latency.getTotalCount();
+            errors += operationStats.errors.sum();
+            operations.put(entry.getKey(), new OperationReport(
+                    latency.getTotalCount(),
+                    operationStats.notFound.sum(),
+                    operationStats.errors.sum(),
+                    latency.getTotalCount() / elapsedSeconds,
+                    LatencyReport.of(latency)));
+        }
+
+        return new LoadTestReport(startedAt, settings, elapsedSeconds, requests, errors, requests / elapsedSeconds,
+                LatencyReport.of(overall), operations, GcReport.between(gcBefore, gcAfter, elapsedSeconds));
+    }
+
+    private enum Operation {
+        GET_TASK(40),
+        LIST_TASKS(25),
+        CREATE_TASK(15),
+        UPDATE_TASK(15),
+        DELETE_TASK(5);
+
+        private static final int TOTAL_WEIGHT = 100;
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        boolean needsTask() {
+            return this == GET_TASK || this == UPDATE_TASK || this == DELETE_TASK;
+        }
+
+        static Operation pick(ThreadLocalRandom random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return GET_TASK;
+        }
+    }
+
+    private static final class OperationStats {
+
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+
+        private final LongAdder notFound = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        void record(long elapsedNanos, int statusCode) {
+            latency.recordValue(elapsedNanos / 1000);
+            if (statusCode == 404) {
+                // A concurrent delete got there first; expected with a shared working set.
+                notFound.increment();
+            } else if (statusCode < 200 || statusCode >= 500) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            latency.reset();
+            notFound.reset();
+            errors.reset();
+        }
+    }
+
+    private record GcSnapshot(Map<String, Long> counts, Map<String, Long> timesMillis) {
+
+        static GcSnapshot take() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            Map<String, Long> times = new LinkedHashMap<>();
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                counts.put(collector.getName(), Math.max(0, collector.getCollectionCount()));
+                times.put(collector.getName(), Math.max(0, collector.getCollectionTime()));
+            }
+            return new GcSnapshot(counts, times);
+        }
+    }
+
+    record LoadTestReport(Instant startedAt,
+                          Map<String, Object> settings,
+                          double elapsedSeconds,
+                          long requests,
+                          long errors,
+                          double throughputPerSecond,
+                          LatencyReport latencyMicros,
+                          Map<Operation, OperationReport> operations,
+                          GcReport gc) {
+    }
+
+    record OperationReport(long requests,
+                           long notFound,
+                           long errors,
+                           double throughputPerSecond,
+                           LatencyReport latencyMicros) {
+    }
+
+    record LatencyReport(long min, double mean, long p50, long p90, long p99, long p999, long max) {
+
+        static LatencyReport of(Histogram histogram) {
+            return new LatencyReport(
+                    histogram.getMinValue(),
+                    histogram.getMean(),
+                    histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(90),
+                    histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue());
+        }
+    }
+
+    record GcReport(long collections, long collectionTimeMillis, double collectionTimeRatio,
+                    Map<String, Long> collectionsByCollector) {
+
+        static GcReport between(GcSnapshot before, GcSnapshot after, double elapsedSeconds) {
+            Map<String, Long> collectionsByCollector = new LinkedHashMap<>();
+            long collections = 0;
+            long timeMillis = 0;
+            for (String name : after.counts().keySet()) {
+                long count = after.counts().get(name) - before.counts().getOrDefault(name, 0L);
+                collectionsByCollector.put(name, count);
+                collections += count;
+                timeMillis += after.timesMillis().get(name) - before.timesMillis().getOrDefault(name, 0L);
+            }
+            return new GcReport(collections, timeMillis, timeMillis / (elapsedSeconds * 1000), collectionsByCollector);
+        }
+    }
+}
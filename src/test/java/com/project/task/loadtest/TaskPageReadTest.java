@@ -0,0 +1,145 @@
+package com.project.task.loadtest;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.mapper.TaskMapper;
+import com.project.task.repository.TaskRepository;
+import com.project.task.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the cost of reading one page of tasks through managed entities plus the mapper with the projection
+ * query behind {@code GET /api/v1/tasks}. Allocated bytes and latency per page are written to
+ * {@code target/loadtest/task-page-reads.json}.
+ * <p>
+ * Run it with {@code ./mvnw -Pload-test test -Dtest=TaskPageReadTest}; the page size defaults to 10,000 rows
+ * ({@code -Dloadtest.read-page-size}).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskPageReadTest {
+
+    private static final int PAGE_SIZE = Integer.getInteger("loadtest.read-page-size", 10_000);
+
+    private static final int ITERATIONS = Integer.getInteger("loadtest.read-iterations", 100);
+
+    private static final int WARMUP_ITERATIONS = 30;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-page-reads.json");
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void entityPagesVersusProjectionPages() {
+        seed();
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Map<String, ReadReport> report = new LinkedHashMap<>();
+        report.put("managedEntities", measure(() -> readWrite.execute(status -> entityPage())));
+        report.put("readOnlyEntities", measure(() -> readOnly.execute(status -> entityPage())));
+        report.put("projection", measure(() -> readOnly.execute(status ->
+                taskRepository.findPage(TaskFilter.none(), null, PAGE_SIZE))));
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        assertThat(report.get("projection").allocatedBytesPerPage())
+                .isLessThan(report.get("managedEntities").allocatedBytesPerPage());
+    }
+
+    private void seed() {
+        taskRepository.deleteAllInBatch();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int offset = 0; offset < PAGE_SIZE; offset += SEED_BATCH_SIZE) {
+            List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, PAGE_SIZE); i++) {
+                requests.add(new CreateTaskRequest("Task " + i, "Description of task " + i,
+                        priorities[i % priorities.length]));
+            }
+            taskService.createTasks(requests);
+        }
+    }
+
+    /**
+     * The read path before projections: load managed entities, then copy each one into a DTO.
+     */
+    private List<TaskDto> entityPage() {
+        return entityManager.createQuery("select t from Task t order by t.id", Task.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(taskMapper::toDto)
+                .toList();
+    }
+
+    private ReadReport measure(Supplier<List<TaskDto>> read) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(read.get()).hasSize(PAGE_SIZE);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Histogram latency = new Histogram(3);
+        long allocatedBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            read.get();
+            latency.recordValue((System.nanoTime() - start) / 1000);
+            allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        return new ReadReport(PAGE_SIZE, allocatedBytes / ITERATIONS, TaskLoadTest.LatencyReport.of(latency));
+    }
+
+    record ReadReport(int rowsPerPage, long allocatedBytesPerPage, TaskLoadTest.LatencyReport latencyMicros) {
+    }
+}
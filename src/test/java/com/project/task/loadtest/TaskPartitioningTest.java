@@ -0,0 +1,154 @@
+package com.project.task.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the same rows into the hash-partitioned {@code tasks} table and into {@code tasks_plain}, an unpartitioned
+ * copy with the same indexes, and compares list, get and update latency and the time a vacuum takes. The report goes
+ * to {@code target/loadtest/task-partitioning.json}.
+ * <p>
+ * Run it with {@code ./mvnw -Pload-test test -Dtest=TaskPartitioningTest}. Tables hold 1M rows by default; pass
+ * {@code -Dloadtest.partition-rows=10000000} for more.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "task.partitioning.migrate=false")
+class TaskPartitioningTest {
+
+    private static final long ROWS = Long.getLong("loadtest.partition-rows", 1_000_000);
+
+    private static final int ITERATIONS = Integer.getInteger("loadtest.partition-iterations", 2000);
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-partitioning.json");
+
+    private static final String COLUMNS = "id, title, description, status, priority, version";
+
+    private static final int PAGE_LIMIT = 101;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void partitionedAgainstPlainTable() {
+        jdbcTemplate.execute("truncate table tasks");
+        createPlainTable();
+        insertRows("tasks");
+        insertRows("tasks_plain");
+        jdbcTemplate.execute("vacuum analyze tasks");
+        jdbcTemplate.execute("vacuum analyze tasks_plain");
+
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "select id from tasks_plain tablesample bernoulli (1) limit 10000", UUID.class);
+
+        Map<String, TableReport> report = new LinkedHashMap<>();
+        report.put("plain", measure("tasks_plain", ids));
+        report.put("partitioned", measure("tasks", ids));
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        // A lookup by id must be pruned down to the one partition that can hold it.
+        String plan = jdbcTemplate.queryForObject(
+                "explain (format json) select " + COLUMNS + " from tasks where id = '" + ids.getFirst() + "'",
+                String.class);
+        assertThat(plan.split("\"Relation Name\"", -1)).hasSize(2);
+    }
+
+    private TableReport measure(String table, List<UUID> ids) {
+        Map<String, TaskLoadTest.LatencyReport> latencyMicros = new LinkedHashMap<>();
+        latencyMicros.put("openTasksPage", measure(ids, id -> jdbcTemplate.queryForList(
+                "select " + COLUMNS + " from " + table + " where tenant_id = 'tenant-0' and status = 'OPEN'"
+                        + " and id > ? order by id limit " + PAGE_LIMIT, id)));
+        latencyMicros.put("getById", measure(ids, id -> jdbcTemplate.queryForList(
+                "select " + COLUMNS + " from " + table + " where id = ?", id)));
+        latencyMicros.put("updateById", measure(ids, id -> jdbcTemplate.update(
+                "update " + table + " set version = version + 1, updated_at = now() where id = ?", id)));
+
+        long start = System.nanoTime();
+        jdbcTemplate.execute("vacuum " + table);
+        long vacuumMillis = (System.nanoTime() - start) / 1_000_000;
+        return new TableReport(latencyMicros, vacuumMillis);
+    }
+
+    private static TaskLoadTest.LatencyReport measure(List<UUID> ids, Consumer<UUID> operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.accept(ids.get(random.nextInt(ids.size())));
+        }
+
+        Histogram latency = new Histogram(3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            long start = System.nanoTime();
+            operation.accept(id);
+            latency.recordValue((System.nanoTime() - start) / 1000);
+        }
+        return TaskLoadTest.LatencyReport.of(latency);
+    }
+
+    /**
+     * Creates {@code tasks_plain} with the columns of {@code tasks} and a copy of each of its indexes.
+     */
+    private void createPlainTable() {
+        jdbcTemplate.execute("drop table if exists tasks_plain");
+        jdbcTemplate.execute("create table tasks_plain (like tasks including defaults including constraints)");
+        jdbcTemplate.execute("alter table tasks_plain add primary key (id)");
+        jdbcTemplate.queryForList("""
+                        select indexdef from pg_indexes
+                        where tablename = 'tasks' and indexname like 'idx\\_tasks\\_%'
+                        """, String.class)
+                .forEach(definition -> jdbcTemplate.execute(definition
+                        .replace(" idx_tasks_", " idx_tasks_plain_")
+                        .replace(" ON ONLY public.tasks ", " ON public.tasks_plain ")));
+    }
+
+    /**
+     * Same rows as {@link TaskQueryPlanTest}: UUIDv7-shaped ids, 30% of the tasks open, priorities and 100 tenants
+     * spread evenly.
+     */
+    private void insertRows(String table) {
+        jdbcTemplate.update("""
+                insert into %s (id, tenant_id, title, description, status, priority, version)
+                select (lpad(to_hex(1700000000000 + g), 12, '0') || '7' || substr(md5(g::text), 1, 3)
+                            || '8' || substr(md5(g::text), 4, 15))::uuid,
+                       'tenant-' || g % 100,
+                       'Task ' || g,
+                       'Generated task ' || g,
+                       case when g % 10 < 3 then 'OPEN' else 'COMPLETE' end,
+                       (array['HIGH', 'MEDIUM', 'LOW'])[g % 3 + 1],
+                       0
+                from generate_series(0, ?) as g
+                """.formatted(table), ROWS - 1);
+    }
+
+    record TableReport(Map<String, TaskLoadTest.LatencyReport> latencyMicros, long vacuumMillis) {
+    }
+}
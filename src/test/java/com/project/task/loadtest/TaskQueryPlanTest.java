@@ -0,0 +1,155 @@
+package com.project.task.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the {@code tasks} table to increasing sizes and records, for each listing query, the plan Postgres
+ * picks and its latency. The report goes to {@code target/loadtest/task-query-plans.json}.
+ * <p>
+ * Run it with {@code ./mvnw -Pload-test test -Dtest=TaskQueryPlanTest}. Table sizes default to 1M rows; pass
+ * {@code -Dloadtest.plan-rows=1000000,10000000,50000000} for the full series.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskQueryPlanTest {
+
+    private static final List<Long> ROW_COUNTS = Arrays.stream(
+                    System.getProperty("loadtest.plan-rows", "1000000").split(","))
+            .map(String::trim)
+            .map(Long::parseLong)
+            .sorted()
+            .toList();
+
+    private static final int ITERATIONS = Integer.getInteger("loadtest.plan-iterations", 200);
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-query-plans.json");
+
+    private static final String SELECT_PAGE = "select id, title, description, status, priority, version from tasks ";
+
+    private static final int PAGE_LIMIT = 101;
+
+    private static final int TENANTS = 100;
+
+    private static final String TENANT = "tenant-0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void listingQueryPlans() {
+        jdbcTemplate.execute("truncate table tasks");
+
+        Map<Long, Map<String, QueryReport>> report = new LinkedHashMap<>();
+        long rows = 0;
+        for (long target : ROW_COUNTS) {
+            insertRows(rows, target);
+            rows = target;
+            jdbcTemplate.execute("vacuum analyze tasks");
+
+            Map<String, QueryReport> queries = new LinkedHashMap<>();
+            queries(rows).forEach((name, sql) -> queries.put(name, measure(sql)));
+            report.put(rows, queries);
+        }
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        // The listings must never fall back to scanning the whole table. The count reads every row either way.
+        report.values().forEach(queries -> queries.forEach((name, query) -> {
+            if (name.endsWith("Page")) {
+                assertThat(query.plan().toString()).as(name).doesNotContain("\"Seq Scan\"");
+            }
+        }));
+    }
+
+    private Map<String, String> queries(long rows) {
+        String tenant = "tenant_id = '" + TENANT + "' and ";
+        String middleId = jdbcTemplate.queryForObject(
+                "select id::text from tasks where tenant_id = ? order by id offset ? limit 1", String.class,
+                TENANT, rows / TENANTS / 2);
+
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("openTasksFirstPage",
+                SELECT_PAGE + "where " + tenant + "status = 'OPEN' order by id limit " + PAGE_LIMIT);
+        queries.put("openHighPriorityTasksFirstPage",
+                SELECT_PAGE + "where " + tenant + "status = 'OPEN' and priority = 'HIGH' order by id limit "
+                        + PAGE_LIMIT);
+        queries.put("completeLowPriorityTasksMiddlePage",
+                SELECT_PAGE + "where " + tenant + "status = 'COMPLETE' and priority = 'LOW' and id > '" + middleId
+                        + "' order by id limit " + PAGE_LIMIT);
+        queries.put("claimNextTasksPage",
+                SELECT_PAGE + "where " + tenant + "status = 'OPEN' and deleted_at is null"
+                        + " order by (case priority when 'HIGH' then 0 when 'MEDIUM' then 1 else 2 end), id limit 10"
+                        + " for update skip locked");
+        queries.put("statsRecount", "select tenant_id, status, priority, count(*) from tasks"
+                + " where deleted_at is null group by tenant_id, status, priority");
+        return queries;
+    }
+
+    /**
+     * Appends rows {@code from} (inclusive) to {@code to} (exclusive) in one statement. Ids are UUIDv7-shaped and
+     * increase with the row number, like the ones the application generates; 30% of the tasks are open, and
+     * priorities and tenants are spread evenly.
+     */
+    private void insertRows(long from, long to) {
+        jdbcTemplate.update("""
+                insert into tasks (id, tenant_id, title, description, status, priority, version)
+                select (lpad(to_hex(1700000000000 + g), 12, '0') || '7' || substr(md5(g::text), 1, 3)
+                            || '8' || substr(md5(g::text), 4, 15))::uuid,
+                       'tenant-' || g % ?,
+                       'Task ' || g,
+                       'Generated task ' || g,
+                       case when g % 10 < 3 then 'OPEN' else 'COMPLETE' end,
+                       (array['HIGH', 'MEDIUM', 'LOW'])[g % 3 + 1],
+                       0
+                from generate_series(?, ?) as g
+                """, TENANTS, from, to - 1);
+    }
+
+    private QueryReport measure(String sql) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            jdbcTemplate.queryForList(sql);
+        }
+
+        Histogram latency = new Histogram(3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            jdbcTemplate.queryForList(sql);
+            latency.recordValue((System.nanoTime() - start) / 1000);
+        }
+
+        String plan = jdbcTemplate.queryForObject("explain (analyze, buffers, format json) " + sql, String.class);
+        return new QueryReport(sql, TaskLoadTest.LatencyReport.of(latency), objectMapper.readTree(plan));
+    }
+
+    record QueryReport(String sql, TaskLoadTest.LatencyReport latencyMicros, JsonNode plan) {
+    }
+}
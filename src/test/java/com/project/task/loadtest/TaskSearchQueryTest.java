@@ -0,0 +1,146 @@
+package com.project.task.loadtest;
+
+import com.project.task.service.TaskService;
+import com.project.task.tenant.TenantContext;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads a synthetic corpus into {@code tasks} and records the latency of first and deep result pages for typical
+ * searches. The report goes to {@code target/loadtest/task-search.json}.
+ * <p>
+ * Run it with {@code ./mvnw -Pload-test test -Dtest=TaskSearchQueryTest}. The corpus defaults to 1M rows; pass
+ * {@code -Dloadtest.search-rows=10000000} for the full-size run.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskSearchQueryTest {
+
+    private static final long ROWS = Long.getLong("loadtest.search-rows", 1_000_000);
+
+    private static final int ITERATIONS = Integer.getInteger("loadtest.search-iterations", 100);
+
+    private static final int WARMUP_ITERATIONS = 10;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-search.json");
+
+    /**
+     * Words are drawn with a skewed distribution, so low indexes are common and high indexes are rare.
+     */
+    private static final String[] VOCABULARY = {
+            "report", "invoice", "meeting", "review", "deploy", "customer", "release", "budget",
+            "design", "website", "database", "migration", "security", "audit", "onboarding", "roadmap",
+            "backlog", "incident", "postmortem", "hiring", "interview", "contract", "vendor", "licence",
+            "dashboard", "metrics", "latency", "outage", "backup", "restore", "firewall", "certificate",
+            "newsletter", "campaign", "webinar", "conference", "travel", "expense", "payroll", "benefits",
+            "warehouse", "shipment", "inventory", "supplier", "forecast", "quarterly", "translation", "accessibility",
+            "kubernetes", "terraform", "observability", "penetration", "compliance", "gdpr", "sustainability",
+            "offsite", "retrospective", "mentoring", "hackathon", "patent", "trademark", "acquisition", "zeppelin"
+    };
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void embeddedPostgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedDatabase.register(registry);
+    }
+
+    @Test
+    void searchLatency() {
+        loadCorpus();
+
+        Map<String, SearchReport> report = new LinkedHashMap<>();
+        report.put("commonTerm", measure("report", false, 0));
+        report.put("commonTermDeepPage", measure("report", false, 50));
+        report.put("rareTerm", measure("zeppelin", false, 0));
+        report.put("twoTerms", measure("invoice customer", false, 0));
+        report.put("phrase", measure("\"database migration\"", false, 0));
+        report.put("excludedTerm", measure("deploy -outage", false, 0));
+        report.put("prefix", measure("migr", true, 0));
+        report.put("twoPrefixes", measure("secu aud", true, 0));
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, Map.of("rows", ROWS, "queries", report));
+
+        assertThat(report.get("commonTerm").results()).isEqualTo(PAGE_SIZE);
+    }
+
+    private void loadCorpus() {
+        String words = Arrays.stream(VOCABULARY).map(word -> "'" + word + "'").collect(Collectors.joining(","));
+        jdbcTemplate.execute("""
+                create or replace function loadtest_word(g bigint, n int) returns text
+                language sql immutable as $$
+                    select (array[%s])[1 + floor(power((abs(hashint8(g * 31 + n)) %% 10000) / 10000.0, 3) * %d)::int]
+                $$
+                """.formatted(words, VOCABULARY.length));
+
+        jdbcTemplate.execute("truncate table tasks");
+        jdbcTemplate.update("""
+                insert into tasks (id, title, description, status, priority, version)
+                select (lpad(to_hex(1700000000000 + g), 12, '0') || '7' || substr(md5(g::text), 1, 3)
+                            || '8' || substr(md5(g::text), 4, 15))::uuid,
+                       initcap(loadtest_word(g, 1) || ' ' || loadtest_word(g, 2) || ' ' || loadtest_word(g, 3)),
+                       'Follow up on the ' || loadtest_word(g, 4) || ' ' || loadtest_word(g, 5) || ' with the '
+                           || loadtest_word(g, 6) || ' team before the ' || loadtest_word(g, 7) || ' '
+                           || loadtest_word(g, 8),
+                       case when g % 10 < 3 then 'OPEN' else 'COMPLETE' end,
+                       (array['HIGH', 'MEDIUM', 'LOW'])[g % 3 + 1],
+                       0
+                from generate_series(1, ?) as g
+                """, ROWS);
+        jdbcTemplate.execute("drop function loadtest_word(bigint, int)");
+        jdbcTemplate.execute("vacuum analyze tasks");
+    }
+
+    private SearchReport measure(String query, boolean prefix, int page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            search(query, prefix, page);
+        }
+
+        Histogram latency = new Histogram(3);
+        int results = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            results = search(query, prefix, page);
+            latency.recordValue((System.nanoTime() - start) / 1000);
+        }
+        return new SearchReport(query, prefix, page, results, TaskLoadTest.LatencyReport.of(latency));
+    }
+
+    // The corpus rows belong to the default tenant, which is the one a request without a tenant header gets.
+    private int search(String query, boolean prefix, int page) {
+        int[] results = new int[1];
+        TenantContext.runAs(TenantContext.DEFAULT,
+                () -> results[0] = taskService.searchTasks(query, prefix, page, PAGE_SIZE).tasks().size());
+        return results[0];
+    }
+
+    record SearchReport(String query, boolean prefix, int page, int results,
+                        TaskLoadTest.LatencyReport latencyMicros) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.task.loadtest;
+
+import com.project.task.TaskAppApplication;
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.repository.TaskRepository;
+import com.project.task.service.TaskService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving requests on Tomcat's platform thread pool with serving them on virtual threads behind the
+ * database gate. The application is started once per mode against the same in-process Postgres, and driven with
+ * more concurrent clients than the pool has threads; throughput and latency percentiles per mode are written to
+ * {@code target/loadtest/task-thread-modes.json}.
+ * <p>
+ * Caching is off, so every request reaches the database. Run it with
+ * {@code ./mvnw -Pload-test test -Dtest=ThreadModeLoadTest}; {@code -Dloadtest.thread-mode-clients=1000} sets the
+ * number of clients, and {@code -Dtask.datasource.gate.max-concurrency} and similar properties apply to both modes.
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.thread-mode-clients", 1000);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+
+    private static final int SEED_TASKS = Integer.getInteger("loadtest.seed-tasks", 10_000);
+
+    private static final int PAGE_SIZE = Integer.getInteger("loadtest.page-size", 50);
+
+    private static final File REPORT_FILE =
+            new File(System.getProperty("loadtest.report-dir", "target/loadtest"), "task-thread-modes.json");
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<UUID> taskIds;
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        Map<String, ModeReport> report = new LinkedHashMap<>();
+        report.put("platformThreads", measure(Map.of(
+                "spring.threads.virtual.enabled", "false",
+                "task.datasource.gate.enabled", "false")));
+        report.put("virtualThreads", measure(Map.of(
+                "spring.threads.virtual.enabled", "true",
+                "task.datasource.gate.enabled", "true")));
+
+        REPORT_FILE.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+
+        report.forEach((mode, modeReport) -> {
+            assertThat(modeReport.requests()).as(mode + " requests").isPositive();
+            assertThat(modeReport.errors()).as(mode + " requests that failed or returned 5xx other than 503")
+                    .isZero();
+        });
+    }
+
+    private ModeReport measure(Map<String, Object> mode) throws Exception {
+        Map<String, Object> properties = new HashMap<>(EmbeddedDatabase.properties());
+        properties.put("server.port", "0");
+        properties.put("spring.cache.type", "none");
+        properties.putAll(mode);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskAppApplication.class)
+                .properties(properties)
+                .run()) {
+            if (taskIds == null) {
+                seed(context);
+            }
+            String baseUri = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port")
+                    + "/api/v1/tasks";
+
+            run(baseUri, WARMUP, new Stats());
+            Stats stats = new Stats();
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            run(baseUri, DURATION, stats);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Histogram latency = stats.latency.copy();
+            return new ModeReport(startedAt, mode, CLIENTS, elapsedSeconds, latency.getTotalCount(),
+                    stats.rejected.sum(), stats.errors.sum(), latency.getTotalCount() / elapsedSeconds,
+                    TaskLoadTest.LatencyReport.of(latency));
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        context.getBean(TaskRepository.class).deleteAllInBatch();
+        TaskService taskService = context.getBean(TaskService.class);
+        TaskPriority[] priorities = TaskPriority.values();
+        taskIds = new ArrayList<>(SEED_TASKS);
+        for (int offset = 0; offset < SEED_TASKS; offset += SEED_BATCH_SIZE) {
+            List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, SEED_TASKS); i++) {
+                requests.add(new CreateTaskRequest("Seed task " + i, "Seeded by the load test",
+                        priorities[i % priorities.length]));
+            }
+            taskService.createTasks(requests).stream().map(Task::getId).forEach(taskIds::add);
+        }
+    }
+
+    /**
+     * Has every client send reads, four gets to one listing, one request at a time, until the time is up. Clients
+     * run on virtual threads, so the client side isn't what runs out of threads.
+     */
+    private void run(String baseUri, Duration duration, Stats stats) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Callable<Void> client = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                URI uri = random.nextInt(5) == 0
+                        ? URI.create(baseUri + "?size=" + PAGE_SIZE)
+                        : URI.create(baseUri + "/" + taskIds.get(random.nextInt(taskIds.size())));
+                send(HttpRequest.newBuilder(uri).GET().build(), stats);
+            }
+            return null;
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> clients = executor.invokeAll(Collections.nCopies(CLIENTS, client));
+            for (Future<Void> future : clients) {
+                future.get();
+            }
+        }
+    }
+
+    private void send(HttpRequest request, Stats stats) throws InterruptedException {
+        long start = System.nanoTime();
+        int statusCode;
+        try {
+            statusCode = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException exception) {
+            statusCode = -1;
+        }
+        stats.latency.recordValue((System.nanoTime() - start) / 1000);
+        if (statusCode == 503) {
+            // Timed out waiting at the database gate: load shedding, not a failure.
+            stats.rejected.increment();
+        } else if (statusCode < 200 || statusCode >= 500) {
+            stats.errors.increment();
+        }
+    }
+
+    private static final class Stats {
+
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+
+        private final LongAdder rejected = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+    }
+
+    record ModeReport(Instant startedAt,
+                      Map<String, Object> settings,
+                      int clients,
+                      double elapsedSeconds,
+                      long requests,
+                      long rejected,
+                      long errors,
+                      double throughputPerSecond,
+                      TaskLoadTest.LatencyReport latencyMicros) {
+    }
+}
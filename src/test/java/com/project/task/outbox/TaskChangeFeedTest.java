@@ -0,0 +1,81 @@
+package com.project.task.outbox;
+
+import com.project.task.exception.ChangeSequenceExpiredException;
+import com.project.task.repository.TaskOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeFeedTest {
+
+    @Mock
+    private TaskOutboxRepository outboxRepository;
+
+    @InjectMocks
+    private TaskChangeFeed taskChangeFeed;
+
+    @Test
+    void shouldTimeOutWhenNothingIsSignalled() throws InterruptedException {
+        assertThat(taskChangeFeed.awaitChangesAfter(0, Duration.ofMillis(10))).isFalse();
+    }
+
+    @Test
+    void shouldReturnImmediatelyWhenNewerChangeWasSignalled() throws InterruptedException {
+        taskChangeFeed.signal(5);
+
+        assertThat(taskChangeFeed.awaitChangesAfter(4, Duration.ofMinutes(1))).isTrue();
+        assertThat(taskChangeFeed.awaitChangesAfter(5, Duration.ofMillis(10))).isFalse();
+    }
+
+    @Test
+    void shouldWakeWaitersOnSignal() throws Exception {
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return taskChangeFeed.awaitChangesAfter(0, Duration.ofMinutes(1));
+            } catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        while (!waiter.isDone()) {
+            taskChangeFeed.signal(1);
+            Thread.sleep(10);
+        }
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldRejectReadsFromBeforeThePurgedSequence() {
+        when(outboxRepository.findPublishedAfter("default", 4, 10)).thenReturn(List.of());
+        when(outboxRepository.purgedThrough()).thenReturn(5L);
+
+        assertThatThrownBy(() -> taskChangeFeed.changesAfter("default", 4, 10))
+                .isInstanceOf(ChangeSequenceExpiredException.class);
+        // The mark is read after the changes, so a purge that ran in between can't go unnoticed.
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).findPublishedAfter("default", 4, 10);
+        inOrder.verify(outboxRepository).purgedThrough();
+    }
+
+    @Test
+    void shouldReadFromThePurgedSequence() {
+        when(outboxRepository.findPublishedAfter("default", 5, 10)).thenReturn(List.of());
+        when(outboxRepository.purgedThrough()).thenReturn(5L);
+
+        assertThat(taskChangeFeed.changesAfter("default", 5, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,234 @@
+package com.project.task.partition;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the move of a populated {@code tasks} table against an in-process Postgres: the database is migrated up to V9,
+ * seeded, then migrated the rest of the way, which leaves the move to {@link TaskPartitionMigrator}.
+ */
+class TaskPartitionMigratorTest {
+
+    private static final int SEEDED_ROWS = 5000;
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void createPopulatedDatabase() {
+        String database = "migrator_" + DATABASES.incrementAndGet();
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("create database " + database);
+        dataSource = postgres.getDatabase("postgres", database);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        migrate("9");
+        jdbcTemplate.update("""
+                insert into tasks (id, title, status, priority, version)
+                select gen_random_uuid(), 'Task ' || g, 'OPEN', (array['HIGH', 'MEDIUM', 'LOW'])[g % 3 + 1], 0
+                from generate_series(1, ?) as g
+                """, SEEDED_ROWS);
+        migrate("latest");
+    }
+
+    @AfterEach
+    void stopWriters() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepEveryRowWrittenDuringTheMove() throws Exception {
+        assertThat(tableKind("tasks")).isEqualTo("r");
+        Map<UUID, String> expected = titles("tasks");
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> writes = executor.submit(() -> write(expected, stop));
+        try {
+            migrator().migrate();
+        } finally {
+            stop.set(true);
+        }
+        writes.get();
+
+        assertThat(tableKind("tasks")).isEqualTo("p");
+        assertThat(titles("tasks")).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldConvergeWhenAnInterruptedMoveRunsAgain() throws Exception {
+        Future<?> interrupted = executor.submit(() -> {
+            try {
+                // Slow enough that it is still copying when interrupted.
+                migrator(Duration.ofMillis(50)).migrate();
+            } catch (InterruptedException exception) {
+                // Stopped midway, like an instance shut down during the copy.
+            }
+            return null;
+        });
+        while (count("tasks_partitioned") < BATCH_SIZE * 3) {
+            Thread.sleep(10);
+        }
+        interrupted.cancel(true);
+        assertThat(tableKind("tasks")).isEqualTo("r");
+
+        // Rows already copied change before the move starts over.
+        jdbcTemplate.update("update tasks set title = 'Changed'"
+                + " where id in (select id from tasks order by id limit 10)");
+        jdbcTemplate.update("delete from tasks where id in (select id from tasks order by id offset 10 limit 10)");
+        Map<UUID, String> expected = titles("tasks");
+
+        // Two instances starting over at once.
+        Future<?> first = executor.submit(() -> {
+            migrator().migrate();
+            return null;
+        });
+        migrator().migrate();
+        first.get();
+
+        assertThat(tableKind("tasks")).isEqualTo("p");
+        assertThat(titles("tasks")).isEqualTo(expected);
+        assertThat(rowsMissingFrom("tasks", "tasks_unpartitioned")).isZero();
+        assertThat(rowsMissingFrom("tasks_unpartitioned", "tasks")).isZero();
+
+        // Running once more after the swap changes nothing.
+        TaskPartitionMigrator migrator = migrator();
+        assertThat(migrator.isDone()).isTrue();
+        migrator.migrate();
+        assertThat(titles("tasks")).isEqualTo(expected);
+    }
+
+    /**
+     * Inserts, updates and deletes random tasks until stopped, one autocommitted statement at a time, and keeps
+     * {@code expected} in step with what was committed.
+     */
+    private Void write(Map<UUID, String> expected, AtomicBoolean stop) {
+        SingleConnectionDataSource connection = new SingleConnectionDataSource();
+        connection.setUrl(postgres.getJdbcUrl("postgres", currentDatabase()));
+        connection.setUsername("postgres");
+        connection.setSuppressClose(true);
+        try {
+            JdbcTemplate writer = new JdbcTemplate(connection);
+            List<UUID> ids = new ArrayList<>(expected.keySet());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; !stop.get(); i++) {
+                String title = "Written " + i;
+                int operation = ids.isEmpty() ? 0 : random.nextInt(3);
+                if (operation == 0) {
+                    UUID id = UUID.randomUUID();
+                    writer.update("insert into tasks (id, title, status, priority, version)"
+                            + " values (?, ?, 'OPEN', 'LOW', 0)", id, title);
+                    ids.add(id);
+                    expected.put(id, title);
+                } else {
+                    int index = random.nextInt(ids.size());
+                    UUID id = ids.get(index);
+                    if (operation == 1) {
+                        writer.update("update tasks set title = ?, version = version + 1, updated_at = now()"
+                                + " where id = ?", title, id);
+                        expected.put(id, title);
+                    } else {
+                        writer.update("delete from tasks where id = ?", id);
+                        ids.set(index, ids.getLast());
+                        ids.removeLast();
+                        expected.remove(id);
+                    }
+                }
+            }
+        } finally {
+            connection.destroy();
+        }
+        return null;
+    }
+
+    private TaskPartitionMigrator migrator() {
+        return migrator(Duration.ofMillis(5));
+    }
+
+    private TaskPartitionMigrator migrator(Duration pause) {
+        return new TaskPartitionMigrator(jdbcTemplate, new DataSourceTransactionManager(dataSource), BATCH_SIZE,
+                pause, Duration.ofSeconds(1));
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private Map<UUID, String> titles(String table) {
+        Map<UUID, String> titles = new HashMap<>();
+        jdbcTemplate.query("select id, title from " + table, resultSet -> {
+            titles.put(resultSet.getObject("id", UUID.class), resultSet.getString("title"));
+        });
+        return titles;
+    }
+
+    /**
+     * Counts the rows of {@code from} that {@code to} lacks or holds with any column differing.
+     */
+    private long rowsMissingFrom(String to, String from) {
+        String columns = "id, tenant_id, title, description, status, priority, version, created_at, updated_at,"
+                + " deleted_at, lease_owner, lease_expires_at";
+        return jdbcTemplate.queryForObject("select count(*) from (select " + columns + " from " + from
+                + " except select " + columns + " from " + to + ") as missing", Long.class);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private String tableKind(String table) {
+        return jdbcTemplate.queryForObject("select relkind::text from pg_class where oid = to_regclass(?)",
+                String.class, table);
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select current_database()", String.class);
+    }
+}
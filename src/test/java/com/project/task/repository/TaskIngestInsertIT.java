@@ -0,0 +1,108 @@
+package com.project.task.repository;
+
+import com.project.task.domain.UuidV7;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the batch insert of the ingestion writer, which binds each column as an array and unnests them, against a
+ * real Postgres.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "task.outbox.relay-interval=1h")
+@Testcontainers
+@ActiveProfiles("test")
+class TaskIngestInsertIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Tombstones included, which deleteAll() doesn't see.
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tasks");
+    }
+
+    @Test
+    void shouldInsertEachColumnOfABatch() {
+        Task described = task("acme", "Described", "A description", TaskPriority.HIGH);
+        Task undescribed = task("other", "Undescribed", null, TaskPriority.LOW);
+
+        assertThat(insertMissing(described, undescribed))
+                .containsExactlyInAnyOrder(described.getId(), undescribed.getId());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select id, tenant_id, title, description, priority, status, version from tasks order by id");
+        assertThat(rows).containsExactly(
+                row(described, "A description", TaskPriority.HIGH),
+                row(undescribed, null, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldSkipTasksWrittenBeforeWhenABatchIsReplayed() {
+        Task written = task("acme", "Written", null, TaskPriority.MEDIUM);
+        Task deleted = task("acme", "Deleted", null, TaskPriority.MEDIUM);
+        insertMissing(written, deleted);
+        jdbcTemplate.update("update tasks set title = 'Renamed' where id = ?", written.getId());
+        jdbcTemplate.update("update tasks set deleted_at = now() where id = ?", deleted.getId());
+        Task added = task("acme", "Added", null, TaskPriority.MEDIUM);
+
+        // A replay, e.g. of journaled tasks after a crash, neither overwrites nor revives them.
+        assertThat(insertMissing(written, deleted, added)).containsExactly(added.getId());
+
+        assertThat(jdbcTemplate.queryForObject("select title from tasks where id = ?", String.class,
+                written.getId())).isEqualTo("Renamed");
+        assertThat(jdbcTemplate.queryForObject("select deleted_at is not null from tasks where id = ?",
+                Boolean.class, deleted.getId())).isTrue();
+    }
+
+    private List<UUID> insertMissing(Task... tasks) {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> taskRepository.insertMissing(List.of(tasks)));
+    }
+
+    private static Task task(String tenantId, String title, String description, TaskPriority priority) {
+        return Task.restore(UuidV7.next(), tenantId, title, description, TaskStatus.OPEN, priority, null);
+    }
+
+    private static Map<String, Object> row(Task task, String description, TaskPriority priority) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", task.getId());
+        row.put("tenant_id", task.getTenantId());
+        row.put("title", task.getTitle());
+        row.put("description", description);
+        row.put("priority", priority.name());
+        row.put("status", TaskStatus.OPEN.name());
+        row.put("version", 0L);
+        return row;
+    }
+}
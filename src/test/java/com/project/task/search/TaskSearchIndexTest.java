@@ -0,0 +1,221 @@
+package com.project.task.search;
+
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.dto.TaskIndexSearchResultDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.SearchIndexNotReadyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+
+    private static final String TENANT = "default";
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void shouldRequireEveryWordOfAClause() {
+        index.markReady();
+        TaskDto invoice = task("Invoice customers", "Send the monthly invoices", TaskStatus.OPEN, TaskPriority.HIGH);
+        TaskDto report = task("Write report", "Numbers for the customers", TaskStatus.OPEN, TaskPriority.LOW);
+        index.upsert(TENANT, invoice);
+        index.upsert(TENANT, report);
+
+        assertEquals(List.of(invoice), search("invoice customers").tasks());
+        assertEquals(List.of(report, invoice), search("Customers").tasks());
+        assertEquals(0, search("invoice report").total());
+        assertEquals(0, search("unknown").total());
+    }
+
+    @Test
+    void shouldMatchAnyClauseSeparatedByOr() {
+        index.markReady();
+        TaskDto invoice = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        TaskDto report = task("Write report", null, TaskStatus.OPEN, TaskPriority.LOW);
+        TaskDto offsite = task("Plan offsite", null, TaskStatus.OPEN, TaskPriority.LOW);
+        index.upsert(TENANT, invoice);
+        index.upsert(TENANT, report);
+        index.upsert(TENANT, offsite);
+
+        assertEquals(List.of(report, invoice), search("invoice customers OR report").tasks());
+        assertEquals(2, TaskSearchIndex.parse("invoice customers OR report").size());
+    }
+
+    @Test
+    void shouldFilterByFacetsAndCountMatchesPerFacet() {
+        index.markReady();
+        index.upsert(TENANT, task("Deploy api", null, TaskStatus.OPEN, TaskPriority.HIGH));
+        index.upsert(TENANT, task("Deploy web", null, TaskStatus.COMPLETE, TaskPriority.HIGH));
+        index.upsert(TENANT, task("Deploy docs", null, TaskStatus.OPEN, TaskPriority.LOW));
+
+        TaskIndexSearchResultDto result = index.search(
+                new TaskIndexQuery(TENANT, "deploy", TaskStatus.OPEN, TaskPriority.HIGH, 0, 10));
+
+        assertEquals(1, result.total());
+        assertEquals("Deploy api", result.tasks().getFirst().title());
+        assertEquals(2, result.statusCounts().get(TaskStatus.OPEN));
+        assertEquals(1, result.statusCounts().get(TaskStatus.COMPLETE));
+        assertEquals(2, result.priorityCounts().get(TaskPriority.HIGH));
+        assertEquals(0, result.priorityCounts().get(TaskPriority.MEDIUM));
+    }
+
+    @Test
+    void shouldOnlyFindTheQueryingTenantsTasks() {
+        index.markReady();
+        TaskDto own = task("Deploy api", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        index.upsert(TENANT, own);
+        index.upsert("acme", task("Deploy web", null, TaskStatus.COMPLETE, TaskPriority.HIGH));
+
+        TaskIndexSearchResultDto result = search("deploy");
+
+        assertEquals(List.of(own), result.tasks());
+        assertEquals(0, result.statusCounts().get(TaskStatus.COMPLETE));
+        assertEquals(1, index.search(new TaskIndexQuery("acme", "deploy", null, null, 0, 10)).total());
+        assertEquals(0, index.search(new TaskIndexQuery("unknown", "deploy", null, null, 0, 10)).total());
+    }
+
+    @Test
+    void shouldReplaceTermsAndFacetsOnUpdate() {
+        index.markReady();
+        TaskDto task = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        index.upsert(TENANT, task);
+
+        TaskDto updated = new TaskDto(task.id(), "Archive invoices", null, TaskPriority.LOW, TaskStatus.COMPLETE, 1L);
+        index.upsert(TENANT, updated);
+
+        assertEquals(0, search("customers").total());
+        assertEquals(List.of(updated), search("archive").tasks());
+        assertEquals(0, search("archive").statusCounts().get(TaskStatus.OPEN));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldIgnoreAnUpdateOlderThanTheIndexedVersion() {
+        index.markReady();
+        TaskDto task = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        TaskDto first = new TaskDto(task.id(), "Archive invoices", null, TaskPriority.HIGH, TaskStatus.OPEN, 1L);
+        TaskDto second = new TaskDto(task.id(), "Archive reports", null, TaskPriority.HIGH, TaskStatus.OPEN, 2L);
+
+        index.upsert(TENANT, second);
+        index.upsert(TENANT, first);
+
+        assertEquals(List.of(second), search("archive").tasks());
+    }
+
+    @Test
+    void shouldKeepLoadedRowsNewerThanChangesReceivedDuringLoad() {
+        TaskDto loaded = new TaskDto(UUID.randomUUID(), "New title", null, TaskPriority.LOW, TaskStatus.OPEN, 2L);
+
+        index.upsert(TENANT, new TaskDto(loaded.id(), "Old title", null, TaskPriority.LOW, TaskStatus.OPEN, 1L));
+        index.append(Segment.of(List.of(new IndexedTask(TENANT, loaded))));
+        index.markReady();
+
+        assertEquals(List.of(loaded), search("title").tasks());
+    }
+
+    @Test
+    void shouldForgetDeletedTasks() {
+        index.markReady();
+        TaskDto task = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        index.upsert(TENANT, task);
+
+        index.remove(task.id(), 1L);
+
+        assertEquals(0, search("invoice").total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldIgnoreUpdatesDeliveredAfterTheDelete() {
+        index.markReady();
+        TaskDto task = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        index.upsert(TENANT, task);
+
+        index.remove(task.id(), 2L);
+        index.upsert(TENANT, new TaskDto(task.id(), "Invoice customers again", null, TaskPriority.HIGH,
+                TaskStatus.COMPLETE, 1L));
+
+        assertEquals(0, search("invoice").total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldIgnoreUpdatesDeliveredAfterTheDeleteDuringLoad() {
+        TaskDto loaded = task("Invoice customers", null, TaskStatus.OPEN, TaskPriority.HIGH);
+
+        index.remove(loaded.id(), 2L);
+        index.upsert(TENANT, new TaskDto(loaded.id(), "Invoice customers again", null, TaskPriority.HIGH,
+                TaskStatus.COMPLETE, 1L));
+        index.append(Segment.of(List.of(new IndexedTask(TENANT, loaded))));
+        index.markReady();
+
+        assertEquals(0, search("invoice").total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldPageThroughMatches() {
+        index.markReady();
+        for (int i = 0; i < 5; i++) {
+            index.upsert(TENANT, task("Task " + i, null, TaskStatus.OPEN, TaskPriority.LOW));
+        }
+
+        TaskIndexSearchResultDto page = index.search(new TaskIndexQuery(TENANT, "task", null, null, 2, 2));
+
+        assertEquals(5, page.total());
+        assertEquals(List.of("Task 2", "Task 1"), page.tasks().stream().map(TaskDto::title).toList());
+    }
+
+    @Test
+    void shouldRefuseSearchesUntilReady() {
+        assertThrows(SearchIndexNotReadyException.class, () -> search("anything"));
+    }
+
+    @Test
+    void shouldApplyChangesReceivedDuringLoadAfterLoadedRows() {
+        TaskDto loaded = task("Old title", null, TaskStatus.OPEN, TaskPriority.LOW);
+        TaskDto deleted = task("Deleted task", null, TaskStatus.OPEN, TaskPriority.LOW);
+
+        index.upsert(TENANT, new TaskDto(loaded.id(), "New title", null, TaskPriority.LOW, TaskStatus.OPEN, 1L));
+        index.remove(deleted.id(), 1L);
+        index.append(Segment.of(List.of(new IndexedTask(TENANT, loaded), new IndexedTask(TENANT, deleted))));
+        index.markReady();
+
+        assertEquals(0, search("old").total());
+        assertEquals(1, search("new").total());
+        assertEquals(0, search("deleted").total());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldKeepResultsAcrossCompaction() {
+        index.markReady();
+        TaskDto stable = task("Stable task", null, TaskStatus.OPEN, TaskPriority.HIGH);
+        TaskDto churning = task("Churning task", null, TaskStatus.OPEN, TaskPriority.LOW);
+        index.upsert(TENANT, stable);
+        // Enough rewrites of one task for dead documents to trigger several compactions.
+        for (int version = 0; version < 5000; version++) {
+            index.upsert(TENANT, new TaskDto(churning.id(), "Churning task " + version, null, TaskPriority.LOW,
+                    TaskStatus.OPEN, (long) version));
+        }
+
+        assertEquals(2, index.size());
+        assertEquals(2, search("task").total());
+        assertEquals(List.of(stable), search("stable").tasks());
+        assertEquals("Churning task 4999", search("churning").tasks().getFirst().title());
+        assertEquals(0, search("4998").total());
+    }
+
+    private TaskIndexSearchResultDto search(String text) {
+        return index.search(new TaskIndexQuery(TENANT, text, null, null, 0, 10));
+    }
+
+    private static TaskDto task(String title, String description, TaskStatus status, TaskPriority priority) {
+        return new TaskDto(UUID.randomUUID(), title, description, priority, status, 0L);
+    }
+}
@@ -0,0 +1,139 @@
+package com.project.task.service.impl;
+
+import com.project.task.config.CacheConfig;
+import com.project.task.config.ClaimProperties;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.TaskLease;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.TaskLeaseLostException;
+import com.project.task.exception.TaskNotFoundException;
+import com.project.task.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskClaimServiceImplTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS);
+
+    private TaskClaimServiceImpl taskClaimService;
+
+    @BeforeEach
+    void setUp() {
+        taskClaimService = new TaskClaimServiceImpl(taskRepository, eventPublisher, cacheManager,
+                new ClaimProperties(LEASE, 500));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldPublishClaimedTasksAsLeavingOpen() {
+        Task task = task(TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+        TaskLease lease = new TaskLease(task, "worker", Instant.now().plus(LEASE));
+
+        when(taskRepository.claim("worker", 10, LEASE)).thenReturn(List.of(lease));
+
+        assertEquals(List.of(lease), taskClaimService.claimTasks("worker", 10));
+        verify(eventPublisher).publishEvent(
+                TaskChangedEvent.updated(task, new TaskCategory(TaskStatus.OPEN, TaskPriority.HIGH)));
+    }
+
+    @Test
+    void shouldEvictOnlyTheClaimedTasksOnceCommitted() {
+        Task claimed = task(TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+        Task other = task(TaskStatus.OPEN, TaskPriority.HIGH);
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        tasks.put(claimed.getId(), claimed);
+        tasks.put(other.getId(), other);
+
+        when(taskRepository.claim("worker", 10, LEASE))
+                .thenReturn(List.of(new TaskLease(claimed, "worker", Instant.now().plus(LEASE))));
+
+        taskClaimService.claimTasks("worker", 10);
+        assertNotNull(tasks.get(claimed.getId()));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(tasks.get(claimed.getId()));
+        assertNotNull(tasks.get(other.getId()));
+    }
+
+    @Test
+    void shouldPublishCompletedTaskAsLeavingInProgress() {
+        Task task = task(TaskStatus.COMPLETE, TaskPriority.LOW);
+
+        when(taskRepository.endLease(task.getId(), "worker", TaskStatus.COMPLETE)).thenReturn(Optional.of(task));
+
+        assertSame(task, taskClaimService.completeTask(task.getId(), "worker"));
+        verify(eventPublisher).publishEvent(
+                TaskChangedEvent.updated(task, new TaskCategory(TaskStatus.IN_PROGRESS, TaskPriority.LOW)));
+    }
+
+    @Test
+    void shouldRejectCompletionByWorkerThatLostTheLease() {
+        UUID taskId = UUID.randomUUID();
+
+        when(taskRepository.endLease(taskId, "worker", TaskStatus.COMPLETE)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+
+        assertThrows(TaskLeaseLostException.class, () -> taskClaimService.completeTask(taskId, "worker"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldReportMissingTaskOnRenewal() {
+        UUID taskId = UUID.randomUUID();
+
+        when(taskRepository.renewLease(taskId, "worker", LEASE)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
+
+        assertThrows(TaskNotFoundException.class, () -> taskClaimService.renewLease(taskId, "worker"));
+    }
+
+    @Test
+    void shouldReopenExpiredLeasesInBatches() {
+        Task task = task(TaskStatus.OPEN, TaskPriority.MEDIUM);
+
+        when(taskRepository.expireLeases(500)).thenReturn(List.of(task));
+
+        assertEquals(1, taskClaimService.expireLeases());
+        verify(eventPublisher).publishEvent(
+                TaskChangedEvent.updated(task, new TaskCategory(TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM)));
+    }
+
+    private static Task task(TaskStatus status, TaskPriority priority) {
+        return Task.restore(UUID.randomUUID(), "default", "task", null, status, priority, 1L);
+    }
+}
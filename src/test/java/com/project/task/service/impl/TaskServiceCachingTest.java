@@ -0,0 +1,122 @@
+package com.project.task.service.impl;
+
+import com.project.task.config.CacheConfig;
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskTransition;
+import com.project.task.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(TaskServiceCachingTest.CachingConfig.class)
+class TaskServiceCachingTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.TASKS, CacheConfig.TASK_PAGES);
+        }
+
+        @Bean
+        TaskService taskService(TaskRepository taskRepository, EntityManager entityManager,
+                                ApplicationEventPublisher eventPublisher) {
+            return new TaskServiceImpl(taskRepository, entityManager, eventPublisher);
+        }
+    }
+
+    @MockitoBean
+    private TaskRepository taskRepository;
+
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        Task task = Task.create("cached", null, TaskPriority.LOW);
+
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        assertSame(task, taskService.getTask(task.getId()));
+        assertSame(task, taskService.getTask(task.getId()));
+
+        verify(taskRepository, times(1)).findById(task.getId());
+    }
+
+    @Test
+    void shouldEvictTaskAndPagesOnUpdate() {
+        Task task = Task.create("cached", null, TaskPriority.LOW);
+        UUID taskId = task.getId();
+        TaskFilter filter = TaskFilter.none();
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.findPage(filter, null, 11)).thenReturn(List.of(
+                new TaskDto(taskId, "cached", null, TaskPriority.LOW, TaskStatus.OPEN, 0L)));
+        when(taskRepository.updateById(eq(taskId), any(), any(), any(), any())).thenReturn(Optional.of(
+                new TaskTransition(taskId, "default", new TaskCategory(TaskStatus.OPEN, TaskPriority.LOW), 1L)));
+
+        taskService.getTask(taskId);
+        taskService.getTasks(filter, null, 10);
+        taskService.updateTask(taskId, new UpdateTaskRequest("updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH));
+        taskService.getTask(taskId);
+        taskService.getTasks(filter, null, 10);
+
+        verify(taskRepository, times(2)).findById(taskId);
+        verify(taskRepository, times(2)).findPage(filter, null, 11);
+    }
+
+    @Test
+    void shouldEvictPagesOnCreate() {
+        TaskFilter filter = TaskFilter.none();
+
+        when(taskRepository.findPage(filter, null, 11)).thenReturn(List.of());
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.getTasks(filter, null, 10);
+        taskService.createTask(new CreateTaskRequest("new", null, TaskPriority.LOW));
+        taskService.getTasks(filter, null, 10);
+
+        verify(taskRepository, times(2)).findPage(filter, null, 11);
+    }
+}
@@ -1,21 +1,38 @@
 package com.project.task.service.impl;
 
 import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.TaskPage;
+import com.project.task.domain.TaskSearchPage;
 import com.project.task.domain.UpdateTaskRequest;
+import com.project.task.domain.dto.TaskDto;
 import com.project.task.domain.entity.Task;
 import com.project.task.domain.entity.TaskPriority;
 import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.TaskNotClaimedException;
 import com.project.task.exception.TaskNotFoundException;
 import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskTransition;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +43,12 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -54,35 +77,74 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void shouldReturnALlTasks() {
-        Task firstTask = Task.create(
-                "firstTask",
-                "first task description",
-                TaskPriority.LOW);
-
-        Task secondTask = Task.create(
-                "second Task",
-                "second task description",
-                TaskPriority.MEDIUM);
+    void shouldReturnLastPageWithoutCursor() {
+        TaskDto firstTask = taskDto("firstTask", UUID.randomUUID());
+        TaskDto secondTask = taskDto("second Task", UUID.randomUUID());
 
-        List<Task> tasks = List.of(firstTask, secondTask);
+        TaskFilter filter = TaskFilter.none();
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findPage(filter, null, 3)).thenReturn(List.of(firstTask, secondTask));
 
-        List<Task> result = taskService.getAllTasks();
+        TaskPage result = taskService.getTasks(filter, null, 2);
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(taskRepository, times(1)).findAll();
+        assertEquals(2, result.tasks().size());
+        assertFalse(result.hasNext());
+        verify(taskRepository, times(1)).findPage(filter, null, 3);
+    }
+
+    @Test
+    void shouldReturnCursorOfLastTaskWhenMoreTasksExist() {
+        UUID after = UUID.randomUUID();
+        TaskFilter filter = new TaskFilter(TaskStatus.OPEN, TaskPriority.HIGH);
+        List<TaskDto> tasks = List.of(
+                taskDto("first", UUID.randomUUID()),
+                taskDto("second", UUID.randomUUID()),
+                taskDto("third", UUID.randomUUID()));
+
+        when(taskRepository.findPage(filter, after, 3)).thenReturn(tasks);
+
+        TaskPage result = taskService.getTasks(filter, after, 2);
+
+        assertEquals(List.of(tasks.get(0), tasks.get(1)), result.tasks());
+        assertTrue(result.hasNext());
+        assertEquals(tasks.get(1).id(), result.nextCursor());
+    }
+
+    @Test
+    void shouldSearchOnePageAheadToDetectNextPage() {
+        List<TaskDto> tasks = List.of(
+                taskDto("first", UUID.randomUUID()),
+                taskDto("second", UUID.randomUUID()),
+                taskDto("third", UUID.randomUUID()));
+
+        when(taskRepository.search("invoice", false, 4, 3)).thenReturn(tasks);
+
+        TaskSearchPage result = taskService.searchTasks("invoice", false, 2, 2);
+
+        assertEquals(List.of(tasks.get(0), tasks.get(1)), result.tasks());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void shouldExportEveryTaskAndCloseTheStream() {
+        List<Task> tasks = List.of(
+                Task.create("first", null, TaskPriority.LOW),
+                Task.create("second", null, TaskPriority.HIGH));
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(taskRepository.streamAllByOrderById()).thenReturn(tasks.stream().onClose(() -> closed.set(true)));
+
+        List<Task> exported = new ArrayList<>();
+        taskService.exportTasks(exported::add);
+
+        assertEquals(tasks, exported);
+        assertTrue(closed.get());
     }
 
     @Test
     void shouldUpdateTaskWhenTaskExists() {
 
         UUID taskId = UUID.randomUUID();
-        Task task = Task.create(
-                "Redesign Website",
-                "Create a new design for the company",
-                TaskPriority.LOW);
 
         UpdateTaskRequest updateTaskRequest = new UpdateTaskRequest(
                 "Updated Website",
@@ -91,18 +153,23 @@ class TaskServiceImplTest {
                 TaskPriority.HIGH
         );
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
+        TaskCategory previous = new TaskCategory(TaskStatus.OPEN, TaskPriority.LOW);
+        when(taskRepository.updateById(taskId, "Updated Website", "Update the the design for the company",
+                TaskStatus.COMPLETE, TaskPriority.HIGH))
+                .thenReturn(Optional.of(new TaskTransition(taskId, "default", previous, 1L)));
 
         Task taskUpdated = taskService.updateTask(taskId, updateTaskRequest);
 
+        assertEquals(taskId, taskUpdated.getId());
         assertEquals("Updated Website", taskUpdated.getTitle());
         assertEquals("Update the the design for the company", taskUpdated.getDescription());
         assertEquals(TaskStatus.COMPLETE, taskUpdated.getStatus());
         assertEquals(TaskPriority.HIGH, taskUpdated.getPriority());
+        assertEquals(1L, taskUpdated.getVersion());
 
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(task);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(taskUpdated, previous));
+        verify(taskRepository, never()).findById(taskId);
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
@@ -116,31 +183,178 @@ class TaskServiceImplTest {
                 TaskPriority.HIGH
         );
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateById(eq(taskId), any(), any(), any(), any())).thenReturn(Optional.empty());
 
         assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(taskId, updateTaskRequest));
 
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, times(1)).updateById(eq(taskId), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldUpdateTaskWhenVersionMatches() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+
+        when(taskRepository.updateByIdAndVersion(taskId, 3L, "Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH))
+                .thenReturn(Optional.of(new TaskTransition(taskId, "default",
+                        new TaskCategory(TaskStatus.OPEN, TaskPriority.HIGH), 4L)));
+
+        Task taskUpdated = taskService.updateTask(taskId, request, 3L);
+
+        assertEquals(4L, taskUpdated.getVersion());
+        verify(taskRepository, never()).findById(taskId);
+    }
+
+    @Test
+    void shouldThrowOptimisticLockingFailureWhenVersionIsStale() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+
+        when(taskRepository.updateByIdAndVersion(eq(taskId), eq(2L), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskWithId("Current", taskId)));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTask(taskId, request, 2L));
+    }
+
+    @Test
+    void shouldThrowTaskNotFoundExceptionWhenConditionallyUpdatingNonExistingTask() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.COMPLETE, TaskPriority.HIGH);
+
+        when(taskRepository.updateByIdAndVersion(eq(taskId), eq(2L), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(taskId, request, 2L));
+    }
+
+    @Test
+    void shouldRejectUpdateMovingAnOpenTaskToInProgress() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+
+        when(taskRepository.updateById(eq(taskId), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskWithId("Open", taskId)));
+
+        assertThrows(TaskNotClaimedException.class, () -> taskService.updateTask(taskId, request));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRejectBatchMovingAnOpenTaskToInProgress() {
+        UUID taskId = UUID.randomUUID();
+        Task task = taskWithId("Open", taskId);
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+
+        when(taskRepository.findAllById(Set.of(taskId))).thenReturn(List.of(task));
+
+        assertThrows(TaskNotClaimedException.class, () -> taskService.updateTasks(Map.of(taskId, request)));
+        assertEquals(TaskStatus.OPEN, task.getStatus());
     }
 
     @Test
     void shouldDeleteTask() {
         UUID uuid = UUID.randomUUID();
 
-        when(taskRepository.existsById(uuid)).thenReturn(true);
+        TaskCategory previous = new TaskCategory(TaskStatus.OPEN, TaskPriority.MEDIUM);
+
+        when(taskRepository.softDeleteById(uuid))
+                .thenReturn(Optional.of(new TaskTransition(uuid, "default", previous, 2L)));
         taskService.deleteTask(uuid);
 
-        verify(taskRepository, times(1)).deleteById(uuid);
+        verify(taskRepository, times(1)).softDeleteById(uuid);
+        verify(taskRepository, never()).existsById(uuid);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(uuid, "default", previous, 2L));
     }
 
     @Test
     void shouldThrowExceptionWhenDeletingNonExistingTask() {
         UUID uuid = UUID.randomUUID();
 
-        when(taskRepository.existsById(uuid)).thenReturn(false);
+        when(taskRepository.softDeleteById(uuid)).thenReturn(Optional.empty());
 
         assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(uuid));
-        verify(taskRepository, never()).deleteById(uuid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSaveAllTasksOfABatch() {
+        List<CreateTaskRequest> requests = List.of(
+                new CreateTaskRequest("first", null, TaskPriority.LOW),
+                new CreateTaskRequest("second", "second description", TaskPriority.HIGH));
+
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> result = taskService.createTasks(requests);
+
+        assertEquals(2, result.size());
+        assertEquals("first", result.get(0).getTitle());
+        assertEquals(TaskPriority.HIGH, result.get(1).getPriority());
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void shouldPublishOnlyTasksThatWereIngested() {
+        Task inserted = Task.create("inserted", null, TaskPriority.LOW);
+        Task existing = Task.create("existing", null, TaskPriority.LOW);
+        List<Task> tasks = List.of(inserted, existing);
+
+        when(taskRepository.insertMissing(tasks)).thenReturn(List.of(inserted.getId()));
+
+        List<Task> result = taskService.ingestTasks(tasks);
+
+        assertEquals(List.of(inserted.getId()), result.stream().map(Task::getId).toList());
+        assertEquals(0L, result.getFirst().getVersion());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.created(result.getFirst()));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldOnlyReturnExistingTasksWhenUpdatingABatch() {
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        Task existing = taskWithId("existing", existingId);
+        UpdateTaskRequest request = new UpdateTaskRequest("updated", null, TaskStatus.COMPLETE, TaskPriority.LOW);
+        Map<UUID, UpdateTaskRequest> requests = Map.of(existingId, request, missingId, request);
+
+        when(taskRepository.findAllById(requests.keySet())).thenReturn(List.of(existing));
+
+        Map<UUID, Task> result = taskService.updateTasks(requests);
+
+        assertEquals(Set.of(existingId), result.keySet());
+        assertEquals("updated", result.get(existingId).getTitle());
+        assertEquals(TaskStatus.COMPLETE, result.get(existingId).getStatus());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(existing,
+                new TaskCategory(TaskStatus.OPEN, TaskPriority.HIGH)));
+    }
+
+    @Test
+    void shouldDeleteOnlyExistingTasksOfABatch() {
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(existingId, missingId);
+
+        TaskCategory previous = new TaskCategory(TaskStatus.COMPLETE, TaskPriority.LOW);
+
+        when(taskRepository.softDeleteAllById(ids))
+                .thenReturn(List.of(new TaskTransition(existingId, "default", previous, 3L)));
+
+        Set<UUID> result = taskService.deleteTasks(ids);
+
+        assertEquals(Set.of(existingId), result);
+        verify(taskRepository, times(1)).softDeleteAllById(ids);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(existingId, "default", previous, 3L));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    private static TaskDto taskDto(String title, UUID id) {
+        return new TaskDto(id, title, null, TaskPriority.LOW, TaskStatus.OPEN, 0L);
+    }
+
+    private static Task taskWithId(String title, UUID id) {
+        Task task = Task.create(title, title + " description", TaskPriority.HIGH);
+        ReflectionTestUtils.setField(task, "id", id);
+        return task;
+    }
+}
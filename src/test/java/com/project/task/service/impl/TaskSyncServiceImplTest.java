@@ -0,0 +1,101 @@
+package com.project.task.service.impl;
+
+import com.project.task.config.SyncProperties;
+import com.project.task.domain.SyncWatermark;
+import com.project.task.domain.TaskSyncPage;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.exception.SyncWatermarkExpiredException;
+import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskRevision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSyncServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskSyncServiceImpl taskSyncService;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void setUp() {
+        taskSyncService = new TaskSyncServiceImpl(taskRepository,
+                new SyncProperties(Duration.ofSeconds(5), Duration.ofDays(30)));
+    }
+
+    @Test
+    void shouldSplitChangesAndTombstones() {
+        Instant old = now.minus(1, ChronoUnit.HOURS);
+        SyncWatermark since = new SyncWatermark(old.minusSeconds(60), UUID.randomUUID());
+        TaskRevision changed = revision(old, false);
+        TaskRevision deleted = revision(old.plusSeconds(1), true);
+
+        when(taskRepository.currentTimestamp()).thenReturn(now);
+        when(taskRepository.findChangedSince(since, now.minusSeconds(5), 11)).thenReturn(List.of(changed, deleted));
+
+        TaskSyncPage page = taskSyncService.syncTasks(since, 10);
+
+        assertEquals(List.of(changed.task()), page.changed());
+        assertEquals(List.of(deleted.task().id()), page.deleted());
+        assertEquals(new SyncWatermark(now.minusSeconds(5), new UUID(0, 0)), page.watermark());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void shouldContinueFromLastRowWhenMoreChangesExist() {
+        TaskRevision first = revision(now.minusSeconds(10), false);
+        TaskRevision second = revision(now.minusSeconds(10), false);
+
+        when(taskRepository.currentTimestamp()).thenReturn(now);
+        when(taskRepository.findChangedSince(null, now.minusSeconds(5), 2)).thenReturn(List.of(first, second));
+
+        TaskSyncPage page = taskSyncService.syncTasks(null, 1);
+
+        assertTrue(page.hasNext());
+        assertEquals(first.watermark(), page.watermark());
+    }
+
+    @Test
+    void shouldNotMoveWatermarkBackwards() {
+        SyncWatermark since = new SyncWatermark(now, UUID.randomUUID());
+
+        when(taskRepository.currentTimestamp()).thenReturn(now);
+        when(taskRepository.findChangedSince(since, now.minusSeconds(5), 11)).thenReturn(List.of());
+
+        TaskSyncPage page = taskSyncService.syncTasks(since, 10);
+
+        assertEquals(since, page.watermark());
+    }
+
+    @Test
+    void shouldRejectWatermarkOlderThanTombstoneRetention() {
+        SyncWatermark since = new SyncWatermark(now.minus(31, ChronoUnit.DAYS), UUID.randomUUID());
+
+        when(taskRepository.currentTimestamp()).thenReturn(now);
+
+        assertThrows(SyncWatermarkExpiredException.class, () -> taskSyncService.syncTasks(since, 10));
+        verify(taskRepository, never()).findChangedSince(any(), any(), anyInt());
+    }
+
+    private static TaskRevision revision(Instant updatedAt, boolean deleted) {
+        TaskDto task = new TaskDto(UUID.randomUUID(), "task", null, TaskPriority.LOW, TaskStatus.OPEN, 0L);
+        return new TaskRevision(task, updatedAt, deleted);
+    }
+}
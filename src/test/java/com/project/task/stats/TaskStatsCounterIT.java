@@ -0,0 +1,113 @@
+package com.project.task.stats;
+
+import com.project.task.domain.CreateTaskRequest;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.repository.TaskRepository;
+import com.project.task.repository.TaskStatsRepository;
+import com.project.task.service.TaskService;
+import com.project.task.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Flushes and reconciles are driven by the test itself.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"task.stats.flush-interval=1h", "task.stats.reconcile-interval=1h",
+                "task.outbox.relay-interval=1h"})
+@Testcontainers
+@ActiveProfiles("test")
+class TaskStatsCounterIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17");
+
+    @Autowired
+    private TaskStatsCounter taskStatsCounter;
+
+    @Autowired
+    private TaskStatsRepository taskStatsRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatsCounter otherInstance;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskStatsCounter.reconcile();
+        otherInstance = new TaskStatsCounter(taskStatsRepository, transactionManager);
+    }
+
+    @Test
+    void shouldNotCountChangesTwiceWhenReconcilingWhileAnotherInstanceHasUnflushedDeltas() {
+        taskService.createTask(new CreateTaskRequest("Counted here", null, TaskPriority.LOW));
+        createOnOtherInstance("Counted on the other instance");
+        createOnOtherInstance("Also counted on the other instance");
+
+        taskStatsCounter.reconcile();
+        otherInstance.flush();
+        taskStatsCounter.flush();
+
+        assertThat(openLow(taskStatsCounter)).isEqualTo(3);
+        assertThat(openLow(otherInstance)).isEqualTo(3);
+
+        // Changes after the reconcile still count.
+        createOnOtherInstance("Counted after the reconcile");
+        otherInstance.flush();
+        taskStatsCounter.flush();
+
+        assertThat(openLow(taskStatsCounter)).isEqualTo(4);
+        assertThat(openLow(otherInstance)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldKeepChangesFlushedAfterTheRecountStarted() {
+        createOnOtherInstance("Flushed before the reconcile");
+        otherInstance.flush();
+
+        TaskStatsRepository.Recount recount = taskStatsRepository.recount();
+        // Joins the epoch after the one recounted, so the recount doesn't include it.
+        createOnOtherInstance("Flushed during the reconcile");
+        otherInstance.flush();
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> taskStatsRepository.replaceAll(recount));
+        taskStatsCounter.flush();
+
+        assertThat(openLow(taskStatsCounter)).isEqualTo(2);
+    }
+
+    /**
+     * Creates a task the way another instance would: its change is only counted by that instance's counter.
+     */
+    private void createOnOtherInstance(String title) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.save(Task.create(title, null, TaskPriority.LOW));
+            otherInstance.onTaskChanged(TaskChangedEvent.created(task));
+        });
+    }
+
+    private static long openLow(TaskStatsCounter counter) {
+        return counter.count(TenantContext.DEFAULT, TaskStatus.OPEN, TaskPriority.LOW);
+    }
+}
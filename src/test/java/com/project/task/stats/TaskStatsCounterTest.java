@@ -0,0 +1,167 @@
+package com.project.task.stats;
+
+import com.project.task.domain.TaskCategory;
+import com.project.task.domain.TaskChangedEvent;
+import com.project.task.domain.entity.Task;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import com.project.task.repository.TaskStatsRepository;
+import com.project.task.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsCounterTest {
+
+    private static final TaskCategory OPEN_LOW = new TaskCategory(TaskStatus.OPEN, TaskPriority.LOW);
+
+    private static final TaskCategory COMPLETE_LOW = new TaskCategory(TaskStatus.COMPLETE, TaskPriority.LOW);
+
+    private static final String TENANT = TenantContext.DEFAULT;
+
+    @Mock
+    private TaskStatsRepository statsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatsCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new TaskStatsCounter(statsRepository, transactionManager);
+        lenient().when(statsRepository.joinEpoch()).thenReturn(1L);
+    }
+
+    @Test
+    void shouldMoveCountsWithEveryChange() {
+        Task task = Task.create("task", null, TaskPriority.LOW);
+        Task completed = Task.restore(task.getId(), TENANT, "task", null, TaskStatus.COMPLETE, TaskPriority.LOW,
+                1L);
+
+        commit(TaskChangedEvent.created(task), TaskChangedEvent.created(Task.create("other", null, TaskPriority.LOW)));
+        commit(TaskChangedEvent.updated(completed, OPEN_LOW));
+
+        assertEquals(1, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+        assertEquals(1, counter.count(TENANT, TaskStatus.COMPLETE, TaskPriority.LOW));
+
+        commit(TaskChangedEvent.deleted(task.getId(), TENANT, COMPLETE_LOW, 2L));
+
+        assertEquals(0, counter.count(TENANT, TaskStatus.COMPLETE, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldCountATransactionsChangesOnlyOnceItCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.onTaskChanged(TaskChangedEvent.created(Task.create("task", null, TaskPriority.LOW)));
+            counter.onTaskChanged(TaskChangedEvent.created(Task.create("other", null, TaskPriority.LOW)));
+
+            assertEquals(0, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+        verify(statsRepository).joinEpoch();
+    }
+
+    @Test
+    void shouldCountEachTenantApart() {
+        commit(TaskChangedEvent.created(Task.create("task", null, TaskPriority.LOW)));
+        TenantContext.runAs("acme", () -> commit(
+                TaskChangedEvent.created(Task.create("task", null, TaskPriority.LOW)),
+                TaskChangedEvent.created(Task.create("other", null, TaskPriority.LOW))));
+
+        assertEquals(1, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+        assertEquals(2, counter.count("acme", TaskStatus.OPEN, TaskPriority.LOW));
+        assertEquals(0, counter.count("unknown", TaskStatus.OPEN, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldFlushDeltasAndServeTotalsFromTheTable() {
+        commit(TaskChangedEvent.created(Task.create("task", null, TaskPriority.LOW)));
+        when(statsRepository.findAll()).thenReturn(Map.of(key(OPEN_LOW), 42L));
+
+        counter.flush();
+
+        verify(statsRepository).add(1L, List.of(Map.entry(key(OPEN_LOW), 1L)));
+        assertEquals(42, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldReplaceDriftedCountsOnReconcile() {
+        TaskStatsRepository.Recount recount = new TaskStatsRepository.Recount(1, Map.of(key(OPEN_LOW), 7L));
+        when(statsRepository.recount()).thenReturn(recount);
+        when(statsRepository.lockReconciledEpoch()).thenReturn(1L);
+        when(statsRepository.findAll()).thenReturn(Map.of(key(OPEN_LOW), 7L));
+
+        counter.reconcile();
+
+        var order = inOrder(statsRepository);
+        order.verify(statsRepository).recount();
+        order.verify(statsRepository).replaceAll(recount);
+        order.verify(statsRepository).findAll();
+        assertEquals(7, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldDropChangesTheRecountAlreadyIncludes() {
+        commit(TaskChangedEvent.created(Task.create("task", null, TaskPriority.LOW)));
+        when(statsRepository.lockReconciledEpoch()).thenReturn(1L);
+        when(statsRepository.findAll()).thenReturn(Map.of(key(OPEN_LOW), 7L));
+
+        counter.flush();
+
+        verify(statsRepository, never()).add(anyLong(), anyList());
+        assertEquals(7, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+
+        // A transaction of the reconciled epoch that only now gets to count its changes.
+        commit(TaskChangedEvent.created(Task.create("late", null, TaskPriority.LOW)));
+
+        assertEquals(7, counter.count(TENANT, TaskStatus.OPEN, TaskPriority.LOW));
+    }
+
+    /**
+     * Runs the events through the counter as one committed transaction would.
+     */
+    private void commit(TaskChangedEvent... events) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (TaskChangedEvent event : events) {
+                counter.onTaskChanged(event);
+            }
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(
+                    TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static TaskStatsRepository.Key key(TaskCategory category) {
+        return new TaskStatsRepository.Key(TENANT, category);
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.task.subscription;
+
+import com.project.task.domain.TaskFilter;
+import com.project.task.domain.dto.TaskDeltaDto;
+import com.project.task.domain.dto.TaskDto;
+import com.project.task.domain.entity.TaskPriority;
+import com.project.task.domain.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSubscriberTest {
+
+    private final TaskSubscriber subscriber = new TaskSubscriber(TaskFilter.none(), new SseEmitter(), 2);
+
+    @Test
+    void shouldCoalesceChangesToTheSameTask() throws InterruptedException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        subscriber.offer(TaskDeltaDto.upsert(task(first, "v1")));
+        subscriber.offer(TaskDeltaDto.upsert(task(second, "v1")));
+        subscriber.offer(TaskDeltaDto.upsert(task(first, "v2")));
+
+        TaskSubscriber.Batch batch = subscriber.poll(Duration.ZERO);
+
+        assertThat(batch.resync()).isFalse();
+        assertThat(batch.deltas()).extracting(delta -> delta.task().title()).containsExactly("v1", "v2");
+        assertThat(batch.deltas()).extracting(TaskDeltaDto::id).containsExactly(second, first);
+    }
+
+    @Test
+    void shouldKeepOnlyTheRemovalOfADeletedTask() throws InterruptedException {
+        UUID id = UUID.randomUUID();
+
+        subscriber.offer(TaskDeltaDto.upsert(task(id, "v1")));
+        subscriber.offer(TaskDeltaDto.remove(id));
+
+        assertThat(subscriber.poll(Duration.ZERO).deltas()).containsExactly(TaskDeltaDto.remove(id));
+    }
+
+    @Test
+    void shouldAskForResyncWhenTooFarBehind() throws InterruptedException {
+        subscriber.offer(TaskDeltaDto.remove(UUID.randomUUID()));
+        subscriber.offer(TaskDeltaDto.remove(UUID.randomUUID()));
+        UUID latest = UUID.randomUUID();
+        subscriber.offer(TaskDeltaDto.remove(latest));
+
+        TaskSubscriber.Batch batch = subscriber.poll(Duration.ZERO);
+
+        assertThat(batch.resync()).isTrue();
+        assertThat(batch.deltas()).containsExactly(TaskDeltaDto.remove(latest));
+        assertThat(subscriber.poll(Duration.ZERO).isEmpty()).isTrue();
+    }
+
+    private static TaskDto task(UUID id, String title) {
+        return new TaskDto(id, title, null, TaskPriority.LOW, TaskStatus.OPEN, 0L);
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.task.tenant;
+
+import com.project.task.config.TenantProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TenantRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldAllowABurstThenRefillAtTheConfiguredRate() {
+        TenantRateLimiter limiter = limiter(Map.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("acme"));
+        }
+        assertEquals(Duration.ofMillis(100), limiter.tryAcquire("acme"));
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("acme"));
+        assertTrue(limiter.tryAcquire("acme").isPositive());
+    }
+
+    @Test
+    void shouldLimitEachTenantOnItsOwn() {
+        TenantRateLimiter limiter = limiter(Map.of("large", new TenantProperties.Limit(10, 5)));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("acme");
+        }
+        assertTrue(limiter.tryAcquire("acme").isPositive());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("other"));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("large"));
+        }
+        assertTrue(limiter.tryAcquire("large").isPositive());
+    }
+
+    private TenantRateLimiter limiter(Map<String, TenantProperties.Limit> tenants) {
+        return new TenantRateLimiter(new TenantProperties.RateLimit(true, 10, 3, tenants), now::get);
+    }
+}
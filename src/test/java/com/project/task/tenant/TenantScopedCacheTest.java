@@ -0,0 +1,76 @@
+package com.project.task.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TenantScopedCacheTest {
+
+    private final TenantScopedCache cache = new TenantScopedCache(new ConcurrentMapCache("tasks"));
+
+    @Test
+    void shouldClearOnlyTheCurrentTenantsEntries() {
+        TenantContext.runAs("acme", () -> cache.put("key", "acme"));
+        TenantContext.runAs("other", () -> cache.put("key", "other"));
+
+        TenantContext.runAs("acme", cache::clear);
+
+        TenantContext.runAs("acme", () -> assertNull(cache.get("key")));
+        TenantContext.runAs("other", () -> assertEquals("other", cache.get("key", String.class)));
+        TenantContext.runAs("acme", () -> {
+            cache.put("key", "acme again");
+            assertEquals("acme again", cache.get("key", String.class));
+        });
+    }
+
+    @Test
+    void shouldClearEveryTenantOnAThreadBoundToNoTenant() {
+        TenantContext.runAs("acme", () -> cache.put("key", "acme"));
+        TenantContext.runAs("other", () -> cache.put("key", "other"));
+
+        cache.clear();
+
+        TenantContext.runAs("acme", () -> assertNull(cache.get("key")));
+        TenantContext.runAs("other", () -> assertNull(cache.get("key")));
+    }
+
+    @Test
+    void shouldCacheAValueLoadedAfterAMiss() {
+        TenantContext.runAs("acme", () -> {
+            assertNull(cache.get("key"));
+            cache.put("key", "loaded");
+
+            assertEquals("loaded", cache.get("key", String.class));
+        });
+    }
+
+    @Test
+    void shouldNotCacheAValueLoadedBeforeAnEviction() {
+        TenantContext.runAs("acme", () -> {
+            assertNull(cache.get("key"));
+            // A write commits and evicts while the miss is being loaded from the old row.
+            cache.evict("key");
+            cache.put("key", "stale");
+
+            assertNull(cache.get("key"));
+        });
+    }
+
+    @Test
+    void shouldNotCacheAValueLoadedBeforeAClear() {
+        TenantContext.runAs("acme", () -> {
+            assertNull(cache.get("page"));
+            cache.clear();
+            cache.put("page", "stale");
+
+            assertNull(cache.get("page"));
+        });
+        assertNull(cache.get("page"));
+        cache.clear();
+        cache.put("page", "stale");
+
+        assertNull(cache.get("page"));
+    }
+}
@@ -0,0 +1,91 @@
+package db.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations on a database whose {@code tasks} table Hibernate's {@code ddl-auto: update} created before
+ * migrations existed, with the baseline settings of {@code application.yml}.
+ */
+class LegacySchemaMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void shouldBringTheTableCreatedByHibernateUpToDate() {
+        createLegacyDatabase("legacy");
+        jdbcTemplate.update("insert into tasks (id, title, status, priority) values (gen_random_uuid(), ?, ?, ?)",
+                "Created before migrations", "OPEN", "HIGH");
+
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select version from tasks", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForList("select version from flyway_schema_history where success"
+                + " and version is not null order by installed_rank", String.class)).startsWith("0", "1");
+    }
+
+    @Test
+    void shouldDropTheEnumChecksHibernateCreated() {
+        createLegacyDatabase("legacy_checks");
+        jdbcTemplate.update("insert into tasks (id, title, status, priority) values (gen_random_uuid(), ?, ?, ?)",
+                "Created before migrations", "OPEN", "HIGH");
+
+        migrate();
+
+        // Claiming moves a task to IN_PROGRESS, which the status check didn't list.
+        assertThat(jdbcTemplate.update("update tasks set status = 'IN_PROGRESS'")).isOne();
+    }
+
+    /**
+     * The schema {@code ddl-auto: update} generated for the entity as it was before migrations.
+     */
+    private void createLegacyDatabase(String name) {
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("create database " + name);
+        dataSource = postgres.getDatabase("postgres", name);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table tasks (
+                    id uuid not null,
+                    description varchar(1000),
+                    priority varchar(255) not null check (priority in ('HIGH','MEDIUM','LOW')),
+                    status varchar(255) not null check (status in ('OPEN','COMPLETE')),
+                    title varchar(255) not null,
+                    primary key (id)
+                )
+                """);
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+}